@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# Mide el tiempo hasta la primera petición respondida y la memoria residente (RSS)
+# de cada modo de arranque:
+#
+#   normal    jar ejecutable tal cual
+#   rapido    perfil "rapido" (inicialización diferida de beans y de los repositorios JPA)
+#   aot       contexto de Spring precompilado (mvn -Paot) con -Dspring.aot.enabled=true
+#   cds       archivo CDS de la aplicación generado con una ejecución de entrenamiento
+#   completo  aot + cds + rapido
+#
+# Uso: scripts/benchmark-arranque.sh [repeticiones] [modos...]
+#   REPETICIONES por defecto 3; MVN_ARGS se pasa a Maven (p. ej. MVN_ARGS="-Djava.version=21").
+#
+# AOT fija en tiempo de compilación los beans condicionales (@ConditionalOnProperty, @Profile):
+# si se cambia app.lectura-reactiva.habilitada hay que volver a compilar con -Paot.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REPETICIONES="${1:-3}"
+shift || true
+MODOS=("${@:-normal rapido aot cds completo}")
+MODOS=(${MODOS[*]})
+PUERTO="${PUERTO:-8089}"
+URL="http://localhost:${PUERTO}/api/departamentos"
+TRABAJO="target/arranque"
+
+echo "Compilando con el perfil aot..."
+./mvnw -q -B -Paot -DskipTests ${MVN_ARGS:-} package
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+rm -rf "$TRABAJO"
+java -Djarmode=tools -jar "$JAR" extract --destination "$TRABAJO" > /dev/null
+JAR_EXTRAIDO="$TRABAJO/$(basename "$JAR")"
+
+opciones() {
+  case "$1" in
+    normal)   echo "" ;;
+    rapido)   echo "-Dspring.profiles.active=dev,rapido" ;;
+    aot)      echo "-Dspring.aot.enabled=true" ;;
+    cds)      echo "-XX:SharedArchiveFile=$TRABAJO/aplicacion.jsa" ;;
+    completo) echo "-Dspring.aot.enabled=true -Dspring.profiles.active=dev,rapido -XX:SharedArchiveFile=$TRABAJO/aplicacion-completo.jsa" ;;
+    *) echo "Modo desconocido: $1" >&2; exit 1 ;;
+  esac
+}
+
+# La ejecución de entrenamiento levanta el contexto y termina al refrescarlo,
+# volcando las clases cargadas al archivo CDS
+entrenar() {
+  local archivo="$1"; shift
+  java -XX:ArchiveClassesAtExit="$archivo" -Dspring.context.exit=onRefresh "$@" -jar "$JAR_EXTRAIDO" > /dev/null 2>&1
+}
+
+for modo in "${MODOS[@]}"; do
+  case "$modo" in
+    cds)      [ -f "$TRABAJO/aplicacion.jsa" ] || entrenar "$TRABAJO/aplicacion.jsa" ;;
+    completo) [ -f "$TRABAJO/aplicacion-completo.jsa" ] || entrenar "$TRABAJO/aplicacion-completo.jsa" \
+                -Dspring.aot.enabled=true -Dspring.profiles.active=dev,rapido ;;
+  esac
+done
+
+medir() {
+  local modo="$1"
+  local inicio fin pid rss
+  inicio=$(date +%s%N)
+  # shellcheck disable=SC2046
+  java $(opciones "$modo") -Dserver.port="$PUERTO" -jar "$JAR_EXTRAIDO" > "$TRABAJO/$modo.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "El modo $modo terminó antes de responder, ver $TRABAJO/$modo.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  fin=$(date +%s%N)
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$(( (fin - inicio) / 1000000 )) $(( rss / 1024 ))"
+}
+
+printf "%-10s %22s %12s\n" "modo" "primera petición (ms)" "RSS (MB)"
+for modo in "${MODOS[@]}"; do
+  total_ms=0
+  total_rss=0
+  for _ in $(seq "$REPETICIONES"); do
+    read -r ms rss < <(medir "$modo")
+    total_ms=$(( total_ms + ms ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf "%-10s %22d %12d\n" "$modo" $(( total_ms / REPETICIONES )) $(( total_rss / REPETICIONES ))
+done
@@ -2,8 +2,10 @@ package com.empresa.gestionempleados;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC solo se usa en la lectura reactiva opcional; su autoconfiguración desactivaría el DataSource de JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class SistemaGestionEmpleadosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package com.empresa.gestionempleados.admision;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.regex.Pattern;
+
+/**
+ * Agrupa los endpoints por costo esperado para que cada grupo tenga su propio límite
+ * de concurrencia y una ráfaga de listados no deje sin conexiones a las lecturas por id.
+ */
+public enum ClaseEndpoint {
+    LECTURA_POR_ID(50, 4, 200, 50),
+    LISTADO(20, 2, 100, 500),
+    ESCRITURA(20, 2, 100, 200);
+
+    private static final Pattern RUTA_POR_ID = Pattern.compile("^/api/[^/]+/\\d+$");
+
+    private final int limiteInicial;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaObjetivoMs;
+
+    ClaseEndpoint(int limiteInicial, int limiteMinimo, int limiteMaximo, long latenciaObjetivoMs) {
+        this.limiteInicial = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.latenciaObjetivoMs = latenciaObjetivoMs;
+    }
+
+    public static ClaseEndpoint de(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return ESCRITURA;
+        }
+        return RUTA_POR_ID.matcher(request.getRequestURI()).matches() ? LECTURA_POR_ID : LISTADO;
+    }
+
+    LimiteAdaptativo nuevoLimite() {
+        return new LimiteAdaptativo(limiteInicial, limiteMinimo, limiteMaximo, latenciaObjetivoMs * 1_000_000);
+    }
+}
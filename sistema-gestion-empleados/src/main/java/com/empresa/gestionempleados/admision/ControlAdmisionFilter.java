@@ -0,0 +1,82 @@
+package com.empresa.gestionempleados.admision;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rechaza con 503 las peticiones que superan el límite de su clase en lugar de
+ * dejarlas esperando una conexión del pool. Los streams y la importación masiva quedan
+ * fuera porque su duración no dice nada sobre la saturación.
+ */
+@Component
+public class ControlAdmisionFilter extends OncePerRequestFilter {
+
+    private final Map<ClaseEndpoint, LimiteAdaptativo> limites = new EnumMap<>(ClaseEndpoint.class);
+    private final Map<ClaseEndpoint, Counter> rechazos = new EnumMap<>(ClaseEndpoint.class);
+    private final boolean habilitado;
+    private final String retryAfterSegundos;
+
+    public ControlAdmisionFilter(MeterRegistry registro,
+                                 @Value("${app.admision.habilitada:true}") boolean habilitado,
+                                 @Value("${app.admision.retry-after-segundos:1}") int retryAfterSegundos) {
+        this.habilitado = habilitado;
+        this.retryAfterSegundos = String.valueOf(retryAfterSegundos);
+        for (ClaseEndpoint clase : ClaseEndpoint.values()) {
+            LimiteAdaptativo limite = clase.nuevoLimite();
+            limites.put(clase, limite);
+            String etiqueta = clase.name().toLowerCase();
+            Gauge.builder("admision.en_vuelo", limite, LimiteAdaptativo::enVuelo).tag("clase", etiqueta).register(registro);
+            Gauge.builder("admision.limite", limite, LimiteAdaptativo::limite).tag("clase", etiqueta).register(registro);
+            rechazos.put(clase, Counter.builder("admision.rechazos").tag("clase", etiqueta).register(registro));
+        }
+    }
+
+    public LimiteAdaptativo limite(ClaseEndpoint clase) {
+        return limites.get(clase);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        return !habilitado || !ruta.startsWith("/api/")
+                || ruta.equals("/api/cambios/stream") || ruta.startsWith("/api/reactivo/")
+                || ruta.equals("/api/empleados/importacion");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ClaseEndpoint clase = ClaseEndpoint.de(request);
+        LimiteAdaptativo limite = limites.get(clase);
+        if (!limite.adquirir()) {
+            rechazos.get(clase).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSegundos);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Servicio saturado, reintente en " + retryAfterSegundos + " s");
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limite.liberar(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.empresa.gestionempleados.admision;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia AIMD: crece de a uno mientras la latencia se mantiene bajo el
+ * objetivo y el límite está en uso, y se reduce un 10% cuando una respuesta lo supera.
+ * <p>
+ * Como en TCP, la reducción se aplica una vez por ida y vuelta: las respuestas lentas de
+ * peticiones que ya estaban en vuelo en la última reducción no vuelven a reducir, así una
+ * ráfaga de N respuestas lentas no multiplica el límite por 0,9^N.
+ */
+public class LimiteAdaptativo {
+
+    private static final double FACTOR_REDUCCION = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaObjetivoNanos;
+    private final LongSupplier reloj;
+    private double limite;
+    private int enVuelo;
+    private long ultimaReduccionNanos;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, long latenciaObjetivoNanos) {
+        this(inicial, minimo, maximo, latenciaObjetivoNanos, System::nanoTime);
+    }
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, long latenciaObjetivoNanos, LongSupplier reloj) {
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoNanos = latenciaObjetivoNanos;
+        this.reloj = reloj;
+        this.ultimaReduccionNanos = reloj.getAsLong();
+    }
+
+    public synchronized boolean adquirir() {
+        if (enVuelo >= (int) limite) {
+            return false;
+        }
+        enVuelo++;
+        return true;
+    }
+
+    public synchronized void liberar(long latenciaNanos) {
+        if (latenciaNanos > latenciaObjetivoNanos) {
+            long ahora = reloj.getAsLong();
+            // Solo reduce una petición que empezó después de la reducción anterior
+            if (ahora - latenciaNanos > ultimaReduccionNanos) {
+                limite = Math.max(minimo, limite * FACTOR_REDUCCION);
+                ultimaReduccionNanos = ahora;
+            }
+        } else if (enVuelo * 2 >= limite) {
+            limite = Math.min(maximo, limite + 1);
+        }
+        enVuelo--;
+    }
+
+    public synchronized int limite() {
+        return (int) limite;
+    }
+
+    public synchronized int enVuelo() {
+        return enVuelo;
+    }
+}
@@ -0,0 +1,206 @@
+package com.empresa.gestionempleados.analitica;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol de intervalos de fechas cerradas {@code [inicio, fin]} identificados por id.
+ * Es un treap ordenado por (inicio, id) donde cada nodo guarda además el mayor fin de su
+ * subárbol, lo que permite descartar ramas enteras: insertar y quitar cuestan O(log n)
+ * esperado y buscar los solapados con un rango O(log n + k).
+ * <p>
+ * Un inicio nulo se toma como el principio de los tiempos y un fin nulo como abierto.
+ * Consultas concurrentes; los cambios toman el cerrojo de escritura.
+ */
+public final class ArbolIntervalos {
+
+    private static final long SIN_INICIO = LocalDate.MIN.toEpochDay();
+    private static final long SIN_FIN = LocalDate.MAX.toEpochDay();
+
+    private static final class Nodo {
+        private final long id;
+        private final long inicio;
+        private final long fin;
+        private final int prioridad = ThreadLocalRandom.current().nextInt();
+        private long maxFin;
+        private Nodo izquierdo;
+        private Nodo derecho;
+
+        private Nodo(long id, long inicio, long fin) {
+            this.id = id;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.maxFin = fin;
+        }
+
+        private int comparar(long otroInicio, long otroId) {
+            int porInicio = Long.compare(inicio, otroInicio);
+            return porInicio != 0 ? porInicio : Long.compare(id, otroId);
+        }
+    }
+
+    private final Map<Long, Nodo> porId = new HashMap<>();
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private Nodo raiz;
+
+    /** Inserta el intervalo o reemplaza el que ya tenía ese id. */
+    public void insertar(long id, LocalDate inicio, LocalDate fin) {
+        Nodo nuevo = new Nodo(id, inicio != null ? inicio.toEpochDay() : SIN_INICIO,
+                fin != null ? fin.toEpochDay() : SIN_FIN);
+        cerrojo.writeLock().lock();
+        try {
+            Nodo anterior = porId.put(id, nuevo);
+            if (anterior != null) {
+                raiz = quitar(raiz, anterior.inicio, anterior.id);
+            }
+            Nodo[] partes = dividir(raiz, nuevo.inicio, nuevo.id);
+            raiz = unir(unir(partes[0], nuevo), partes[1]);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public void quitar(long id) {
+        cerrojo.writeLock().lock();
+        try {
+            Nodo anterior = porId.remove(id);
+            if (anterior != null) {
+                raiz = quitar(raiz, anterior.inicio, anterior.id);
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public boolean contiene(long id) {
+        cerrojo.readLock().lock();
+        try {
+            return porId.containsKey(id);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public int tamanio() {
+        cerrojo.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /** Ids de los intervalos que tienen algún día en común con {@code [desde, hasta]}, por inicio. */
+    public List<Long> solapados(LocalDate desde, LocalDate hasta) {
+        cerrojo.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            buscar(raiz, desde.toEpochDay(), hasta.toEpochDay(), ids);
+            return ids;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /** Ids de los intervalos que se solapan con el del id indicado, sin incluirlo. */
+    public List<Long> solapadosCon(long id) {
+        cerrojo.readLock().lock();
+        try {
+            Nodo propio = porId.get(id);
+            if (propio == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>();
+            buscar(raiz, propio.inicio, propio.fin, ids);
+            ids.remove(Long.valueOf(id));
+            return ids;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private static void buscar(Nodo nodo, long desde, long hasta, List<Long> ids) {
+        // Nada en este subárbol termina a partir de "desde"
+        if (nodo == null || nodo.maxFin < desde) {
+            return;
+        }
+        buscar(nodo.izquierdo, desde, hasta, ids);
+        // A la derecha todos empiezan después que este nodo; si este ya empieza tarde, también ellos
+        if (nodo.inicio > hasta) {
+            return;
+        }
+        if (nodo.fin >= desde) {
+            ids.add(nodo.id);
+        }
+        buscar(nodo.derecho, desde, hasta, ids);
+    }
+
+    // Separa en los nodos menores que (inicio, id) y los mayores o iguales
+    private static Nodo[] dividir(Nodo nodo, long inicio, long id) {
+        if (nodo == null) {
+            return new Nodo[2];
+        }
+        if (nodo.comparar(inicio, id) < 0) {
+            Nodo[] partes = dividir(nodo.derecho, inicio, id);
+            nodo.derecho = partes[0];
+            recalcular(nodo);
+            return new Nodo[]{nodo, partes[1]};
+        }
+        Nodo[] partes = dividir(nodo.izquierdo, inicio, id);
+        nodo.izquierdo = partes[1];
+        recalcular(nodo);
+        return new Nodo[]{partes[0], nodo};
+    }
+
+    // Todos los nodos de "menores" van antes que los de "mayores"
+    private static Nodo unir(Nodo menores, Nodo mayores) {
+        if (menores == null) {
+            return mayores;
+        }
+        if (mayores == null) {
+            return menores;
+        }
+        if (menores.prioridad > mayores.prioridad) {
+            menores.derecho = unir(menores.derecho, mayores);
+            recalcular(menores);
+            return menores;
+        }
+        mayores.izquierdo = unir(menores, mayores.izquierdo);
+        recalcular(mayores);
+        return mayores;
+    }
+
+    private static Nodo quitar(Nodo nodo, long inicio, long id) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = nodo.comparar(inicio, id);
+        if (comparacion == 0) {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        if (comparacion > 0) {
+            nodo.izquierdo = quitar(nodo.izquierdo, inicio, id);
+        } else {
+            nodo.derecho = quitar(nodo.derecho, inicio, id);
+        }
+        recalcular(nodo);
+        return nodo;
+    }
+
+    private static void recalcular(Nodo nodo) {
+        long maximo = nodo.fin;
+        if (nodo.izquierdo != null) {
+            maximo = Math.max(maximo, nodo.izquierdo.maxFin);
+        }
+        if (nodo.derecho != null) {
+            maximo = Math.max(maximo, nodo.derecho.maxFin);
+        }
+        nodo.maxFin = maximo;
+    }
+}
@@ -0,0 +1,123 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.AsignacionPeriodo;
+import com.empresa.gestionempleados.dto.CargaEmpleado;
+import com.empresa.gestionempleados.dto.TramoCarga;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Cantidad de proyectos simultáneos de cada empleado dentro de una ventana de fechas.
+ * Cada asignación aporta un evento de entrada el día que empieza y uno de salida el día
+ * siguiente a su fin; ordenados, un único barrido por empleado da los tramos de carga y
+ * el pico. Los empleados se reparten en particiones que se barren en paralelo.
+ * <p>
+ * Las fechas son inclusivas; un inicio nulo cuenta como ya empezado y un fin nulo como
+ * abierto. Todo se recorta a la ventana.
+ */
+public final class BarridoCargas {
+
+    // Empleados por partición a partir de los cuales conviene repartir entre hilos
+    private static final int EMPLEADOS_POR_PARTICION = 256;
+
+    private BarridoCargas() {
+    }
+
+    /**
+     * @param asignaciones ordenadas por empleado, solo las que tocan la ventana
+     * @param minimo       pico mínimo para incluir al empleado en el resultado
+     */
+    public static List<CargaEmpleado> calcular(List<AsignacionPeriodo> asignaciones, LocalDate desde,
+                                               LocalDate hasta, int minimo) {
+        int[] limites = limitesPorEmpleado(asignaciones);
+        int empleados = limites.length - 1;
+        int particiones = Math.ceilDiv(empleados, EMPLEADOS_POR_PARTICION);
+        long inicioVentana = desde.toEpochDay();
+        long finVentana = hasta.toEpochDay();
+
+        return IntStream.range(0, particiones).parallel()
+                .mapToObj(particion -> {
+                    List<CargaEmpleado> cargas = new ArrayList<>();
+                    int ultimo = Math.min(empleados, (particion + 1) * EMPLEADOS_POR_PARTICION);
+                    for (int i = particion * EMPLEADOS_POR_PARTICION; i < ultimo; i++) {
+                        CargaEmpleado carga = barrer(asignaciones, limites[i], limites[i + 1], inicioVentana, finVentana);
+                        if (carga.picoProyectos() >= minimo) {
+                            cargas.add(carga);
+                        }
+                    }
+                    return cargas;
+                })
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt(CargaEmpleado::picoProyectos).reversed()
+                        .thenComparing(CargaEmpleado::empleadoId))
+                .toList();
+    }
+
+    // Posición donde empieza cada empleado, más el final de la lista
+    private static int[] limitesPorEmpleado(List<AsignacionPeriodo> asignaciones) {
+        int[] limites = new int[asignaciones.size() + 1];
+        int cantidad = 0;
+        for (int i = 0; i < asignaciones.size(); i++) {
+            if (i == 0 || !Objects.equals(asignaciones.get(i).empleadoId(), asignaciones.get(i - 1).empleadoId())) {
+                limites[cantidad++] = i;
+            }
+        }
+        limites[cantidad++] = asignaciones.size();
+        return Arrays.copyOf(limites, cantidad);
+    }
+
+    static CargaEmpleado barrer(List<AsignacionPeriodo> asignaciones, int desde, int hasta,
+                                long inicioVentana, long finVentana) {
+        // Cada evento es dia * 2 + 1 si es entrada o dia * 2 si es salida; así se ordenan como long
+        long[] eventos = new long[(hasta - desde) * 2];
+        int cantidad = 0;
+        for (int i = desde; i < hasta; i++) {
+            AsignacionPeriodo asignacion = asignaciones.get(i);
+            long inicio = asignacion.fechaInicio() != null
+                    ? Math.max(asignacion.fechaInicio().toEpochDay(), inicioVentana) : inicioVentana;
+            long fin = asignacion.fechaFin() != null
+                    ? Math.min(asignacion.fechaFin().toEpochDay(), finVentana) : finVentana;
+            if (inicio <= fin) {
+                eventos[cantidad++] = inicio * 2 + 1;
+                eventos[cantidad++] = (fin + 1) * 2;
+            }
+        }
+        Arrays.sort(eventos, 0, cantidad);
+
+        List<TramoCarga> tramos = new ArrayList<>();
+        int carga = 0;
+        int pico = 0;
+        long inicioPico = 0;
+        long inicioTramo = 0;
+        int i = 0;
+        while (i < cantidad) {
+            long dia = Math.floorDiv(eventos[i], 2);
+            int nueva = carga;
+            // Todos los eventos del mismo día se aplican juntos
+            while (i < cantidad && Math.floorDiv(eventos[i], 2) == dia) {
+                nueva += Math.floorMod(eventos[i], 2) == 1 ? 1 : -1;
+                i++;
+            }
+            if (nueva == carga) {
+                continue;
+            }
+            if (carga > 0) {
+                tramos.add(new TramoCarga(LocalDate.ofEpochDay(inicioTramo), LocalDate.ofEpochDay(dia - 1), carga));
+            }
+            carga = nueva;
+            inicioTramo = dia;
+            if (carga > pico) {
+                pico = carga;
+                inicioPico = dia;
+            }
+        }
+        Long empleadoId = asignaciones.get(desde).empleadoId();
+        return new CargaEmpleado(empleadoId, pico, pico > 0 ? LocalDate.ofEpochDay(inicioPico) : null, tramos);
+    }
+}
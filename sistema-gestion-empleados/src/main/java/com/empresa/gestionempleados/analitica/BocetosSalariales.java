@@ -0,0 +1,140 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.DistribucionSalarial;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.PercentilesSalariales;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Un {@link BocetoCuantiles} de salarios por departamento. Los percentiles de la empresa
+ * salen de combinar los de todos los departamentos, sin recorrer empleados.
+ * <p>
+ * Para poder quitar el salario anterior de un empleado que cambia se guarda el último
+ * salario y departamento leídos de cada uno. Igual que en {@link IndiceMembresias}, los
+ * empleados modificados se marcan como pendientes y se releen juntos antes de la
+ * siguiente consulta; las consultas comparten el cerrojo de lectura.
+ */
+public final class BocetosSalariales {
+
+    // Clave de los empleados sin departamento, como en SnapshotEmpleados
+    private static final long SIN_DEPARTAMENTO = SnapshotEmpleados.SIN_DEPARTAMENTO;
+
+    private record Registro(long departamentoId, double salario) {
+    }
+
+    private final double errorRelativo;
+    private final Map<Long, BocetoCuantiles> porDepartamento = new HashMap<>();
+    private final Map<Long, Registro> registros = new HashMap<>();
+    private final Set<Long> pendientes = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+    public BocetosSalariales(double errorRelativo) {
+        this.errorRelativo = new BocetoCuantiles(errorRelativo).errorRelativo();
+    }
+
+    public int empleados() {
+        cerrojo.readLock().lock();
+        try {
+            return registros.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    // Carga inicial y relecturas: reemplaza lo que hubiera del empleado
+    public void cargar(long empleadoId, Long departamentoId, BigDecimal salario) {
+        cerrojo.writeLock().lock();
+        try {
+            quitarRegistro(empleadoId);
+            Registro registro = new Registro(departamentoId != null ? departamentoId : SIN_DEPARTAMENTO,
+                    salario.doubleValue());
+            registros.put(empleadoId, registro);
+            porDepartamento.computeIfAbsent(registro.departamentoId(), id -> new BocetoCuantiles(errorRelativo))
+                    .agregar(registro.salario());
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public void marcarPendiente(long empleadoId) {
+        pendientes.add(empleadoId);
+    }
+
+    public List<Long> tomarPendientes() {
+        List<Long> tomados = new ArrayList<>();
+        for (Long id : pendientes) {
+            if (pendientes.remove(id)) {
+                tomados.add(id);
+            }
+        }
+        return tomados;
+    }
+
+    /**
+     * Aplica los estados leídos de los empleados consultados. Los que no aparecen en
+     * {@code leidos} ya no existen y su salario sale del boceto de su departamento.
+     */
+    public void actualizar(Collection<Long> consultados, Collection<EstadoSalarial> leidos) {
+        cerrojo.writeLock().lock();
+        try {
+            consultados.forEach(this::quitarRegistro);
+            leidos.forEach(estado -> cargar(estado.empleadoId(), estado.departamentoId(), estado.salario()));
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /** Percentiles pedidos (de 0 a 100) de cada departamento con empleados y de toda la empresa. */
+    public DistribucionSalarial distribucion(List<BigDecimal> percentiles) {
+        cerrojo.readLock().lock();
+        try {
+            BocetoCuantiles empresa = new BocetoCuantiles(errorRelativo);
+            List<PercentilesSalariales> departamentos = new ArrayList<>();
+            // Los bocetos que se vacían se descartan, así que aquí todos tienen empleados
+            porDepartamento.forEach((departamentoId, boceto) -> {
+                empresa.combinar(boceto);
+                departamentos.add(percentiles(departamentoId == SIN_DEPARTAMENTO ? null : departamentoId,
+                        boceto, percentiles));
+            });
+            departamentos.sort(Comparator.comparing(PercentilesSalariales::departamentoId,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+            return new DistribucionSalarial(errorRelativo, percentiles(null, empresa, percentiles), departamentos);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private static PercentilesSalariales percentiles(Long departamentoId, BocetoCuantiles boceto,
+                                                     List<BigDecimal> percentiles) {
+        Map<String, BigDecimal> valores = new LinkedHashMap<>();
+        for (BigDecimal percentil : percentiles) {
+            valores.put("p" + percentil.stripTrailingZeros().toPlainString(), boceto.vacio() ? null
+                    : BigDecimal.valueOf(boceto.cuantil(percentil.doubleValue() / 100)).setScale(2, RoundingMode.HALF_UP));
+        }
+        return new PercentilesSalariales(departamentoId, boceto.cantidad(), valores);
+    }
+
+    private void quitarRegistro(long empleadoId) {
+        Registro anterior = registros.remove(empleadoId);
+        if (anterior != null) {
+            BocetoCuantiles boceto = porDepartamento.get(anterior.departamentoId());
+            boceto.quitar(anterior.salario());
+            if (boceto.vacio()) {
+                porDepartamento.remove(anterior.departamentoId());
+            }
+        }
+    }
+}
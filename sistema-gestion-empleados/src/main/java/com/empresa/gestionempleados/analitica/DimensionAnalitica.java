@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.analitica;
+
+public enum DimensionAnalitica {
+    DEPARTAMENTO,
+    ANIO_CONTRATACION,
+    BANDA_SALARIAL
+}
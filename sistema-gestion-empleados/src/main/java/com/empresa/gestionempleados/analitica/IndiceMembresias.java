@@ -0,0 +1,193 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.Membresia;
+import com.empresa.gestionempleados.dto.ProyectoCompartido;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de la tabla empleado_proyecto: un bitmap comprimido de ids de
+ * empleado por proyecto, más el bitmap de todos los empleados. Intersecciones, uniones
+ * y diferencias se resuelven entre bitmaps sin tocar la base.
+ * <p>
+ * Las consultas comparten el cerrojo de lectura y los cambios toman el de escritura.
+ * Los empleados modificados se marcan como pendientes y se releen todos juntos antes de
+ * la siguiente consulta, así una importación masiva no cuesta una lectura por fila.
+ */
+public final class IndiceMembresias {
+
+    private final Map<Long, Roaring64Bitmap> porProyecto = new HashMap<>();
+    private final Roaring64Bitmap empleados = new Roaring64Bitmap();
+    private final Set<Long> pendientes = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+    public void agregarProyecto(long proyectoId) {
+        cerrojo.writeLock().lock();
+        try {
+            porProyecto.computeIfAbsent(proyectoId, id -> new Roaring64Bitmap());
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public void quitarProyecto(long proyectoId) {
+        cerrojo.writeLock().lock();
+        try {
+            porProyecto.remove(proyectoId);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    // Carga inicial: no quita membresías previas
+    public void cargar(Membresia membresia) {
+        cerrojo.writeLock().lock();
+        try {
+            empleados.addLong(membresia.empleadoId());
+            if (membresia.proyectoId() != null) {
+                porProyecto.computeIfAbsent(membresia.proyectoId(), id -> new Roaring64Bitmap())
+                        .addLong(membresia.empleadoId());
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public void marcarPendiente(long empleadoId) {
+        pendientes.add(empleadoId);
+    }
+
+    public List<Long> tomarPendientes() {
+        List<Long> tomados = new ArrayList<>();
+        for (Long id : pendientes) {
+            if (pendientes.remove(id)) {
+                tomados.add(id);
+            }
+        }
+        return tomados;
+    }
+
+    /**
+     * Reemplaza los proyectos de los empleados consultados. Los que no aparecen en
+     * {@code proyectosPorEmpleado} ya no existen y salen del índice; una lista vacía
+     * significa que el empleado existe pero no está en ningún proyecto.
+     */
+    public void actualizar(Collection<Long> consultados, Map<Long, List<Long>> proyectosPorEmpleado) {
+        cerrojo.writeLock().lock();
+        try {
+            for (Long empleadoId : consultados) {
+                porProyecto.values().forEach(miembros -> miembros.removeLong(empleadoId));
+                List<Long> proyectos = proyectosPorEmpleado.get(empleadoId);
+                if (proyectos == null) {
+                    empleados.removeLong(empleadoId);
+                    continue;
+                }
+                empleados.addLong(empleadoId);
+                proyectos.forEach(proyectoId ->
+                        porProyecto.computeIfAbsent(proyectoId, id -> new Roaring64Bitmap()).addLong(empleadoId));
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    public boolean contieneProyecto(long proyectoId) {
+        cerrojo.readLock().lock();
+        try {
+            return porProyecto.containsKey(proyectoId);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    // Los proyectos desconocidos cuentan como vacíos
+    public long[] interseccion(Collection<Long> proyectoIds) {
+        cerrojo.readLock().lock();
+        try {
+            Roaring64Bitmap resultado = null;
+            for (Long proyectoId : proyectoIds) {
+                Roaring64Bitmap miembros = porProyecto.getOrDefault(proyectoId, new Roaring64Bitmap());
+                resultado = resultado == null ? miembros.clone() : Roaring64Bitmap.and(resultado, miembros);
+                if (resultado.isEmpty()) {
+                    break;
+                }
+            }
+            return resultado == null ? new long[0] : resultado.toArray();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public long[] union(Collection<Long> proyectoIds) {
+        cerrojo.readLock().lock();
+        try {
+            return unir(proyectoIds).toArray();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public long[] diferencia(Collection<Long> proyectoIds, Collection<Long> excluidos) {
+        cerrojo.readLock().lock();
+        try {
+            return Roaring64Bitmap.andNot(unir(proyectoIds), unir(excluidos)).toArray();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public long[] sinProyecto() {
+        cerrojo.readLock().lock();
+        try {
+            return Roaring64Bitmap.andNot(empleados, unir(porProyecto.keySet())).toArray();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /** Proyectos con al menos un empleado en común con el indicado, de más a menos compartidos. */
+    public List<ProyectoCompartido> compartidos(long proyectoId) {
+        cerrojo.readLock().lock();
+        try {
+            Roaring64Bitmap miembros = porProyecto.get(proyectoId);
+            if (miembros == null || miembros.isEmpty()) {
+                return List.of();
+            }
+            List<ProyectoCompartido> compartidos = new ArrayList<>();
+            porProyecto.forEach((otroId, otros) -> {
+                if (otroId != proyectoId) {
+                    long enComun = Roaring64Bitmap.andCardinality(miembros, otros);
+                    if (enComun > 0) {
+                        compartidos.add(new ProyectoCompartido(otroId, enComun));
+                    }
+                }
+            });
+            compartidos.sort(Comparator.comparingLong(ProyectoCompartido::empleadosCompartidos).reversed()
+                    .thenComparing(ProyectoCompartido::proyectoId));
+            return compartidos;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private Roaring64Bitmap unir(Collection<Long> proyectoIds) {
+        Roaring64Bitmap resultado = new Roaring64Bitmap();
+        for (Long proyectoId : proyectoIds) {
+            Roaring64Bitmap miembros = porProyecto.get(proyectoId);
+            if (miembros != null) {
+                resultado.or(miembros);
+            }
+        }
+        return resultado;
+    }
+}
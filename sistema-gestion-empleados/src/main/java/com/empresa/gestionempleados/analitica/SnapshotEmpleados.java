@@ -0,0 +1,212 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.GrupoAnalitica;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Copia inmutable y columnar de la tabla de empleados para consultas analíticas.
+ * Cada columna es un arreglo primitivo indexado por fila; los nombres se guardan
+ * como códigos de un diccionario compartido.
+ */
+public final class SnapshotEmpleados {
+
+    public static final long SIN_DEPARTAMENTO = -1L;
+
+    // Filas por tarea a partir de las cuales ya no conviene seguir dividiendo
+    private static final int UMBRAL_DIVISION = 8192;
+
+    private final int filas;
+    private final long[] ids;
+    private final long[] departamentoIds;
+    private final long[] salarioCentavos;
+    private final int[] diaContratacion;
+    private final int[] nombres;
+    private final int[] apellidos;
+    private final String[] diccionario;
+    private final Instant generadoEn;
+
+    private SnapshotEmpleados(Constructor constructor) {
+        this.filas = constructor.filas;
+        this.ids = Arrays.copyOf(constructor.ids, filas);
+        this.departamentoIds = Arrays.copyOf(constructor.departamentoIds, filas);
+        this.salarioCentavos = Arrays.copyOf(constructor.salarioCentavos, filas);
+        this.diaContratacion = Arrays.copyOf(constructor.diaContratacion, filas);
+        this.nombres = Arrays.copyOf(constructor.nombres, filas);
+        this.apellidos = Arrays.copyOf(constructor.apellidos, filas);
+        this.diccionario = constructor.diccionario.toArray(String[]::new);
+        this.generadoEn = Instant.now();
+    }
+
+    public static SnapshotEmpleados vacio() {
+        return new Constructor().construir();
+    }
+
+    public int filas() {
+        return filas;
+    }
+
+    public Instant generadoEn() {
+        return generadoEn;
+    }
+
+    public long id(int fila) {
+        return ids[fila];
+    }
+
+    public String nombreCompleto(int fila) {
+        return diccionario[nombres[fila]] + " " + diccionario[apellidos[fila]];
+    }
+
+    public int tamanioDiccionario() {
+        return diccionario.length;
+    }
+
+    /**
+     * Agrupa todas las filas por la dimensión indicada repartiendo el recorrido entre
+     * los núcleos disponibles. {@code bandaCentavos} solo se usa con {@link DimensionAnalitica#BANDA_SALARIAL}.
+     */
+    public List<GrupoAnalitica> agrupar(DimensionAnalitica dimension, long bandaCentavos) {
+        if (dimension == DimensionAnalitica.BANDA_SALARIAL && bandaCentavos <= 0) {
+            throw new IllegalArgumentException("El ancho de banda salarial debe ser positivo");
+        }
+        Map<Long, long[]> acumulados = ForkJoinPool.commonPool()
+                .invoke(new TareaAgrupacion(dimension, bandaCentavos, 0, filas));
+        List<GrupoAnalitica> grupos = new ArrayList<>(acumulados.size());
+        acumulados.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entrada -> grupos.add(grupo(dimension, entrada.getKey(), entrada.getValue())));
+        return grupos;
+    }
+
+    private long clave(DimensionAnalitica dimension, long bandaCentavos, int fila) {
+        return switch (dimension) {
+            case DEPARTAMENTO -> departamentoIds[fila];
+            case ANIO_CONTRATACION -> LocalDate.ofEpochDay(diaContratacion[fila]).getYear();
+            // En centavos: con bandas fraccionarias, pasar a unidades aquí fusionaría grupos distintos
+            case BANDA_SALARIAL -> Math.floorDiv(salarioCentavos[fila], bandaCentavos) * bandaCentavos;
+        };
+    }
+
+    private static GrupoAnalitica grupo(DimensionAnalitica dimension, long clave, long[] acumulado) {
+        long cantidad = acumulado[0];
+        BigDecimal total = BigDecimal.valueOf(acumulado[1], 2);
+        return new GrupoAnalitica(dimension == DimensionAnalitica.BANDA_SALARIAL
+                ? BigDecimal.valueOf(clave, 2) : BigDecimal.valueOf(clave), cantidad, total,
+                BigDecimal.valueOf(acumulado[1] / cantidad, 2),
+                BigDecimal.valueOf(acumulado[2], 2),
+                BigDecimal.valueOf(acumulado[3], 2));
+    }
+
+    // Acumulado por grupo: {cantidad, suma, mínimo, máximo} en centavos
+    private final class TareaAgrupacion extends RecursiveTask<Map<Long, long[]>> {
+        private final DimensionAnalitica dimension;
+        private final long bandaCentavos;
+        private final int desde;
+        private final int hasta;
+
+        TareaAgrupacion(DimensionAnalitica dimension, long bandaCentavos, int desde, int hasta) {
+            this.dimension = dimension;
+            this.bandaCentavos = bandaCentavos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                return recorrer();
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaAgrupacion izquierda = new TareaAgrupacion(dimension, bandaCentavos, desde, medio);
+            izquierda.fork();
+            Map<Long, long[]> derecha = new TareaAgrupacion(dimension, bandaCentavos, medio, hasta).compute();
+            Map<Long, long[]> resultado = izquierda.join();
+            derecha.forEach((clave, acumulado) -> resultado.merge(clave, acumulado, TareaAgrupacion::combinar));
+            return resultado;
+        }
+
+        private Map<Long, long[]> recorrer() {
+            Map<Long, long[]> acumulados = new HashMap<>();
+            for (int fila = desde; fila < hasta; fila++) {
+                long salario = salarioCentavos[fila];
+                long[] acumulado = acumulados.computeIfAbsent(clave(dimension, bandaCentavos, fila),
+                        k -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+                acumulado[0]++;
+                acumulado[1] += salario;
+                acumulado[2] = Math.min(acumulado[2], salario);
+                acumulado[3] = Math.max(acumulado[3], salario);
+            }
+            return acumulados;
+        }
+
+        private static long[] combinar(long[] a, long[] b) {
+            a[0] += b[0];
+            a[1] += b[1];
+            a[2] = Math.min(a[2], b[2]);
+            a[3] = Math.max(a[3], b[3]);
+            return a;
+        }
+    }
+
+    /**
+     * Acumula filas en arreglos que crecen al doble; {@link #construir()} los recorta
+     * al tamaño final.
+     */
+    public static final class Constructor {
+        private int filas;
+        private long[] ids = new long[1024];
+        private long[] departamentoIds = new long[1024];
+        private long[] salarioCentavos = new long[1024];
+        private int[] diaContratacion = new int[1024];
+        private int[] nombres = new int[1024];
+        private int[] apellidos = new int[1024];
+        private final List<String> diccionario = new ArrayList<>();
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        public Constructor agregar(EmpleadoFila fila) {
+            if (filas == ids.length) {
+                crecer();
+            }
+            ids[filas] = fila.id();
+            departamentoIds[filas] = fila.departamentoId() != null ? fila.departamentoId() : SIN_DEPARTAMENTO;
+            salarioCentavos[filas] = fila.salario().movePointRight(2).longValueExact();
+            diaContratacion[filas] = (int) fila.fechaContratacion().toEpochDay();
+            nombres[filas] = codificar(fila.nombre());
+            apellidos[filas] = codificar(fila.apellido());
+            filas++;
+            return this;
+        }
+
+        public SnapshotEmpleados construir() {
+            return new SnapshotEmpleados(this);
+        }
+
+        private int codificar(String texto) {
+            return codigos.computeIfAbsent(texto, t -> {
+                diccionario.add(t);
+                return diccionario.size() - 1;
+            });
+        }
+
+        private void crecer() {
+            int capacidad = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            departamentoIds = Arrays.copyOf(departamentoIds, capacidad);
+            salarioCentavos = Arrays.copyOf(salarioCentavos, capacidad);
+            diaContratacion = Arrays.copyOf(diaContratacion, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            apellidos = Arrays.copyOf(apellidos, capacidad);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * JSON ya codificado de cada entidad, para montar listados y detalles concatenando bytes
+ * en lugar de volver a pasar por Jackson los BigDecimal y las fechas de cada fila.
+ * <p>
+ * Cada fragmento guarda la {@code fechaActualizacion} de la entidad con la que se generó
+ * y solo se reutiliza si la entidad recién leída tiene la misma. Los cambios confirmados
+ * por los servicios lo descartan. Una escritura por fuera de los servicios (SQL directo,
+ * otra aplicación) que no toque {@code fecha_actualizacion} deja el fragmento vigente y
+ * se sirve el JSON anterior hasta que la entidad vuelva a cambiar o salga de la caché.
+ */
+@Component
+public class CacheFragmentosJson {
+
+    private record Clave(String inquilino, TipoEntidad tipo, Long id) {
+    }
+
+    private record Fragmento(Object version, byte[] json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean habilitada;
+    private final Map<Clave, Fragmento> fragmentos;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public CacheFragmentosJson(ObjectMapper objectMapper, MeterRegistry registro,
+                               @Value("${app.fragmentos-json.habilitada:true}") boolean habilitada,
+                               @Value("${app.fragmentos-json.max-entradas:50000}") int maxEntradas) {
+        this.objectMapper = objectMapper;
+        this.habilitada = habilitada;
+        this.fragmentos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Fragmento> mayor) {
+                return size() > maxEntradas;
+            }
+        };
+        this.aciertos = registro.counter("cache.fragmentos", "resultado", "acierto");
+        this.fallos = registro.counter("cache.fragmentos", "resultado", "fallo");
+        Gauge.builder("cache.fragmentos.entradas", this, CacheFragmentosJson::tamanio).register(registro);
+    }
+
+    public int tamanio() {
+        synchronized (fragmentos) {
+            return fragmentos.size();
+        }
+    }
+
+    public JsonFragmentado empleado(Empleado empleado) {
+        return JsonFragmentado.objeto(fragmento(empleado));
+    }
+
+    public JsonFragmentado empleados(Page<Empleado> pagina) {
+        List<byte[]> filas = new ArrayList<>(pagina.getNumberOfElements());
+        pagina.forEach(empleado -> filas.add(fragmento(empleado)));
+        PagedModel.PageMetadata metadatos = new PagedModel.PageMetadata(pagina.getSize(), pagina.getNumber(),
+                pagina.getTotalElements(), pagina.getTotalPages());
+        return JsonFragmentado.pagina(filas, codificar(metadatos));
+    }
+
+    private byte[] fragmento(Empleado empleado) {
+        return fragmento(TipoEntidad.EMPLEADO, empleado.getId(), empleado.getFechaActualizacion(),
+                () -> EmpleadoFila.desde(empleado));
+    }
+
+    private byte[] fragmento(TipoEntidad tipo, Long id, Object version, Supplier<Object> vista) {
+        if (!habilitada || id == null || version == null) {
+            return codificar(vista.get());
+        }
+        Clave clave = new Clave(CacheRespuestas.inquilinoActual(), tipo, id);
+        Fragmento fragmento;
+        synchronized (fragmentos) {
+            fragmento = fragmentos.get(clave);
+        }
+        if (fragmento != null && fragmento.version().equals(version)) {
+            aciertos.increment();
+            return fragmento.json();
+        }
+        fallos.increment();
+        byte[] json = codificar(vista.get());
+        synchronized (fragmentos) {
+            fragmentos.put(clave, new Fragmento(version, json));
+        }
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmar(CambioEntidad cambio) {
+        synchronized (fragmentos) {
+            fragmentos.remove(new Clave(CacheRespuestas.inquilinoActual(), cambio.tipo(), cambio.id()));
+        }
+    }
+
+    private byte[] codificar(Object valor) {
+        try {
+            return objectMapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar " + valor.getClass().getSimpleName(), ex);
+        }
+    }
+}
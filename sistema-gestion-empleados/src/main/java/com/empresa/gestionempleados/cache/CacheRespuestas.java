@@ -0,0 +1,211 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Respuestas ya serializadas de los listados más leídos, por inquilino, ruta y parámetros.
+ * Cada entrada lleva las etiquetas de las que depende (un tipo de entidad o un departamento
+ * concreto) con la generación que tenían antes de leer la base; los servicios suben la
+ * generación de una etiqueta al confirmar una escritura y toda entrada que la lleve deja
+ * de servirse. No hay caducidad por tiempo: una entrada vale hasta que algo la invalida.
+ * <p>
+ * Solo ve las escrituras que pasan por los servicios de esta instancia, por eso se activa
+ * con {@code app.cache-respuestas.habilitada=true}.
+ */
+@Component
+public class CacheRespuestas {
+
+    // Atributo de la petición con las etiquetas que va acumulando una respuesta cacheable
+    private static final String CAPTURA = CacheRespuestas.class.getName() + ".captura";
+
+    record Clave(String inquilino, String ruta) {
+    }
+
+    record Entrada(byte[] cuerpo, String tipoContenido, Map<String, Long> etiquetas) {
+    }
+
+    private record Etiqueta(String inquilino, String nombre) {
+    }
+
+    private final boolean habilitada;
+    private final Map<Clave, Entrada> entradas;
+    private final Map<Etiqueta, AtomicLong> generaciones = new ConcurrentHashMap<>();
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public CacheRespuestas(MeterRegistry registro,
+                           @Value("${app.cache-respuestas.habilitada:false}") boolean habilitada,
+                           @Value("${app.cache-respuestas.max-entradas:1000}") int maxEntradas) {
+        this.habilitada = habilitada;
+        // Orden de acceso: al llenarse sale la entrada usada hace más tiempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Entrada> mayor) {
+                return size() > maxEntradas;
+            }
+        };
+        this.aciertos = registro.counter("cache.respuestas", "resultado", "acierto");
+        this.fallos = registro.counter("cache.respuestas", "resultado", "fallo");
+        Gauge.builder("cache.respuestas.entradas", this, CacheRespuestas::tamanio).register(registro);
+    }
+
+    public static String etiqueta(TipoEntidad tipo) {
+        return tipo.name();
+    }
+
+    public static String etiquetaDepartamento(Long departamentoId) {
+        return TipoEntidad.DEPARTAMENTO.name() + ":" + departamentoId;
+    }
+
+    public boolean habilitada() {
+        return habilitada;
+    }
+
+    public int tamanio() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    public void vaciar() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    /** La entrada guardada para la clave si ninguna de sus etiquetas se ha invalidado desde entonces. */
+    Entrada buscar(Clave clave) {
+        Entrada entrada;
+        synchronized (entradas) {
+            entrada = entradas.get(clave);
+        }
+        if (entrada != null && vigente(clave.inquilino(), entrada)) {
+            aciertos.increment();
+            return entrada;
+        }
+        if (entrada != null) {
+            synchronized (entradas) {
+                entradas.remove(clave, entrada);
+            }
+        }
+        fallos.increment();
+        return null;
+    }
+
+    void guardar(Clave clave, Entrada entrada) {
+        // Si algo se invalidó mientras se leía, la entrada ya nace caducada y no se guarda
+        if (vigente(clave.inquilino(), entrada)) {
+            synchronized (entradas) {
+                entradas.put(clave, entrada);
+            }
+        }
+    }
+
+    private boolean vigente(String inquilino, Entrada entrada) {
+        for (Map.Entry<String, Long> etiqueta : entrada.etiquetas().entrySet()) {
+            if (generacion(inquilino, etiqueta.getKey()) != etiqueta.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long generacion(String inquilino, String nombre) {
+        AtomicLong generacion = generaciones.get(new Etiqueta(inquilino, nombre));
+        return generacion != null ? generacion.get() : 0L;
+    }
+
+    /**
+     * Empieza a registrar las dependencias de la respuesta en curso. La generación de cada
+     * etiqueta se toma ahora, antes de que la petición lea nada de la base.
+     */
+    void iniciarCaptura(RequestAttributes peticion, String inquilino, Collection<String> etiquetas) {
+        Map<String, Long> captura = new LinkedHashMap<>();
+        etiquetas.forEach(nombre -> captura.put(nombre, generacion(inquilino, nombre)));
+        peticion.setAttribute(CAPTURA, captura, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Long> captura(RequestAttributes peticion) {
+        return (Map<String, Long>) peticion.getAttribute(CAPTURA, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /** Si la petición en curso acabará en la caché; así solo entonces se paga resolver sus dependencias. */
+    public boolean capturando() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        return peticion != null && captura(peticion) != null;
+    }
+
+    /** Añade a la respuesta en curso la dependencia de estos departamentos concretos. */
+    public void dependeDeDepartamentos(Collection<Long> departamentoIds) {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        Map<String, Long> captura = peticion != null ? captura(peticion) : null;
+        if (captura == null) {
+            return;
+        }
+        String inquilino = inquilinoActual();
+        departamentoIds.forEach(id -> captura.putIfAbsent(etiquetaDepartamento(id), generacion(inquilino, etiquetaDepartamento(id))));
+    }
+
+    /** Invalida todo lo que depende del tipo de entidad, al confirmarse la transacción en curso. */
+    public void invalidar(TipoEntidad tipo) {
+        invalidar(List.of(etiqueta(tipo)));
+    }
+
+    /**
+     * Invalida lo que depende de los empleados en general y de estos departamentos en
+     * particular: los departamentos de origen y destino de los empleados escritos.
+     */
+    public void invalidarEmpleados(Collection<Long> departamentoIds) {
+        List<String> etiquetas = new ArrayList<>();
+        etiquetas.add(etiqueta(TipoEntidad.EMPLEADO));
+        departamentoIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> etiquetas.add(etiquetaDepartamento(id)));
+        invalidar(etiquetas);
+    }
+
+    // Tras el commit: antes, una lectura concurrente aún vería los datos viejos y los guardaría como vigentes
+    private void invalidar(List<String> etiquetas) {
+        if (!habilitada) {
+            return;
+        }
+        String inquilino = inquilinoActual();
+        Runnable subir = () -> etiquetas.forEach(nombre ->
+                generaciones.computeIfAbsent(new Etiqueta(inquilino, nombre), e -> new AtomicLong()).incrementAndGet());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            subir.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                subir.run();
+            }
+        });
+    }
+
+    static String inquilinoActual() {
+        return Objects.requireNonNullElse(ContextoInquilino.actual(), "");
+    }
+}
@@ -0,0 +1,113 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sirve desde {@link CacheRespuestas} los listados de departamentos, de proyectos y de
+ * empleados por departamento: en un acierto no se llega al controlador, ni a la base ni a
+ * Jackson. En un fallo la respuesta se retiene, y si acaba en 200 se guarda con las
+ * etiquetas de las que depende. La cabecera {@code X-Cache} dice cuál de los dos fue.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheRespuestasFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA = "X-Cache";
+
+    private static final String EMPLEADOS_POR_DEPARTAMENTO = "/api/empleados/departamento/";
+
+    // Los listados serializan las entidades con sus relaciones, así que dependen también de las relacionadas
+    private static final List<String> TODAS = List.of(
+            CacheRespuestas.etiqueta(TipoEntidad.DEPARTAMENTO),
+            CacheRespuestas.etiqueta(TipoEntidad.EMPLEADO),
+            CacheRespuestas.etiqueta(TipoEntidad.PROYECTO));
+    // Solo los empleados de esos departamentos, que añade el servicio; el nombre puede pasar a otro departamento
+    private static final List<String> POR_DEPARTAMENTO = List.of(
+            CacheRespuestas.etiqueta(TipoEntidad.DEPARTAMENTO),
+            CacheRespuestas.etiqueta(TipoEntidad.PROYECTO));
+
+    private final CacheRespuestas cache;
+
+    public CacheRespuestasFilter(CacheRespuestas cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cache.habilitada() || !HttpMethod.GET.matches(request.getMethod())
+                || dependencias(request.getRequestURI()) == null;
+    }
+
+    static List<String> dependencias(String ruta) {
+        if (ruta.equals("/api/departamentos") || ruta.equals("/api/proyectos")) {
+            return TODAS;
+        }
+        if (ruta.startsWith(EMPLEADOS_POR_DEPARTAMENTO)
+                && ruta.indexOf('/', EMPLEADOS_POR_DEPARTAMENTO.length()) < 0) {
+            return POR_DEPARTAMENTO;
+        }
+        return null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String inquilino = CacheRespuestas.inquilinoActual();
+        CacheRespuestas.Clave clave = new CacheRespuestas.Clave(inquilino, ruta(request));
+        CacheRespuestas.Entrada entrada = cache.buscar(clave);
+        if (entrada != null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(entrada.tipoContenido());
+            response.setContentLength(entrada.cuerpo().length);
+            response.setHeader(CABECERA, "HIT");
+            response.getOutputStream().write(entrada.cuerpo());
+            return;
+        }
+
+        ServletRequestAttributes peticion = new ServletRequestAttributes(request, response);
+        cache.iniciarCaptura(peticion, inquilino, dependencias(request.getRequestURI()));
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        respuesta.setHeader(CABECERA, "MISS");
+        try {
+            chain.doFilter(request, respuesta);
+            if (respuesta.getStatus() == HttpStatus.OK.value()) {
+                cache.guardar(clave, new CacheRespuestas.Entrada(respuesta.getContentAsByteArray(),
+                        respuesta.getContentType(), Map.copyOf(cache.captura(peticion))));
+            }
+        } finally {
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    // Los parámetros se ordenan para que ?a=1&b=2 y ?b=2&a=1 compartan entrada
+    private static String ruta(HttpServletRequest request) {
+        Map<String, String[]> parametros = new TreeMap<>(request.getParameterMap());
+        StringBuilder ruta = new StringBuilder(request.getRequestURI());
+        char separador = '?';
+        for (Map.Entry<String, String[]> parametro : parametros.entrySet()) {
+            for (String valor : parametro.getValue()) {
+                ruta.append(separador).append(parametro.getKey()).append('=').append(valor);
+                separador = '&';
+            }
+        }
+        return ruta.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.empresa.gestionempleados.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Documento JSON ya codificado en trozos. Se escribe trozo a trozo en la respuesta, sin
+ * pasar por Jackson ni unirlos antes en un único array.
+ */
+public record JsonFragmentado(List<byte[]> trozos) {
+
+    private static final byte[] ABRE_LISTA = bytes("[");
+    private static final byte[] SEPARADOR = bytes(",");
+    private static final byte[] CIERRA_LISTA = bytes("]");
+    private static final byte[] ABRE_PAGINA = bytes("{\"content\":");
+    private static final byte[] METADATOS_PAGINA = bytes(",\"page\":");
+    private static final byte[] CIERRA_PAGINA = bytes("}");
+
+    public static JsonFragmentado objeto(byte[] json) {
+        return new JsonFragmentado(List.of(json));
+    }
+
+    public static JsonFragmentado lista(List<byte[]> elementos) {
+        List<byte[]> trozos = new ArrayList<>(elementos.size() * 2 + 1);
+        agregarLista(trozos, elementos);
+        return new JsonFragmentado(trozos);
+    }
+
+    /** Misma forma que un {@code PagedModel}: {@code {"content":[...],"page":{...}}}. */
+    public static JsonFragmentado pagina(List<byte[]> elementos, byte[] metadatos) {
+        List<byte[]> trozos = new ArrayList<>(elementos.size() * 2 + 4);
+        trozos.add(ABRE_PAGINA);
+        agregarLista(trozos, elementos);
+        trozos.add(METADATOS_PAGINA);
+        trozos.add(metadatos);
+        trozos.add(CIERRA_PAGINA);
+        return new JsonFragmentado(trozos);
+    }
+
+    public long longitud() {
+        long longitud = 0;
+        for (byte[] trozo : trozos) {
+            longitud += trozo.length;
+        }
+        return longitud;
+    }
+
+    private static void agregarLista(List<byte[]> trozos, List<byte[]> elementos) {
+        trozos.add(ABRE_LISTA);
+        for (int i = 0; i < elementos.size(); i++) {
+            if (i > 0) {
+                trozos.add(SEPARADOR);
+            }
+            trozos.add(elementos.get(i));
+        }
+        trozos.add(CIERRA_LISTA);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
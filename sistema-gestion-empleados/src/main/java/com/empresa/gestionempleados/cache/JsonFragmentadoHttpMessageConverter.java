@@ -0,0 +1,51 @@
+package com.empresa.gestionempleados.cache;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escribe un {@link JsonFragmentado} copiando sus trozos tal cual al flujo de salida.
+ * Spring Boot lo registra por delante de los conversores por defecto.
+ */
+@Component
+public class JsonFragmentadoHttpMessageConverter extends AbstractHttpMessageConverter<JsonFragmentado> {
+
+    public JsonFragmentadoHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonFragmentado.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonFragmentado readInternal(Class<? extends JsonFragmentado> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se escriben respuestas fragmentadas", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonFragmentado json, MediaType contentType) {
+        return json.longitud();
+    }
+
+    @Override
+    protected void writeInternal(JsonFragmentado json, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream salida = outputMessage.getBody();
+        for (byte[] trozo : json.trozos()) {
+            salida.write(trozo);
+        }
+    }
+}
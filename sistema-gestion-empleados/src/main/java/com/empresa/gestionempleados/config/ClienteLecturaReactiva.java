@@ -0,0 +1,50 @@
+package com.empresa.gestionempleados.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Pool R2DBC propio de la lectura reactiva. No se expone como bean ConnectionFactory
+ * para no interferir con la autoconfiguración del DataSource que usa JPA. Debe apuntar a
+ * la misma base: con multitenencia las consultas leen los esquemas de cada inquilino.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.lectura-reactiva", name = "habilitada", havingValue = "true")
+public class ClienteLecturaReactiva implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ClienteLecturaReactiva(@Value("${app.lectura-reactiva.url}") String url,
+                                  @Value("${app.lectura-reactiva.usuario:}") String usuario,
+                                  @Value("${app.lectura-reactiva.clave:}") String clave,
+                                  @Value("${app.lectura-reactiva.conexiones:20}") int conexiones) {
+        ConnectionFactoryOptions.Builder opciones = ConnectionFactoryOptions.parse(url).mutate();
+        if (StringUtils.hasText(usuario)) {
+            opciones.option(ConnectionFactoryOptions.USER, usuario);
+            opciones.option(ConnectionFactoryOptions.PASSWORD, clave);
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(opciones.build()))
+                .maxSize(conexiones)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
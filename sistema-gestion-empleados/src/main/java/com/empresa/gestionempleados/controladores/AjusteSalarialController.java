@@ -0,0 +1,45 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.dto.SolicitudAjusteSalarial;
+import com.empresa.gestionempleados.entidades.AjusteSalarial;
+import com.empresa.gestionempleados.servicios.AjusteSalarialService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ajustes-salariales")
+@Validated
+public class AjusteSalarialController {
+
+    private final AjusteSalarialService ajusteSalarialService;
+
+    public AjusteSalarialController(AjusteSalarialService ajusteSalarialService) {
+        this.ajusteSalarialService = ajusteSalarialService;
+    }
+
+    @GetMapping
+    public List<AjusteSalarial> obtenerTodos() {
+        return ajusteSalarialService.obtenerTodos();
+    }
+
+    @GetMapping("/{id}")
+    public AjusteSalarial obtenerPorId(@PathVariable Long id) {
+        return ajusteSalarialService.buscarPorId(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public AjusteSalarial crear(@Valid @RequestBody SolicitudAjusteSalarial solicitud) {
+        return ajusteSalarialService.crear(solicitud);
+    }
+
+    @PostMapping("/{id}/reanudar")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public AjusteSalarial reanudar(@PathVariable Long id) {
+        return ajusteSalarialService.reanudar(id);
+    }
+}
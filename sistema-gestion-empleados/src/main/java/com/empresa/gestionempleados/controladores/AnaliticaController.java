@@ -0,0 +1,67 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.analitica.DimensionAnalitica;
+import com.empresa.gestionempleados.dto.CargaEmpleado;
+import com.empresa.gestionempleados.dto.DistribucionSalarial;
+import com.empresa.gestionempleados.dto.GrupoAnalitica;
+import com.empresa.gestionempleados.dto.ResumenSnapshot;
+import com.empresa.gestionempleados.servicios.AnaliticaService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analitica")
+@Validated
+public class AnaliticaController {
+
+    private final AnaliticaService analiticaService;
+
+    public AnaliticaController(AnaliticaService analiticaService) {
+        this.analiticaService = analiticaService;
+    }
+
+    @GetMapping("/snapshot")
+    public ResumenSnapshot obtenerResumen() {
+        return analiticaService.resumen();
+    }
+
+    @PostMapping("/snapshot/refrescar")
+    public ResumenSnapshot refrescar() {
+        return analiticaService.refrescar();
+    }
+
+    @GetMapping("/agrupaciones")
+    public List<GrupoAnalitica> agrupar(@RequestParam DimensionAnalitica por,
+                                        @RequestParam(defaultValue = "10000") @DecimalMin("0.01") BigDecimal banda) {
+        return analiticaService.agrupar(por, banda);
+    }
+
+    @GetMapping("/carga-proyectos")
+    public List<CargaEmpleado> cargaProyectos(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "1") @Positive int minimo) {
+        return analiticaService.cargaProyectos(desde, hasta, minimo);
+    }
+
+    @GetMapping("/percentiles")
+    public DistribucionSalarial percentilesSalariales(
+            @RequestParam(defaultValue = "50,90,99") List<@DecimalMin("0") @DecimalMax("100") BigDecimal> p) {
+        return analiticaService.percentilesSalariales(p);
+    }
+
+    @PostMapping("/percentiles/reconstruir")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reconstruirPercentiles() {
+        analiticaService.reconstruirPercentiles();
+    }
+}
@@ -0,0 +1,23 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.eventos.FeedCambios;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/cambios")
+public class CambioController {
+
+    private final FeedCambios feedCambios;
+
+    public CambioController(FeedCambios feedCambios) {
+        this.feedCambios = feedCambios;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento,
+                             @RequestParam(required = false) Long desde) {
+        return feedCambios.suscribir(desde != null ? desde : ultimoEvento);
+    }
+}
@@ -1,13 +1,25 @@
 package com.empresa.gestionempleados.controladores;
 
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.DepartamentoDetalle;
+import com.empresa.gestionempleados.dto.NominaHistorica;
+import com.empresa.gestionempleados.dto.ResultadoTransferencia;
+import com.empresa.gestionempleados.dto.SolicitudTransferencia;
 import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.NominaDepartamento;
 import com.empresa.gestionempleados.servicios.DepartamentoService;
+import com.empresa.gestionempleados.servicios.HistorialSalarioService;
+import com.empresa.gestionempleados.servicios.NominaService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/departamentos")
@@ -15,9 +27,15 @@ import java.util.List;
 public class DepartamentoController {
 
     private final DepartamentoService departamentoService;
+    private final NominaService nominaService;
+    private final HistorialSalarioService historialSalarioService;
 
-    public DepartamentoController(DepartamentoService departamentoService) {
+    public DepartamentoController(DepartamentoService departamentoService,
+                                  NominaService nominaService,
+                                  HistorialSalarioService historialSalarioService) {
         this.departamentoService = departamentoService;
+        this.nominaService = nominaService;
+        this.historialSalarioService = historialSalarioService;
     }
 
     @GetMapping
@@ -25,11 +43,46 @@ public class DepartamentoController {
         return departamentoService.obtenerTodos();
     }
 
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> obtenerTodos(@RequestParam("fields") List<String> campos) {
+        return departamentoService.obtenerTodos(campos);
+    }
+
+    @GetMapping("/cambios")
+    public CambiosDesde<Departamento> obtenerCambios(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) Long desdeId,
+            @RequestParam(defaultValue = "500") int limite) {
+        return departamentoService.buscarCambiosDesde(desde, desdeId, limite);
+    }
+
     @GetMapping("/{id}")
     public Departamento obtenerPorId(@PathVariable Long id) {
         return departamentoService.buscarPorId(id);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> obtenerPorId(@PathVariable Long id, @RequestParam("fields") List<String> campos) {
+        return departamentoService.buscarPorId(id, campos);
+    }
+
+    @GetMapping("/{id}/detalle")
+    public DepartamentoDetalle obtenerDetalle(@PathVariable Long id) {
+        return departamentoService.buscarDetallePorId(id);
+    }
+
+    @GetMapping("/{id}/nomina")
+    public NominaDepartamento obtenerNomina(@PathVariable Long id) {
+        return nominaService.buscarPorDepartamento(id);
+    }
+
+    @GetMapping("/{id}/nomina/historica")
+    public NominaHistorica obtenerNominaAl(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return historialSalarioService.buscarNominaAl(id, fecha);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Departamento crear(@Valid @RequestBody Departamento departamento) {
@@ -41,6 +94,12 @@ public class DepartamentoController {
         return departamentoService.actualizar(id, departamento);
     }
 
+    @PostMapping("/{id}/transferir")
+    public ResultadoTransferencia transferir(@PathVariable Long id,
+                                             @Valid @RequestBody SolicitudTransferencia solicitud) {
+        return departamentoService.transferir(id, solicitud);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void eliminar(@PathVariable Long id) {
@@ -1,23 +1,50 @@
 package com.empresa.gestionempleados.controladores;
 
+import com.empresa.gestionempleados.cache.CacheFragmentosJson;
+import com.empresa.gestionempleados.cache.JsonFragmentado;
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.FiltroEmpleados;
+import com.empresa.gestionempleados.dto.ResultadoImportacion;
+import com.empresa.gestionempleados.dto.SalarioVigente;
 import com.empresa.gestionempleados.entidades.Empleado;
 import com.empresa.gestionempleados.servicios.EmpleadoService;
+import com.empresa.gestionempleados.servicios.HistorialSalarioService;
+import com.empresa.gestionempleados.servicios.ImportacionEmpleadosService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/empleados")
 @Validated
 public class EmpleadoController {
     private final EmpleadoService empleadoService;
+    private final HistorialSalarioService historialSalarioService;
+    private final ImportacionEmpleadosService importacionEmpleadosService;
+    private final CacheFragmentosJson fragmentos;
 
-    public EmpleadoController(EmpleadoService empleadoService) {
+    public EmpleadoController(EmpleadoService empleadoService,
+                              HistorialSalarioService historialSalarioService,
+                              ImportacionEmpleadosService importacionEmpleadosService,
+                              CacheFragmentosJson fragmentos) {
         this.empleadoService = empleadoService;
+        this.historialSalarioService = historialSalarioService;
+        this.importacionEmpleadosService = importacionEmpleadosService;
+        this.fragmentos = fragmentos;
     }
 
     @GetMapping
@@ -25,17 +52,60 @@ public class EmpleadoController {
         return empleadoService.obtenerTodos();
     }
 
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> obtenerTodos(@RequestParam("fields") List<String> campos) {
+        return empleadoService.obtenerTodos(campos);
+    }
+
+    @GetMapping("/filtro")
+    // Mismo JSON que un PagedModel de EmpleadoFila, montado con los fragmentos ya codificados
+    public JsonFragmentado filtrar(FiltroEmpleados filtro, Pageable pageable) {
+        return fragmentos.empleados(empleadoService.filtrar(filtro, pageable));
+    }
+
+    @GetMapping("/cambios")
+    public CambiosDesde<Empleado> obtenerCambios(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) Long desdeId,
+            @RequestParam(defaultValue = "500") int limite) {
+        return empleadoService.buscarCambiosDesde(desde, desdeId, limite);
+    }
+
     @GetMapping("/{id}")
     public Empleado obtenerPorId(@PathVariable Long id) {
         return empleadoService.buscarPorId(id);
     }
 
+    @GetMapping("/{id}/fila")
+    public JsonFragmentado obtenerFila(@PathVariable Long id) {
+        return fragmentos.empleado(empleadoService.buscarPorId(id));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> obtenerPorId(@PathVariable Long id, @RequestParam("fields") List<String> campos) {
+        return empleadoService.buscarPorId(id, campos);
+    }
+
+    @GetMapping("/{id}/salario")
+    public SalarioVigente obtenerSalarioAl(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return historialSalarioService.buscarSalarioAl(id, fecha != null ? fecha : LocalDate.now());
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Empleado crear(@Valid @RequestBody Empleado empleado) {
         return empleadoService.guardar(empleado);
     }
 
+    @PostMapping(value = "/importacion", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResultadoImportacion importar(@RequestPart("archivo") MultipartFile archivo) throws IOException {
+        try (InputStream entrada = archivo.getInputStream()) {
+            return importacionEmpleadosService.importar(entrada);
+        }
+    }
+
     @PutMapping("/{id}")
     public Empleado actualizar(@PathVariable Long id, @Valid @RequestBody Empleado empleado) {
         return empleadoService.actualizar(id, empleado);
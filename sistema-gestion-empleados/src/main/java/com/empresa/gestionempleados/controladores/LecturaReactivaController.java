@@ -0,0 +1,44 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.ProyectoResumen;
+import com.empresa.gestionempleados.servicios.LecturaReactivaService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * Lectura no bloqueante de los listados más pesados. La respuesta se escribe como
+ * NDJSON a medida que llegan las filas, con contrapresión hacia la base de datos.
+ */
+@RestController
+@RequestMapping(value = "/api/reactivo", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@ConditionalOnProperty(prefix = "app.lectura-reactiva", name = "habilitada", havingValue = "true")
+public class LecturaReactivaController {
+
+    private final LecturaReactivaService lecturaReactivaService;
+
+    public LecturaReactivaController(LecturaReactivaService lecturaReactivaService) {
+        this.lecturaReactivaService = lecturaReactivaService;
+    }
+
+    @GetMapping("/empleados/departamento/{nombre}")
+    public Flux<EmpleadoFila> obtenerEmpleadosPorDepartamento(@PathVariable String nombre) {
+        return lecturaReactivaService.buscarEmpleadosPorDepartamento(nombre);
+    }
+
+    @GetMapping("/empleados/salario")
+    public Flux<EmpleadoFila> obtenerEmpleadosPorRangoSalario(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max) {
+        return lecturaReactivaService.buscarEmpleadosPorRangoSalario(min, max);
+    }
+
+    @GetMapping("/proyectos/activos")
+    public Flux<ProyectoResumen> obtenerProyectosActivos() {
+        return lecturaReactivaService.buscarProyectosActivos();
+    }
+}
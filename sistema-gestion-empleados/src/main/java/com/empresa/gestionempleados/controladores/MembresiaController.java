@@ -0,0 +1,52 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.dto.ProyectoCompartido;
+import com.empresa.gestionempleados.dto.ResultadoMembresia;
+import com.empresa.gestionempleados.servicios.MembresiaService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/membresias")
+public class MembresiaController {
+
+    private final MembresiaService membresiaService;
+
+    public MembresiaController(MembresiaService membresiaService) {
+        this.membresiaService = membresiaService;
+    }
+
+    @PostMapping("/reconstruir")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reconstruir() {
+        membresiaService.reconstruir();
+    }
+
+    @GetMapping("/interseccion")
+    public ResultadoMembresia interseccion(@RequestParam List<Long> proyectos) {
+        return membresiaService.interseccion(proyectos);
+    }
+
+    @GetMapping("/union")
+    public ResultadoMembresia union(@RequestParam List<Long> proyectos) {
+        return membresiaService.union(proyectos);
+    }
+
+    @GetMapping("/diferencia")
+    public ResultadoMembresia diferencia(@RequestParam List<Long> proyectos,
+                                         @RequestParam(defaultValue = "") List<Long> excluir) {
+        return membresiaService.diferencia(proyectos, excluir);
+    }
+
+    @GetMapping("/sin-proyecto")
+    public ResultadoMembresia sinProyecto() {
+        return membresiaService.sinProyecto();
+    }
+
+    @GetMapping("/proyectos/{id}/compartidos")
+    public List<ProyectoCompartido> compartenPersonal(@PathVariable Long id) {
+        return membresiaService.compartenPersonal(id);
+    }
+}
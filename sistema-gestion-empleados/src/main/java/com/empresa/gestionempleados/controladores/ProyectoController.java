@@ -1,13 +1,19 @@
 package com.empresa.gestionempleados.controladores;
 
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.ProyectoDetalle;
 import com.empresa.gestionempleados.entidades.Proyecto;
 import com.empresa.gestionempleados.servicios.ProyectoService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/proyectos")
@@ -25,11 +31,34 @@ public class ProyectoController {
         return proyectoService.obtenerTodos();
     }
 
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> obtenerTodos(@RequestParam("fields") List<String> campos) {
+        return proyectoService.obtenerTodos(campos);
+    }
+
+    @GetMapping("/cambios")
+    public CambiosDesde<Proyecto> obtenerCambios(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) Long desdeId,
+            @RequestParam(defaultValue = "500") int limite) {
+        return proyectoService.buscarCambiosDesde(desde, desdeId, limite);
+    }
+
     @GetMapping("/{id}")
     public Proyecto obtenerPorId(@PathVariable Long id) {
         return proyectoService.buscarPorId(id);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> obtenerPorId(@PathVariable Long id, @RequestParam("fields") List<String> campos) {
+        return proyectoService.buscarPorId(id, campos);
+    }
+
+    @GetMapping("/{id}/detalle")
+    public ProyectoDetalle obtenerDetalle(@PathVariable Long id) {
+        return proyectoService.buscarDetallePorId(id);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Proyecto crear(@Valid @RequestBody Proyecto proyecto) {
@@ -51,5 +80,22 @@ public class ProyectoController {
     public List<Proyecto> obtenerPorDepartamento() {
         return proyectoService.buscarProyectosActivos();
     }
-}
 
+    @GetMapping("/activos-entre")
+    public List<Proyecto> obtenerActivosEntre(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return proyectoService.buscarActivosEntre(desde, hasta);
+    }
+
+    @GetMapping("/activos-en")
+    public List<Proyecto> obtenerActivosEn(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return proyectoService.buscarActivosEn(fecha);
+    }
+
+    @GetMapping("/{id}/solapados")
+    public List<Proyecto> obtenerSolapados(@PathVariable Long id) {
+        return proyectoService.buscarSolapados(id);
+    }
+}
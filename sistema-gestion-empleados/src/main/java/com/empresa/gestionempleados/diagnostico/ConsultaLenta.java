@@ -0,0 +1,11 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ConsultaLenta(String sql,
+                            List<String> parametros,
+                            String repositorio,
+                            long milisegundos,
+                            Instant momento) {
+}
@@ -0,0 +1,32 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Expone en {@code /actuator/consultaslentas} el ranking de sentencias más lentas, con los
+ * parámetros enmascarados. Solo existe si el actuator escucha en su propio puerto, y como
+ * cualquiera que llegue a él puede vaciarlo, ese puerto no debe ser accesible desde fuera.
+ */
+@Endpoint(id = "consultaslentas")
+public class ConsultasLentasEndpoint {
+
+    private final RegistroConsultasLentas registro;
+
+    public ConsultasLentasEndpoint(RegistroConsultasLentas registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public List<ConsultaLenta> masLentas() {
+        return registro.masLentas();
+    }
+
+    @DeleteOperation
+    public void reiniciar() {
+        registro.reiniciar();
+    }
+}
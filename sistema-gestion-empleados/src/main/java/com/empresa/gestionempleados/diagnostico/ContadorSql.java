@@ -0,0 +1,45 @@
+package com.empresa.gestionempleados.diagnostico;
+
+/**
+ * Cuenta las sentencias SQL y las entidades cargadas por el hilo de la petición en curso.
+ * Fuera de una petición (tareas programadas, hilos de fondo) no cuenta nada.
+ */
+public final class ContadorSql {
+
+    public record Medicion(int sentencias, int cargas) {
+    }
+
+    private static final ThreadLocal<int[]> ACTUAL = new ThreadLocal<>();
+
+    private ContadorSql() {
+    }
+
+    static void iniciar() {
+        ACTUAL.set(new int[2]);
+    }
+
+    static Medicion terminar() {
+        Medicion medicion = actual();
+        ACTUAL.remove();
+        return medicion;
+    }
+
+    public static Medicion actual() {
+        int[] contadores = ACTUAL.get();
+        return contadores == null ? new Medicion(0, 0) : new Medicion(contadores[0], contadores[1]);
+    }
+
+    static void registrarSentencia() {
+        int[] contadores = ACTUAL.get();
+        if (contadores != null) {
+            contadores[0]++;
+        }
+    }
+
+    static void registrarCarga() {
+        int[] contadores = ACTUAL.get();
+        if (contadores != null) {
+            contadores[1]++;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DiagnosticoSqlConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSql() {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new InspectorSentencias());
+            propiedades.put(AvailableSettings.INTERCEPTOR, new InterceptorCargas());
+        };
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.sql.lentas.habilitado", havingValue = "true", matchIfMissing = true)
+    static class ConsultasLentasConfig {
+
+        @Bean
+        public RegistroConsultasLentas registroConsultasLentas(
+                @Value("${app.sql.lentas.umbral-ms:200}") long umbralMs,
+                @Value("${app.sql.lentas.muestreo:0.0}") double muestreo,
+                @Value("${app.sql.lentas.top:20}") int top) {
+            return new RegistroConsultasLentas(umbralMs, muestreo, top);
+        }
+
+        // Solo en el puerto de gestión aparte (management.server.port), nunca junto a /api
+        @Bean
+        @ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+        public ConsultasLentasEndpoint consultasLentasEndpoint(RegistroConsultasLentas registro) {
+            return new ConsultasLentasEndpoint(registro);
+        }
+
+        @Bean
+        public static BeanPostProcessor proxyDataSource(ObjectProvider<RegistroConsultasLentas> registro) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name(beanName)
+                                .listener(registro.getObject())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        public static BeanPostProcessor metodoRepositorio() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                        factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                                (proxy, info) -> proxy.addAdvice(new MetodoRepositorio(info.getRepositoryInterface()))));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
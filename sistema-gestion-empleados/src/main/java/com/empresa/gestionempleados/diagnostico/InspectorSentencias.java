@@ -0,0 +1,15 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate pasa por aquí cada sentencia que prepara, incluidas las de inicialización LAZY.
+ */
+class InspectorSentencias implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ContadorSql.registrarSentencia();
+        return sql;
+    }
+}
@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+class InterceptorCargas implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        ContadorSql.registrarCarga();
+        return false;
+    }
+}
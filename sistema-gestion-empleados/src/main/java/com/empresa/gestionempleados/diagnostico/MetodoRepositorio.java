@@ -0,0 +1,39 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Recuerda qué método de repositorio se está ejecutando en el hilo actual, por ejemplo
+ * {@code EmpleadoRepository.findByNombreDepartamento}, para atribuirle las sentencias.
+ */
+final class MetodoRepositorio implements MethodInterceptor {
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private final String repositorio;
+
+    MetodoRepositorio(Class<?> repositorio) {
+        this.repositorio = repositorio.getSimpleName();
+    }
+
+    static String actual() {
+        String metodo = ACTUAL.get();
+        return metodo == null ? "-" : metodo;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String anterior = ACTUAL.get();
+        ACTUAL.set(repositorio + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+        }
+    }
+}
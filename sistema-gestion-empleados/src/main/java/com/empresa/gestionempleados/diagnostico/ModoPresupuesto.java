@@ -0,0 +1,8 @@
+package com.empresa.gestionempleados.diagnostico;
+
+public enum ModoPresupuesto {
+    /** Deja pasar la respuesta y registra un aviso. */
+    REGISTRAR,
+    /** Reemplaza la respuesta por un 500; pensado para entornos de prueba. */
+    FALLAR
+}
@@ -0,0 +1,164 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Mide cuántas sentencias SQL y cargas de entidades provoca cada petición, incluida la
+ * serialización con la sesión abierta, y lo publica en la cabecera {@code Server-Timing}.
+ * Los streams quedan fuera. Envuelve también a la caché de respuestas, así que un acierto
+ * cuenta cero sentencias.
+ * <p>
+ * Solo en modo FALLAR se retiene la respuesta en memoria hasta el final, para poder
+ * sustituirla cuando se supera el presupuesto. En modo REGISTRAR, y siempre para el JSON
+ * fragmentado, la respuesta no se copia: la cabecera se fija justo antes del primer byte,
+ * o al terminar si el contenedor aún no envió nada, y un exceso solo se registra.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class PresupuestoSqlFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(PresupuestoSqlFilter.class);
+
+    private final boolean habilitado;
+    private final int presupuesto;
+    private final ModoPresupuesto modo;
+
+    public PresupuestoSqlFilter(@Value("${app.sql.presupuesto.habilitado:true}") boolean habilitado,
+                                @Value("${app.sql.presupuesto.sentencias:30}") int presupuesto,
+                                @Value("${app.sql.presupuesto.modo:registrar}") String modo) {
+        this.habilitado = habilitado;
+        this.presupuesto = presupuesto;
+        this.modo = ModoPresupuesto.valueOf(modo.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        return !habilitado || !ruta.startsWith("/api/")
+                || ruta.equals("/api/cambios/stream") || ruta.startsWith("/api/reactivo/")
+                || ruta.equals("/api/empleados/importacion");
+    }
+
+    // Rutas que devuelven JsonFragmentado
+    static boolean sinRetencion(String ruta) {
+        return ruta.equals("/api/empleados/filtro")
+                || ruta.startsWith("/api/empleados/") && ruta.endsWith("/fila");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (modo == ModoPresupuesto.REGISTRAR || sinRetencion(request.getRequestURI())) {
+            filtrarSinRetener(request, response, chain);
+            return;
+        }
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        long inicio = System.nanoTime();
+        ContadorSql.iniciar();
+        try {
+            chain.doFilter(request, respuesta);
+        } finally {
+            ContadorSql.Medicion medicion = ContadorSql.terminar();
+            respuesta.setHeader(CABECERA, serverTiming(medicion, inicio));
+            if (medicion.sentencias() > presupuesto) {
+                excedido(request, respuesta, medicion);
+            }
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    private void filtrarSinRetener(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        ContadorSql.iniciar();
+        try {
+            chain.doFilter(request, new CabeceraAlEscribir(response, inicio));
+        } finally {
+            ContadorSql.Medicion medicion = ContadorSql.terminar();
+            if (!response.isCommitted()) {
+                response.setHeader(CABECERA, serverTiming(medicion, inicio));
+            }
+            if (medicion.sentencias() > presupuesto) {
+                log.warn(mensajeExcedido(request, medicion));
+            }
+        }
+    }
+
+    private static String serverTiming(ContadorSql.Medicion medicion, long inicio) {
+        double milisegundos = (System.nanoTime() - inicio) / 1_000_000.0;
+        return String.format(Locale.ROOT, "sql;desc=\"%d\", entidades;desc=\"%d\", app;dur=%.1f",
+                medicion.sentencias(), medicion.cargas(), milisegundos);
+    }
+
+    private void excedido(HttpServletRequest request, ContentCachingResponseWrapper respuesta,
+                          ContadorSql.Medicion medicion) throws IOException {
+        String mensaje = mensajeExcedido(request, medicion);
+        respuesta.resetBuffer();
+        respuesta.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        respuesta.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        respuesta.setCharacterEncoding("UTF-8");
+        respuesta.getWriter().write(mensaje);
+    }
+
+    private String mensajeExcedido(HttpServletRequest request, ContadorSql.Medicion medicion) {
+        return "Presupuesto de sentencias SQL excedido en " + request.getMethod() + " "
+                + request.getRequestURI() + ": " + medicion.sentencias() + " sentencias, "
+                + medicion.cargas() + " entidades cargadas (máximo " + presupuesto + ")";
+    }
+
+    // Publica la medición hecha hasta el momento en que se empieza a escribir el cuerpo
+    private static final class CabeceraAlEscribir extends HttpServletResponseWrapper {
+
+        private final long inicio;
+
+        CabeceraAlEscribir(HttpServletResponse response, long inicio) {
+            super(response);
+            this.inicio = inicio;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            publicar();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            publicar();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            publicar();
+            super.flushBuffer();
+        }
+
+        private void publicar() {
+            if (!isCommitted()) {
+                setHeader(CABECERA, serverTiming(ContadorSql.actual(), inicio));
+            }
+        }
+    }
+}
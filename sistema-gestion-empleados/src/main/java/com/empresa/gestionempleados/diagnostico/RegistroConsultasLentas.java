@@ -0,0 +1,149 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mide cada sentencia que pasa por el DataSource. Las que superan el umbral se registran
+ * con sus parámetros y el método de repositorio que las lanzó; del resto solo se registra
+ * una muestra. Además conserva las N sentencias más lentas vistas desde el arranque.
+ * <p>
+ * Los parámetros pueden ser correos o salarios: solo el log de las que superan el umbral
+ * los lleva en claro. La muestra y el ranking guardan un hash con sal de cada valor, que
+ * permite ver si dos sentencias usaron el mismo valor sin revelarlo.
+ */
+public class RegistroConsultasLentas implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroConsultasLentas.class);
+    private static final int MAX_PARAMETROS_LOTE = 3;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final long umbralMs;
+    private final double muestreo;
+    private final int capacidad;
+    // Sal propia de cada arranque: los hashes no se pueden precalcular para salarios o ids
+    private final byte[] sal = new byte[16];
+    private final PriorityQueue<ConsultaLenta> masLentas =
+            new PriorityQueue<>(Comparator.comparingLong(ConsultaLenta::milisegundos));
+    // Duración mínima para entrar en el ranking; se lee sin bloqueo en el camino rápido
+    private volatile long minimoRanking = 0;
+
+    public RegistroConsultasLentas(long umbralMs, double muestreo, int capacidad) {
+        this.umbralMs = umbralMs;
+        this.muestreo = muestreo;
+        this.capacidad = capacidad;
+        new SecureRandom().nextBytes(sal);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long milisegundos = execInfo.getElapsedTime();
+        boolean lenta = milisegundos >= umbralMs;
+        boolean muestra = !lenta && muestreo > 0 && ThreadLocalRandom.current().nextDouble() < muestreo;
+        boolean ranking = capacidad > 0 && milisegundos >= minimoRanking;
+        if (!lenta && !muestra && !ranking) {
+            return;
+        }
+        ConsultaLenta consulta = describir(queryInfoList, milisegundos, false);
+        if (lenta) {
+            ConsultaLenta enClaro = describir(queryInfoList, milisegundos, true);
+            log.warn("Sentencia lenta ({} ms) desde {}: {} {}", milisegundos, enClaro.repositorio(),
+                    enClaro.sql(), enClaro.parametros());
+        } else if (muestra) {
+            log.info("Sentencia ({} ms) desde {}: {} {}", milisegundos, consulta.repositorio(),
+                    consulta.sql(), consulta.parametros());
+        }
+        if (ranking) {
+            registrarEnRanking(consulta);
+        }
+    }
+
+    public synchronized List<ConsultaLenta> masLentas() {
+        List<ConsultaLenta> resultado = new ArrayList<>(masLentas);
+        resultado.sort(Comparator.comparingLong(ConsultaLenta::milisegundos).reversed());
+        return resultado;
+    }
+
+    public synchronized void reiniciar() {
+        masLentas.clear();
+        minimoRanking = 0;
+    }
+
+    private synchronized void registrarEnRanking(ConsultaLenta consulta) {
+        if (masLentas.size() < capacidad) {
+            masLentas.add(consulta);
+        } else if (consulta.milisegundos() > masLentas.peek().milisegundos()) {
+            masLentas.poll();
+            masLentas.add(consulta);
+        }
+        minimoRanking = masLentas.size() < capacidad ? 0 : masLentas.peek().milisegundos() + 1;
+    }
+
+    /** Hash con sal del valor, el mismo para valores iguales mientras dure el proceso. */
+    String enmascarar(Object valor) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(sal);
+            byte[] hash = sha.digest(String.valueOf(valor).getBytes(StandardCharsets.UTF_8));
+            return "#" + HEX.formatHex(hash, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ConsultaLenta describir(List<QueryInfo> queryInfoList, long milisegundos, boolean enClaro) {
+        List<String> sentencias = new ArrayList<>();
+        List<String> parametros = new ArrayList<>();
+        for (QueryInfo info : queryInfoList) {
+            sentencias.add(info.getQuery());
+            List<List<ParameterSetOperation>> lotes = info.getParametersList();
+            for (int i = 0; i < lotes.size() && i < MAX_PARAMETROS_LOTE; i++) {
+                parametros.add(valores(lotes.get(i), enClaro));
+            }
+            if (lotes.size() > MAX_PARAMETROS_LOTE) {
+                parametros.add("(+" + (lotes.size() - MAX_PARAMETROS_LOTE) + " lotes)");
+            }
+        }
+        return new ConsultaLenta(String.join("; ", sentencias), parametros, MetodoRepositorio.actual(),
+                milisegundos, Instant.now());
+    }
+
+    private String valores(List<ParameterSetOperation> operaciones, boolean enClaro) {
+        List<ParameterSetOperation> ordenadas = new ArrayList<>(operaciones);
+        ordenadas.sort(Comparator.comparing(o -> String.valueOf(o.getArgs()[0]),
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())));
+        StringBuilder sb = new StringBuilder("[");
+        for (ParameterSetOperation operacion : ordenadas) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            Object[] args = operacion.getArgs();
+            if (ParameterSetOperation.isSetNullParameterOperation(operacion) || args.length < 2 || args[1] == null) {
+                sb.append("null");
+            } else {
+                sb.append(enClaro ? args[1] : enmascarar(args[1]));
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
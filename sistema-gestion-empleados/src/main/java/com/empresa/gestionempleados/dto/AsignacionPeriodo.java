@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.LocalDate;
+
+public record AsignacionPeriodo(Long empleadoId, LocalDate fechaInicio, LocalDate fechaFin) {
+}
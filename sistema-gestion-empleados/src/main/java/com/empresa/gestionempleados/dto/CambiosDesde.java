@@ -0,0 +1,12 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Página de una sincronización incremental. Para pedir la siguiente se envían
+ * {@code siguienteDesde} y {@code siguienteDesdeId} como {@code desde} y {@code desdeId}.
+ */
+public record CambiosDesde<T>(List<T> actualizados, List<Long> eliminados,
+                              LocalDateTime siguienteDesde, Long siguienteDesdeId, boolean hayMas) {
+}
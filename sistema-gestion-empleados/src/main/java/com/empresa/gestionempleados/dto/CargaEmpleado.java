@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CargaEmpleado(Long empleadoId, int picoProyectos, LocalDate inicioPico, List<TramoCarga> tramos) {
+}
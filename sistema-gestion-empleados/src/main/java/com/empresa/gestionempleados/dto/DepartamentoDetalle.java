@@ -0,0 +1,18 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record DepartamentoDetalle(Long id, String nombre, String descripcion, List<EmpleadoDetalle> empleados) {
+
+    public static DepartamentoDetalle desde(Departamento departamento) {
+        List<EmpleadoDetalle> empleados = departamento.getEmpleados().stream()
+                .map(EmpleadoDetalle::desde)
+                .sorted(Comparator.comparing(EmpleadoDetalle::id))
+                .toList();
+        return new DepartamentoDetalle(departamento.getId(), departamento.getNombre(),
+                departamento.getDescripcion(), empleados);
+    }
+}
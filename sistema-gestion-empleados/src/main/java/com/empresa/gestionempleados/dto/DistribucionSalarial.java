@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.dto;
+
+import java.util.List;
+
+public record DistribucionSalarial(double errorRelativo, PercentilesSalariales empresa,
+                                   List<PercentilesSalariales> departamentos) {
+}
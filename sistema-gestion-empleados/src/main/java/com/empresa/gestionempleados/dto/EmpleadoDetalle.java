@@ -0,0 +1,22 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+public record EmpleadoDetalle(Long id, String nombre, String apellido, String email,
+                              LocalDate fechaContratacion, BigDecimal salario,
+                              List<ProyectoResumen> proyectos) {
+
+    public static EmpleadoDetalle desde(Empleado empleado) {
+        List<ProyectoResumen> proyectos = empleado.getProyectos().stream()
+                .map(ProyectoResumen::desde)
+                .sorted(Comparator.comparing(ProyectoResumen::id))
+                .toList();
+        return new EmpleadoDetalle(empleado.getId(), empleado.getNombre(), empleado.getApellido(),
+                empleado.getEmail(), empleado.getFechaContratacion(), empleado.getSalario(), proyectos);
+    }
+}
@@ -0,0 +1,16 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record EmpleadoFila(Long id, String nombre, String apellido, String email,
+                           LocalDate fechaContratacion, BigDecimal salario, Long departamentoId) {
+
+    public static EmpleadoFila desde(Empleado empleado) {
+        Long departamentoId = empleado.getDepartamento() != null ? empleado.getDepartamento().getId() : null;
+        return new EmpleadoFila(empleado.getId(), empleado.getNombre(), empleado.getApellido(), empleado.getEmail(),
+                empleado.getFechaContratacion(), empleado.getSalario(), departamentoId);
+    }
+}
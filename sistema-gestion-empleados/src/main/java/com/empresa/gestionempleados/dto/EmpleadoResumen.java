@@ -0,0 +1,12 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+
+public record EmpleadoResumen(Long id, String nombre, String apellido, String email, String departamento) {
+
+    public static EmpleadoResumen desde(Empleado empleado) {
+        String departamento = empleado.getDepartamento() != null ? empleado.getDepartamento().getNombre() : null;
+        return new EmpleadoResumen(empleado.getId(), empleado.getNombre(), empleado.getApellido(),
+                empleado.getEmail(), departamento);
+    }
+}
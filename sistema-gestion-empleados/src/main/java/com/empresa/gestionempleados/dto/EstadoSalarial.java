@@ -0,0 +1,9 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Salario y departamento vigentes de un empleado, leídos antes de modificarlo.
+ */
+public record EstadoSalarial(Long empleadoId, BigDecimal salario, Long departamentoId) {
+}
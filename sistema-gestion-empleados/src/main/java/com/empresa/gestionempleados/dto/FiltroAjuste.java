@@ -0,0 +1,8 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record FiltroAjuste(Long departamentoId, BigDecimal salarioMin, BigDecimal salarioMax,
+                           LocalDate contratadoDesde, LocalDate contratadoHasta) {
+}
@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record FiltroEmpleados(Long departamentoId, String departamento,
+                              BigDecimal salarioMin, BigDecimal salarioMax,
+                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate contratadoDesde,
+                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate contratadoHasta,
+                              Long proyectoId) {
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+
+public record GrupoAnalitica(BigDecimal clave, long cantidad, BigDecimal totalSalarios, BigDecimal salarioPromedio,
+                             BigDecimal salarioMinimo, BigDecimal salarioMaximo) {
+}
@@ -0,0 +1,5 @@
+package com.empresa.gestionempleados.dto;
+
+// proyectoId es null para los empleados sin proyectos
+public record Membresia(Long empleadoId, Long proyectoId) {
+}
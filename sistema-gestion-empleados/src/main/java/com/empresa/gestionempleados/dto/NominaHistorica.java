@@ -0,0 +1,16 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record NominaHistorica(Long departamentoId, LocalDate fecha, BigDecimal totalSalarios,
+                              int cantidadEmpleados, List<SalarioVigente> empleados) {
+
+    public static NominaHistorica desde(Long departamentoId, LocalDate fecha, List<SalarioVigente> empleados) {
+        BigDecimal total = empleados.stream()
+                .map(SalarioVigente::salario)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new NominaHistorica(departamentoId, fecha, total, empleados.size(), empleados);
+    }
+}
@@ -0,0 +1,12 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Percentiles de salario de un departamento, o de toda la empresa; las claves son
+ * {@code p50}, {@code p90}... en el orden pedido. {@code departamentoId} nulo en la lista
+ * de departamentos agrupa a los empleados sin departamento.
+ */
+public record PercentilesSalariales(Long departamentoId, long empleados, Map<String, BigDecimal> percentiles) {
+}
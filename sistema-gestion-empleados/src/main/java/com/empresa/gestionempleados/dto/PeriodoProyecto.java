@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.LocalDate;
+
+public record PeriodoProyecto(Long id, LocalDate fechaInicio, LocalDate fechaFin) {
+}
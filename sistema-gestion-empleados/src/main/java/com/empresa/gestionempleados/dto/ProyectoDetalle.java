@@ -0,0 +1,20 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Proyecto;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+public record ProyectoDetalle(Long id, String nombre, String descripcion, LocalDate fechaInicio,
+                              LocalDate fechaFin, List<EmpleadoResumen> empleados) {
+
+    public static ProyectoDetalle desde(Proyecto proyecto) {
+        List<EmpleadoResumen> empleados = proyecto.getEmpleados().stream()
+                .map(EmpleadoResumen::desde)
+                .sorted(Comparator.comparing(EmpleadoResumen::id))
+                .toList();
+        return new ProyectoDetalle(proyecto.getId(), proyecto.getNombre(), proyecto.getDescripcion(),
+                proyecto.getFechaInicio(), proyecto.getFechaFin(), empleados);
+    }
+}
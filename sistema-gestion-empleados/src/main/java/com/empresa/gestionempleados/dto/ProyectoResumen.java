@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.Proyecto;
+
+import java.time.LocalDate;
+
+public record ProyectoResumen(Long id, String nombre, LocalDate fechaInicio, LocalDate fechaFin) {
+
+    public static ProyectoResumen desde(Proyecto proyecto) {
+        return new ProyectoResumen(proyecto.getId(), proyecto.getNombre(),
+                proyecto.getFechaInicio(), proyecto.getFechaFin());
+    }
+}
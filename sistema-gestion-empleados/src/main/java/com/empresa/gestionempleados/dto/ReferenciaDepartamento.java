@@ -0,0 +1,4 @@
+package com.empresa.gestionempleados.dto;
+
+public record ReferenciaDepartamento(Long id, String nombre) {
+}
@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.dto;
+
+import java.util.List;
+
+public record ResultadoImportacion(long filasLeidas, long importadas, List<ErrorImportacion> errores) {
+}
@@ -0,0 +1,8 @@
+package com.empresa.gestionempleados.dto;
+
+public record ResultadoMembresia(long cantidad, long[] empleadoIds) {
+
+    public static ResultadoMembresia de(long[] empleadoIds) {
+        return new ResultadoMembresia(empleadoIds.length, empleadoIds);
+    }
+}
@@ -0,0 +1,4 @@
+package com.empresa.gestionempleados.dto;
+
+public record ResultadoTransferencia(Long departamentoDestinoId, int empleadosTransferidos) {
+}
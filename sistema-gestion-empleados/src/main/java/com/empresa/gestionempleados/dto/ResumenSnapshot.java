@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.Instant;
+
+public record ResumenSnapshot(int filas, int tamanioDiccionario, Instant generadoEn) {
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SalarioVigente(Long empleadoId, BigDecimal salario, Long departamentoId, LocalDateTime vigenteDesde) {
+}
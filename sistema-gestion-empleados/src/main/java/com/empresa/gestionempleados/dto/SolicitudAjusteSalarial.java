@@ -0,0 +1,23 @@
+package com.empresa.gestionempleados.dto;
+
+import com.empresa.gestionempleados.entidades.TipoAjuste;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * {@code valor} es un porcentaje (mayor que -100) o un monto con la precisión de un salario.
+ * Un monto negativo no se aplica a quien quedaría con salario negativo.
+ */
+public record SolicitudAjusteSalarial(@NotNull TipoAjuste tipo,
+                                      @NotNull @Digits(integer = 8, fraction = 2) BigDecimal valor,
+                                      Long departamentoId,
+                                      BigDecimal salarioMin,
+                                      BigDecimal salarioMax,
+                                      LocalDate contratadoDesde,
+                                      LocalDate contratadoHasta,
+                                      @Positive Integer tamanioLote) {
+}
@@ -0,0 +1,10 @@
+package com.empresa.gestionempleados.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/** Qué empleados pasan al departamento destino: todos los de un departamento origen o una lista de ids. */
+public record SolicitudTransferencia(Long departamentoOrigenId,
+                                     @Size(max = 10000) List<Long> empleadoIds) {
+}
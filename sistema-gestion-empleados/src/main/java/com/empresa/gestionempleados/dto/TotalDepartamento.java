@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.dto;
+
+import java.math.BigDecimal;
+
+public record TotalDepartamento(Long departamentoId, BigDecimal total, Long cantidad) {
+}
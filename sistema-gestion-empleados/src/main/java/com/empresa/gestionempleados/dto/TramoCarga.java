@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.dto;
+
+import java.time.LocalDate;
+
+// Días consecutivos, ambos inclusive, con la misma cantidad de proyectos
+public record TramoCarga(LocalDate desde, LocalDate hasta, int proyectos) {
+}
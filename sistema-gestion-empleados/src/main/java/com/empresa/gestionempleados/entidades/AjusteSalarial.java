@@ -0,0 +1,81 @@
+package com.empresa.gestionempleados.entidades;
+
+import com.empresa.gestionempleados.dto.FiltroAjuste;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de ajuste salarial masivo. {@code ultimoIdProcesado} es el punto de control:
+ * se actualiza en la misma transacción que cada lote, de modo que tras una caída el
+ * trabajo se retoma desde el primer lote no confirmado.
+ */
+@Entity
+@Table(name = "ajustes_salariales")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AjusteSalarial {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoAjuste tipo;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "departamento_id")
+    private Long departamentoId;
+
+    @Column(name = "salario_min", precision = 10, scale = 2)
+    private BigDecimal salarioMin;
+
+    @Column(name = "salario_max", precision = 10, scale = 2)
+    private BigDecimal salarioMax;
+
+    @Column(name = "contratado_desde")
+    private LocalDate contratadoDesde;
+
+    @Column(name = "contratado_hasta")
+    private LocalDate contratadoHasta;
+
+    @Column(name = "tamanio_lote", nullable = false)
+    private Integer tamanioLote;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoAjuste estado;
+
+    @Column(name = "ultimo_id_procesado", nullable = false)
+    private Long ultimoIdProcesado;
+
+    @Column(name = "total_estimado", nullable = false)
+    private Long totalEstimado;
+
+    @Column(name = "empleados_ajustados", nullable = false)
+    private Long empleadosAjustados;
+
+    @Column(name = "lotes_procesados", nullable = false)
+    private Integer lotesProcesados;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_finalizacion")
+    private LocalDateTime fechaFinalizacion;
+
+    public FiltroAjuste filtro() {
+        return new FiltroAjuste(departamentoId, salarioMin, salarioMax, contratadoDesde, contratadoHasta);
+    }
+}
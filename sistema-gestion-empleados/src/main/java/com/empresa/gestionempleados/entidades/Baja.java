@@ -0,0 +1,35 @@
+package com.empresa.gestionempleados.entidades;
+
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de eliminación: permite que la sincronización incremental informe las bajas
+ * aunque la fila original ya no exista.
+ */
+@Entity
+@Table(name = "bajas",
+        indexes = @Index(name = "idx_bajas_tipo_fecha", columnList = "tipo, fecha_eliminacion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Baja {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoEntidad tipo;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Column(name = "fecha_eliminacion", nullable = false)
+    private LocalDateTime fechaEliminacion;
+}
@@ -3,13 +3,22 @@ package com.empresa.gestionempleados.entidades;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "departamentos")
+@Table(name = "departamentos",
+        indexes = @Index(name = "idx_departamentos_fecha_actualizacion", columnList = "fecha_actualizacion, id"))
+@NamedEntityGraph(
+        name = "Departamento.empleados",
+        attributeNodes = @NamedAttributeNode("empleados")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +33,17 @@ public class Departamento {
     @Column(length = 500)
     private String descripcion;
 
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "departamento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Empleado> empleados = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void marcarActualizacion() {
+        fechaActualizacion = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
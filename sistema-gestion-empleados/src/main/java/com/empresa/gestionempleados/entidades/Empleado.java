@@ -1,17 +1,32 @@
 package com.empresa.gestionempleados.entidades;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "empleados")
+@Table(name = "empleados",
+        indexes = {
+                @Index(name = "idx_empleados_fecha_actualizacion", columnList = "fecha_actualizacion, id"),
+                @Index(name = "idx_empleados_departamento_salario", columnList = "departamento_id, salario"),
+                @Index(name = "idx_empleados_salario", columnList = "salario"),
+                @Index(name = "idx_empleados_fecha_contratacion", columnList = "fecha_contratacion")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,25 +35,41 @@ public class Empleado {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NotBlank
+    @Size(max = 100)
     @Column(nullable = false, length = 100)
     private String nombre;
 
+    @NotBlank
+    @Size(max = 100)
     @Column(nullable = false, length = 100)
     private String apellido;
 
+    @NotBlank
+    @Email
     @Column(unique = true, nullable = false)
     private String email;
 
+    @NotNull
     @Column(name = "fecha_contratacion", nullable = false)
     private LocalDate fechaContratacion;
 
+    @NotNull
+    @PositiveOrZero
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal salario;
 
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "departamento_id")
     private Departamento departamento;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany
     @JoinTable(
             name = "empleado_proyecto",
@@ -46,4 +77,10 @@ public class Empleado {
             inverseJoinColumns = @JoinColumn(name = "proyecto_id")
     )
     private Set<Proyecto> proyectos = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    void marcarActualizacion() {
+        fechaActualizacion = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,8 @@
+package com.empresa.gestionempleados.entidades;
+
+public enum EstadoAjuste {
+    PENDIENTE,
+    EN_CURSO,
+    COMPLETADO,
+    FALLIDO
+}
@@ -0,0 +1,40 @@
+package com.empresa.gestionempleados.entidades;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Registro inmutable del salario y departamento de un empleado a partir de
+ * {@code vigenteDesde}. Una fila sin salario marca la baja del empleado.
+ */
+@Entity
+@Table(name = "historial_salarios",
+        indexes = {
+                @Index(name = "idx_historial_empleado_vigencia", columnList = "empleado_id, vigente_desde"),
+                @Index(name = "idx_historial_departamento_vigencia", columnList = "departamento_id, vigente_desde")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistorialSalario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "empleado_id", nullable = false)
+    private Long empleadoId;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal salario;
+
+    @Column(name = "departamento_id")
+    private Long departamentoId;
+
+    @Column(name = "vigente_desde", nullable = false)
+    private LocalDateTime vigenteDesde;
+}
@@ -0,0 +1,29 @@
+package com.empresa.gestionempleados.entidades;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Total de salarios y cantidad de empleados por departamento, mantenido por las
+ * escrituras de empleados para no recalcularlo con agregaciones sobre la tabla.
+ */
+@Entity
+@Table(name = "nomina_departamentos")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NominaDepartamento {
+    @Id
+    @Column(name = "departamento_id")
+    private Long departamentoId;
+
+    @Column(name = "total_salarios", nullable = false, precision = 16, scale = 2)
+    private BigDecimal totalSalarios;
+
+    @Column(name = "cantidad_empleados", nullable = false)
+    private Long cantidadEmpleados;
+}
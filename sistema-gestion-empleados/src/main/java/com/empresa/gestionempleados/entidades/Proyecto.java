@@ -3,14 +3,19 @@ package com.empresa.gestionempleados.entidades;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "proyectos")
+@Table(name = "proyectos",
+        indexes = @Index(name = "idx_proyectos_fecha_actualizacion", columnList = "fecha_actualizacion, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +38,17 @@ public class Proyecto {
     @Temporal(TemporalType.DATE)
     private LocalDate fechaFin;
 
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(mappedBy = "proyectos")
     private Set<Empleado> empleados = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    void marcarActualizacion() {
+        fechaActualizacion = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.entidades;
+
+public enum TipoAjuste {
+    PORCENTAJE,
+    MONTO_FIJO
+}
@@ -0,0 +1,8 @@
+package com.empresa.gestionempleados.eventos;
+
+/**
+ * Evento publicado por los servicios en cada alta, modificación o baja.
+ * Los oyentes lo reciben recién cuando la transacción confirma.
+ */
+public record CambioEntidad(TipoEntidad tipo, Operacion operacion, Long id) {
+}
@@ -0,0 +1,6 @@
+package com.empresa.gestionempleados.eventos;
+
+import java.time.Instant;
+
+public record EventoCambio(long secuencia, TipoEntidad tipo, Operacion operacion, Long id, Instant fecha) {
+}
@@ -0,0 +1,204 @@
+package com.empresa.gestionempleados.eventos;
+
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difunde los cambios confirmados a los suscriptores SSE.
+ * Guarda los últimos eventos en un buffer circular para que un cliente que se
+ * reconecta pueda retomar desde su última secuencia sin recargar todo.
+ * Cada suscriptor solo recibe los cambios de su inquilino.
+ */
+@Component
+public class FeedCambios {
+
+    static final String EVENTO_RESINCRONIZAR = "resincronizar";
+
+    private final Entrada[] historial;
+    private final int capacidadSuscriptor;
+    private final long timeoutMs;
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envios = Executors.newVirtualThreadPerTaskExecutor();
+    private long ultimaSecuencia;
+
+    public FeedCambios(@Value("${app.cambios.historial:1024}") int capacidadHistorial,
+                       @Value("${app.cambios.buffer-suscriptor:256}") int capacidadSuscriptor,
+                       @Value("${app.cambios.timeout-ms:1800000}") long timeoutMs) {
+        this.historial = new Entrada[capacidadHistorial];
+        this.capacidadSuscriptor = capacidadSuscriptor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmar(CambioEntidad cambio) {
+        synchronized (this) {
+            EventoCambio evento = new EventoCambio(++ultimaSecuencia, cambio.tipo(), cambio.operacion(),
+                    cambio.id(), Instant.now());
+            String inquilino = ContextoInquilino.actual();
+            historial[(int) (evento.secuencia() % historial.length)] = new Entrada(evento, inquilino);
+            for (Suscriptor suscriptor : suscriptores) {
+                if (Objects.equals(suscriptor.inquilino, inquilino)) {
+                    encolar(suscriptor, evento);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra un suscriptor. Si {@code desdeSecuencia} no es nulo se le reenvían
+     * primero los eventos posteriores a esa secuencia que sigan en el historial; si ya
+     * no están, o si la secuencia es posterior a la última emitida (el contador volvió a
+     * empezar tras un reinicio), recibe un evento "resincronizar" para que haga una carga
+     * completa. El reenvío va en una lista propia, no en el buffer de eventos en vivo:
+     * un cliente con más atraso que ese buffer no se desaloja en bucle al reconectarse.
+     */
+    public SseEmitter suscribir(Long desdeSecuencia) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Suscriptor suscriptor = new Suscriptor(emitter, new ArrayBlockingQueue<>(capacidadSuscriptor),
+                ContextoInquilino.actual());
+        emitter.onCompletion(() -> suscriptores.remove(suscriptor));
+        emitter.onTimeout(() -> suscriptores.remove(suscriptor));
+        emitter.onError(error -> suscriptores.remove(suscriptor));
+
+        synchronized (this) {
+            if (desdeSecuencia != null) {
+                List<EventoCambio> pendientes = eventosPosteriores(desdeSecuencia, suscriptor.inquilino);
+                if (pendientes == null) {
+                    suscriptor.resincronizar.set(true);
+                } else {
+                    suscriptor.reenvio = pendientes;
+                }
+            }
+            suscriptores.add(suscriptor);
+        }
+        programarEnvio(suscriptor);
+        return emitter;
+    }
+
+    public synchronized long ultimaSecuencia() {
+        return ultimaSecuencia;
+    }
+
+    public int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+
+    @PreDestroy
+    void cerrar() {
+        suscriptores.forEach(suscriptor -> suscriptor.emitter.complete());
+        suscriptores.clear();
+        envios.shutdownNow();
+    }
+
+    // Nulo si hay un hueco que el historial no puede cubrir; el llamador tiene el monitor
+    List<EventoCambio> eventosPosteriores(long desdeSecuencia, String inquilino) {
+        long primeraDisponible = Math.max(1, ultimaSecuencia - historial.length + 1);
+        // Una secuencia que aún no se emitió viene de antes de un reinicio: nada de lo que
+        // hay en el historial garantiza que el cliente esté al día
+        if (desdeSecuencia + 1 < primeraDisponible || desdeSecuencia > ultimaSecuencia) {
+            return null;
+        }
+        List<EventoCambio> pendientes = new ArrayList<>();
+        for (long secuencia = desdeSecuencia + 1; secuencia <= ultimaSecuencia; secuencia++) {
+            Entrada entrada = historial[(int) (secuencia % historial.length)];
+            if (Objects.equals(entrada.inquilino(), inquilino)) {
+                pendientes.add(entrada.evento());
+            }
+        }
+        return pendientes;
+    }
+
+    private void encolar(Suscriptor suscriptor, EventoCambio evento) {
+        if (!suscriptor.cola.offer(evento)) {
+            desalojar(suscriptor);
+            return;
+        }
+        programarEnvio(suscriptor);
+    }
+
+    // Un consumidor que no vacía su buffer a tiempo se desconecta; al reconectarse
+    // retoma desde su última secuencia.
+    private void desalojar(Suscriptor suscriptor) {
+        if (suscriptor.desalojado.compareAndSet(false, true)) {
+            suscriptores.remove(suscriptor);
+            suscriptor.cola.clear();
+            suscriptor.emitter.complete();
+        }
+    }
+
+    private void programarEnvio(Suscriptor suscriptor) {
+        if (suscriptor.enviando.compareAndSet(false, true)) {
+            envios.execute(() -> enviar(suscriptor));
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor) {
+        do {
+            try {
+                if (suscriptor.resincronizar.compareAndSet(true, false)) {
+                    suscriptor.emitter.send(SseEmitter.event().name(EVENTO_RESINCRONIZAR).data(ultimaSecuencia()));
+                }
+                // El reenvío sale antes que lo encolado en vivo, que ya es posterior
+                List<EventoCambio> reenvio = suscriptor.reenvio;
+                suscriptor.reenvio = List.of();
+                for (EventoCambio evento : reenvio) {
+                    if (suscriptor.desalojado.get()) {
+                        break;
+                    }
+                    enviarEvento(suscriptor, evento);
+                }
+                EventoCambio evento;
+                while (!suscriptor.desalojado.get() && (evento = suscriptor.cola.poll()) != null) {
+                    enviarEvento(suscriptor, evento);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                desalojar(suscriptor);
+            } finally {
+                suscriptor.enviando.set(false);
+            }
+        } while (!suscriptor.cola.isEmpty() && suscriptor.enviando.compareAndSet(false, true));
+    }
+
+    private static void enviarEvento(Suscriptor suscriptor, EventoCambio evento) throws IOException {
+        suscriptor.emitter.send(SseEmitter.event()
+                .id(String.valueOf(evento.secuencia()))
+                .name(evento.tipo().name())
+                .data(evento));
+    }
+
+    private record Entrada(EventoCambio evento, String inquilino) {
+    }
+
+    private static final class Suscriptor {
+        private final SseEmitter emitter;
+        private final BlockingQueue<EventoCambio> cola;
+        private final String inquilino;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean desalojado = new AtomicBoolean();
+        private final AtomicBoolean resincronizar = new AtomicBoolean();
+        private volatile List<EventoCambio> reenvio = List.of();
+
+        private Suscriptor(SseEmitter emitter, BlockingQueue<EventoCambio> cola, String inquilino) {
+            this.emitter = emitter;
+            this.cola = cola;
+            this.inquilino = inquilino;
+        }
+    }
+}
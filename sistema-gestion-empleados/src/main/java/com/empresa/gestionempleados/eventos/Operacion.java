@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.eventos;
+
+public enum Operacion {
+    CREACION,
+    ACTUALIZACION,
+    ELIMINACION
+}
@@ -0,0 +1,32 @@
+package com.empresa.gestionempleados.eventos;
+
+import com.empresa.gestionempleados.entidades.Baja;
+import com.empresa.gestionempleados.repositorios.BajaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Guarda una marca de eliminación dentro de la misma transacción que borra la entidad.
+ */
+@Component
+public class RegistroBajas {
+
+    private final BajaRepository bajaRepository;
+
+    public RegistroBajas(BajaRepository bajaRepository) {
+        this.bajaRepository = bajaRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void alEliminar(CambioEntidad cambio) {
+        if (cambio.operacion() != Operacion.ELIMINACION) {
+            return;
+        }
+        bajaRepository.save(new Baja(null, cambio.tipo(), cambio.id(),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class AjusteSalarialInvalidoException extends RuntimeException {
+    public AjusteSalarialInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class AjusteSalarialNoEncontradoException extends RuntimeException {
+    public AjusteSalarialNoEncontradoException(String mensaje) {
+        super(mensaje);
+    }
+}
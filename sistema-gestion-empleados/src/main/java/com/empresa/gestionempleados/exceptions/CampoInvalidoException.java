@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class CampoInvalidoException extends RuntimeException {
+    public CampoInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+}
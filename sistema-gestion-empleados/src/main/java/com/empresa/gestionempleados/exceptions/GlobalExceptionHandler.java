@@ -1,5 +1,7 @@
 package com.empresa.gestionempleados.exceptions;
 
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -22,4 +24,52 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> manejarProyectoNoEncontrado(ProyectoNoEncontradoException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    @ExceptionHandler(AjusteSalarialNoEncontradoException.class)
+    public ResponseEntity<String> manejarAjusteSalarialNoEncontrado(AjusteSalarialNoEncontradoException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(EmailDuplicadoException.class)
+    public ResponseEntity<String> manejarEmailDuplicado(EmailDuplicadoException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(CampoInvalidoException.class)
+    public ResponseEntity<String> manejarCampoInvalido(CampoInvalidoException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RangoFechasInvalidoException.class)
+    public ResponseEntity<String> manejarRangoFechasInvalido(RangoFechasInvalidoException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(AjusteSalarialInvalidoException.class)
+    public ResponseEntity<String> manejarAjusteSalarialInvalido(AjusteSalarialInvalidoException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TransferenciaInvalidaException.class)
+    public ResponseEntity<String> manejarTransferenciaInvalida(TransferenciaInvalidaException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TransferenciaConcurrenteException.class)
+    public ResponseEntity<String> manejarTransferenciaConcurrente(TransferenciaConcurrenteException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    // Parámetros de consulta fuera de rango en controladores con @Validated
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> manejarParametroInvalido(ConstraintViolationException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(LecturaSaturadaException.class)
+    public ResponseEntity<String> manejarLecturaSaturada(LecturaSaturadaException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 }
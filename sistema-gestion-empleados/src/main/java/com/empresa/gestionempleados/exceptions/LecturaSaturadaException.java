@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class LecturaSaturadaException extends RuntimeException {
+    public LecturaSaturadaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class RangoFechasInvalidoException extends RuntimeException {
+    public RangoFechasInvalidoException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class TransferenciaConcurrenteException extends RuntimeException {
+    public TransferenciaConcurrenteException(String mensaje) {
+        super(mensaje);
+    }
+}
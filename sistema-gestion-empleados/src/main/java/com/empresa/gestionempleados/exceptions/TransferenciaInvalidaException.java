@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.exceptions;
+
+public class TransferenciaInvalidaException extends RuntimeException {
+    public TransferenciaInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
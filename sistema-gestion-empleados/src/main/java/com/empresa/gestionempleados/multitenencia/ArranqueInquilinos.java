@@ -0,0 +1,43 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import com.empresa.gestionempleados.servicios.AjusteSalarialService;
+import com.empresa.gestionempleados.servicios.HistorialSalarioService;
+import com.empresa.gestionempleados.servicios.NominaService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Las tareas de arranque de nómina, historial y ajustes corren sin inquilino y solo
+ * cubren el esquema por defecto; este las repite en el de cada inquilino.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.multitenencia", name = "habilitada", havingValue = "true")
+class ArranqueInquilinos {
+
+    private final NominaService nominaService;
+    private final HistorialSalarioService historialSalarioService;
+    private final AjusteSalarialService ajusteSalarialService;
+    private final RegistroInquilinos registro;
+
+    ArranqueInquilinos(NominaService nominaService, HistorialSalarioService historialSalarioService,
+                       AjusteSalarialService ajusteSalarialService, RegistroInquilinos registro) {
+        this.nominaService = nominaService;
+        this.historialSalarioService = historialSalarioService;
+        this.ajusteSalarialService = ajusteSalarialService;
+        this.registro = registro;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void preparar() {
+        for (Inquilino inquilino : registro.adicionales()) {
+            ContextoInquilino.ejecutarComo(inquilino.id(), () -> {
+                nominaService.recalcular();
+                historialSalarioService.completarHistorialInicial();
+                ajusteSalarialService.reanudarPendientes();
+                return null;
+            });
+        }
+    }
+}
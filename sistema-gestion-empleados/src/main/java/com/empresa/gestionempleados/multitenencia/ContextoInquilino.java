@@ -0,0 +1,48 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import java.util.function.Supplier;
+
+/**
+ * Inquilino (empresa) de la petición en curso. Sin multitenencia, o fuera de una
+ * petición, no hay inquilino y todo va al esquema por defecto. Las cachés en memoria
+ * usan este valor como parte de su clave y las tareas en segundo plano lo heredan con
+ * {@link #propagar(Runnable)}.
+ */
+public final class ContextoInquilino {
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private ContextoInquilino() {
+    }
+
+    public static String actual() {
+        return ACTUAL.get();
+    }
+
+    public static <T> T ejecutarComo(String inquilino, Supplier<T> tarea) {
+        String anterior = ACTUAL.get();
+        establecer(inquilino);
+        try {
+            return tarea.get();
+        } finally {
+            establecer(anterior);
+        }
+    }
+
+    /** Envuelve la tarea para que se ejecute con el inquilino del hilo que la crea. */
+    public static Runnable propagar(Runnable tarea) {
+        String inquilino = ACTUAL.get();
+        return () -> ejecutarComo(inquilino, () -> {
+            tarea.run();
+            return null;
+        });
+    }
+
+    static void establecer(String inquilino) {
+        if (inquilino == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(inquilino);
+        }
+    }
+}
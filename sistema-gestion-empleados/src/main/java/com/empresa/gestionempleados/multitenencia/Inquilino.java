@@ -0,0 +1,7 @@
+package com.empresa.gestionempleados.multitenencia;
+
+/**
+ * @param esquema nombre del esquema tal como lo guarda la base (mayúsculas en H2)
+ */
+public record Inquilino(String id, String esquema) {
+}
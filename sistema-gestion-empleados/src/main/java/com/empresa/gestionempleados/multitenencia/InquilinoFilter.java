@@ -0,0 +1,56 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Toma el inquilino de la cabecera de la petición. Sin cabecera se usa el inquilino por
+ * defecto; un inquilino desconocido se rechaza antes de tocar la base.
+ */
+class InquilinoFilter extends OncePerRequestFilter {
+
+    private final RegistroInquilinos registro;
+    private final String cabecera;
+
+    InquilinoFilter(RegistroInquilinos registro, String cabecera) {
+        this.registro = registro;
+        this.cabecera = cabecera;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String valor = request.getHeader(cabecera);
+        Optional<Inquilino> inquilino = valor == null || valor.isBlank()
+                ? Optional.of(registro.porDefecto())
+                : registro.buscar(valor.trim());
+        if (inquilino.isEmpty()) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Inquilino desconocido: " + valor);
+            return;
+        }
+        // El inquilino por defecto se representa sin contexto, igual que en las tareas de fondo
+        String anterior = ContextoInquilino.actual();
+        ContextoInquilino.establecer(inquilino.get() == registro.porDefecto() ? null : inquilino.get().id());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContextoInquilino.establecer(anterior);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Un esquema por inquilino sobre un único pool de conexiones. Se activa con
+ * {@code app.multitenencia.habilitada=true}; los inquilinos se listan en
+ * {@code app.multitenencia.inquilinos}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.multitenencia", name = "habilitada", havingValue = "true")
+public class MultitenenciaConfig {
+
+    @Bean
+    CapturaMetadatos capturaMetadatos() {
+        return new CapturaMetadatos();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer multitenencia(DataSource dataSource, RegistroInquilinos registro,
+                                                       CapturaMetadatos captura) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER,
+                    new ProveedorConexionesInquilino(dataSource, registro));
+            propiedades.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ResolutorInquilino(registro));
+            propiedades.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(captura));
+        };
+    }
+
+    @Bean
+    @Lazy(false)
+    ProvisionadorEsquemas provisionadorEsquemas(EntityManagerFactory entityManagerFactory,
+                                                CapturaMetadatos captura, RegistroInquilinos registro) {
+        return new ProvisionadorEsquemas(entityManagerFactory, captura, registro);
+    }
+
+    // Antes que el resto de los filtros, que ya pueden tocar la base o cachés por inquilino
+    @Bean
+    public FilterRegistrationBean<InquilinoFilter> inquilinoFilter(
+            RegistroInquilinos registro,
+            @Value("${app.multitenencia.cabecera:X-Inquilino}") String cabecera) {
+        FilterRegistrationBean<InquilinoFilter> filtro = new FilterRegistrationBean<>(new InquilinoFilter(registro, cabecera));
+        filtro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return filtro;
+    }
+}
@@ -0,0 +1,68 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Todos los inquilinos comparten el pool del DataSource principal: al tomar una conexión
+ * se cambia al esquema del inquilino y al devolverla se restaura el esquema por defecto.
+ */
+class ProveedorConexionesInquilino implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource dataSource;
+    private final RegistroInquilinos registro;
+
+    ProveedorConexionesInquilino(DataSource dataSource, RegistroInquilinos registro) {
+        this.dataSource = dataSource;
+        this.registro = registro;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String tenantIdentifier) throws SQLException {
+        Connection conexion = dataSource.getConnection();
+        try {
+            conexion.setSchema(registro.esquema(tenantIdentifier));
+        } catch (SQLException | RuntimeException e) {
+            conexion.close();
+            throw e;
+        }
+        return conexion;
+    }
+
+    @Override
+    public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+        try {
+            connection.setSchema(registro.porDefecto().esquema());
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.cast(this);
+    }
+}
@@ -0,0 +1,38 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.tool.schema.Action;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Crea o actualiza las tablas de cada inquilino en su esquema a partir del mismo modelo
+ * que usa el esquema por defecto.
+ */
+class ProvisionadorEsquemas {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionadorEsquemas.class);
+
+    ProvisionadorEsquemas(EntityManagerFactory entityManagerFactory, CapturaMetadatos captura,
+                          RegistroInquilinos registro) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (Inquilino inquilino : registro.adicionales()) {
+            Map<String, Object> configuracion = new HashMap<>(sessionFactory.getProperties());
+            configuracion.remove(AvailableSettings.HBM2DDL_AUTO);
+            configuracion.put(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION, Action.UPDATE);
+            configuracion.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_ACTION, Action.NONE);
+            configuracion.put(AvailableSettings.JAKARTA_HBM2DDL_CREATE_SCHEMAS, true);
+            configuracion.put(AvailableSettings.DEFAULT_SCHEMA, inquilino.esquema());
+            SchemaManagementToolCoordinator.process(captura.metadata(), sessionFactory.getServiceRegistry(),
+                    configuracion, accion -> {
+                    });
+            log.info("Esquema {} listo para el inquilino {}", inquilino.esquema(), inquilino.id());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import com.empresa.gestionempleados.servicios.AnaliticaService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * El refresco programado del servicio analítico corre sin inquilino y solo cubre el
+ * esquema por defecto; este completa el resto.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(prefix = "app.multitenencia", name = "habilitada", havingValue = "true")
+class RefrescoAnaliticaInquilinos {
+
+    private final AnaliticaService analiticaService;
+    private final RegistroInquilinos registro;
+
+    RefrescoAnaliticaInquilinos(AnaliticaService analiticaService, RegistroInquilinos registro) {
+        this.analiticaService = analiticaService;
+        this.registro = registro;
+    }
+
+    @Scheduled(initialDelayString = "${app.analitica.retraso-inicial-ms:0}",
+            fixedDelayString = "${app.analitica.refresco-ms:300000}")
+    void refrescar() {
+        for (Inquilino inquilino : registro.adicionales()) {
+            ContextoInquilino.ejecutarComo(inquilino.id(), analiticaService::refrescar);
+        }
+    }
+}
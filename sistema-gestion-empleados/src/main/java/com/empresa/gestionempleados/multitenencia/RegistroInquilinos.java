@@ -0,0 +1,80 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Inquilinos configurados y el esquema de cada uno, resueltos una sola vez al arrancar.
+ * El inquilino por defecto usa el esquema propio de la conexión.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.multitenencia", name = "habilitada", havingValue = "true")
+public class RegistroInquilinos {
+
+    private static final Pattern ID_VALIDO = Pattern.compile("[a-z][a-z0-9_]{0,62}");
+
+    private final Map<String, Inquilino> inquilinos = new LinkedHashMap<>();
+    private final Inquilino porDefecto;
+
+    public RegistroInquilinos(DataSource dataSource,
+                              @Value("${app.multitenencia.inquilinos:}") List<String> ids,
+                              @Value("${app.multitenencia.inquilino-por-defecto:principal}") String idPorDefecto)
+            throws SQLException {
+        try (Connection conexion = dataSource.getConnection()) {
+            DatabaseMetaData metadatos = conexion.getMetaData();
+            this.porDefecto = new Inquilino(idPorDefecto, conexion.getSchema());
+            inquilinos.put(idPorDefecto, porDefecto);
+            for (String id : ids) {
+                String normalizado = id.trim().toLowerCase(Locale.ROOT);
+                if (normalizado.isEmpty() || normalizado.equals(idPorDefecto)) {
+                    continue;
+                }
+                if (!ID_VALIDO.matcher(normalizado).matches()) {
+                    throw new IllegalStateException("Identificador de inquilino inválido: " + id);
+                }
+                String esquema = metadatos.storesUpperCaseIdentifiers()
+                        ? normalizado.toUpperCase(Locale.ROOT) : normalizado;
+                inquilinos.put(normalizado, new Inquilino(normalizado, esquema));
+            }
+        }
+    }
+
+    public Optional<Inquilino> buscar(String id) {
+        return Optional.ofNullable(inquilinos.get(id.toLowerCase(Locale.ROOT)));
+    }
+
+    /** Inquilino de la petición en curso, o el por defecto si no hay ninguno. */
+    public Inquilino actual() {
+        String id = ContextoInquilino.actual();
+        return id == null ? porDefecto : inquilinos.getOrDefault(id, porDefecto);
+    }
+
+    public Inquilino porDefecto() {
+        return porDefecto;
+    }
+
+    /** Inquilinos con esquema propio, sin el por defecto. */
+    public List<Inquilino> adicionales() {
+        return inquilinos.values().stream().filter(i -> i != porDefecto).toList();
+    }
+
+    String esquema(String id) {
+        Inquilino inquilino = inquilinos.get(id);
+        if (inquilino == null) {
+            throw new IllegalStateException("Inquilino desconocido: " + id);
+        }
+        return inquilino.esquema();
+    }
+}
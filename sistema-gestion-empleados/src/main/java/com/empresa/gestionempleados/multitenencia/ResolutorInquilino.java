@@ -0,0 +1,22 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+class ResolutorInquilino implements CurrentTenantIdentifierResolver<String> {
+
+    private final RegistroInquilinos registro;
+
+    ResolutorInquilino(RegistroInquilinos registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return registro.actual().id();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
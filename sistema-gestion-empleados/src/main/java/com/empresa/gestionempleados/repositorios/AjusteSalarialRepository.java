@@ -0,0 +1,23 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.entidades.AjusteSalarial;
+import com.empresa.gestionempleados.entidades.EstadoAjuste;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AjusteSalarialRepository extends JpaRepository<AjusteSalarial, Long> {
+    List<AjusteSalarial> findByEstadoInOrderById(Collection<EstadoAjuste> estados);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AjusteSalarial a WHERE a.id = :id")
+    Optional<AjusteSalarial> findBloqueadoById(@Param("id") Long id);
+}
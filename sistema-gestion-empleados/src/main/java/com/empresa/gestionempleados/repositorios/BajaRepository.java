@@ -0,0 +1,22 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.entidades.Baja;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BajaRepository extends JpaRepository<Baja, Long> {
+
+    // Ventana [desde, hasta): la siguiente página empieza en este hasta, así que cada baja sale una vez
+    @Query("SELECT b.entidadId FROM Baja b WHERE b.tipo = :tipo " +
+            "AND b.fechaEliminacion >= :desde AND b.fechaEliminacion < :hasta ORDER BY b.fechaEliminacion")
+    List<Long> findEntidadIdsEliminadas(@Param("tipo") TipoEntidad tipo,
+                                        @Param("desde") LocalDateTime desde,
+                                        @Param("hasta") LocalDateTime hasta);
+}
@@ -1,10 +1,39 @@
 package com.empresa.gestionempleados.repositorios;
 
+import com.empresa.gestionempleados.dto.ReferenciaDepartamento;
 import com.empresa.gestionempleados.entidades.Departamento;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface DepartamentoRepository extends JpaRepository<Departamento, Long> {
 
-}
\ No newline at end of file
+    @EntityGraph("Departamento.empleados")
+    Optional<Departamento> findConEmpleadosById(Long id);
+
+    // Mientras dure la transacción nadie da de alta ni mueve empleados hacia este departamento
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Departamento> findBloqueadoById(Long id);
+
+    @Query("SELECT d FROM Departamento d WHERE (d.fechaActualizacion > :desde " +
+            "OR (d.fechaActualizacion = :desde AND d.id > :desdeId)) AND d.fechaActualizacion < :corte " +
+            "ORDER BY d.fechaActualizacion, d.id")
+    List<Departamento> findCambiosDesde(@Param("desde") LocalDateTime desde, @Param("desdeId") Long desdeId,
+                                 @Param("corte") LocalDateTime corte, Limit limite);
+
+    @Query("SELECT d.id FROM Departamento d WHERE d.nombre = :nombre")
+    List<Long> findIdsByNombre(@Param("nombre") String nombre);
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.ReferenciaDepartamento(d.id, d.nombre) FROM Departamento d")
+    List<ReferenciaDepartamento> findReferencias();
+}
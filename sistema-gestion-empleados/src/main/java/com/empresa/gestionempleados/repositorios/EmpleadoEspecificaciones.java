@@ -0,0 +1,85 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.dto.FiltroEmpleados;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Especificaciones combinables para filtrar empleados.
+ * <p>
+ * {@link #filtro} arma los predicados de más a menos selectivo: primero la igualdad sobre
+ * {@code departamento_id} (prefijo de {@code idx_empleados_departamento_salario}), después el
+ * rango de salario que completa ese mismo índice, luego el rango de fechas de contratación y
+ * por último la pertenencia a un proyecto como semijoin {@code EXISTS}, que no duplica filas
+ * ni obliga a un {@code DISTINCT} al paginar.
+ */
+public final class EmpleadoEspecificaciones {
+
+    private EmpleadoEspecificaciones() {
+    }
+
+    public static Specification<Empleado> filtro(FiltroEmpleados filtro, Collection<Long> departamentoIds) {
+        List<Specification<Empleado>> partes = new ArrayList<>();
+        if (departamentoIds != null) {
+            partes.add(enDepartamentos(departamentoIds));
+        }
+        if (filtro.salarioMin() != null || filtro.salarioMax() != null) {
+            partes.add(salarioEntre(filtro.salarioMin(), filtro.salarioMax()));
+        }
+        if (filtro.contratadoDesde() != null || filtro.contratadoHasta() != null) {
+            partes.add(contratadoEntre(filtro.contratadoDesde(), filtro.contratadoHasta()));
+        }
+        if (filtro.proyectoId() != null) {
+            partes.add(enProyecto(filtro.proyectoId()));
+        }
+        return Specification.allOf(partes);
+    }
+
+    public static Specification<Empleado> enDepartamentos(Collection<Long> departamentoIds) {
+        return (empleado, consulta, cb) -> departamentoIds.size() == 1
+                ? cb.equal(empleado.get("departamento").get("id"), departamentoIds.iterator().next())
+                : empleado.get("departamento").get("id").in(departamentoIds);
+    }
+
+    public static Specification<Empleado> salarioEntre(BigDecimal minimo, BigDecimal maximo) {
+        return (empleado, consulta, cb) -> {
+            if (minimo != null && maximo != null) {
+                return cb.between(empleado.get("salario"), minimo, maximo);
+            }
+            return minimo != null
+                    ? cb.greaterThanOrEqualTo(empleado.get("salario"), minimo)
+                    : cb.lessThanOrEqualTo(empleado.get("salario"), maximo);
+        };
+    }
+
+    public static Specification<Empleado> contratadoEntre(LocalDate desde, LocalDate hasta) {
+        return (empleado, consulta, cb) -> {
+            if (desde != null && hasta != null) {
+                return cb.between(empleado.get("fechaContratacion"), desde, hasta);
+            }
+            return desde != null
+                    ? cb.greaterThanOrEqualTo(empleado.get("fechaContratacion"), desde)
+                    : cb.lessThanOrEqualTo(empleado.get("fechaContratacion"), hasta);
+        };
+    }
+
+    public static Specification<Empleado> enProyecto(Long proyectoId) {
+        return (empleado, consulta, cb) -> {
+            // Correlacionada con la fila externa: solo recorre empleado_proyecto
+            Subquery<Long> miembros = consulta.subquery(Long.class);
+            Join<Empleado, Proyecto> proyecto = miembros.correlate(empleado).join("proyectos");
+            miembros.select(proyecto.get("id"))
+                    .where(cb.equal(proyecto.get("id"), proyectoId));
+            return cb.exists(miembros);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.dto.FiltroAjuste;
+
+import java.util.List;
+
+/**
+ * Consultas dinámicas usadas por los procesos masivos sobre empleados.
+ */
+public interface EmpleadoLoteRepository {
+    List<Long> findIdsByFiltro(FiltroAjuste filtro, long desdeId, int limite);
+    long countByFiltro(FiltroAjuste filtro);
+}
@@ -0,0 +1,64 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.dto.FiltroAjuste;
+import com.empresa.gestionempleados.entidades.Empleado;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class EmpleadoLoteRepositoryImpl implements EmpleadoLoteRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsByFiltro(FiltroAjuste filtro, long desdeId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+        Root<Empleado> empleado = consulta.from(Empleado.class);
+
+        List<Predicate> predicados = predicados(cb, empleado, filtro);
+        predicados.add(cb.greaterThan(empleado.get("id"), desdeId));
+
+        consulta.select(empleado.get("id"))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(cb.asc(empleado.get("id")));
+        return entityManager.createQuery(consulta).setMaxResults(limite).getResultList();
+    }
+
+    @Override
+    public long countByFiltro(FiltroAjuste filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+        Root<Empleado> empleado = consulta.from(Empleado.class);
+        consulta.select(cb.count(empleado))
+                .where(predicados(cb, empleado, filtro).toArray(Predicate[]::new));
+        return entityManager.createQuery(consulta).getSingleResult();
+    }
+
+    private List<Predicate> predicados(CriteriaBuilder cb, Root<Empleado> empleado, FiltroAjuste filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.departamentoId() != null) {
+            predicados.add(cb.equal(empleado.get("departamento").get("id"), filtro.departamentoId()));
+        }
+        if (filtro.salarioMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(empleado.get("salario"), filtro.salarioMin()));
+        }
+        if (filtro.salarioMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(empleado.get("salario"), filtro.salarioMax()));
+        }
+        if (filtro.contratadoDesde() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(empleado.get("fechaContratacion"), filtro.contratadoDesde()));
+        }
+        if (filtro.contratadoHasta() != null) {
+            predicados.add(cb.lessThanOrEqualTo(empleado.get("fechaContratacion"), filtro.contratadoHasta()));
+        }
+        return predicados;
+    }
+}
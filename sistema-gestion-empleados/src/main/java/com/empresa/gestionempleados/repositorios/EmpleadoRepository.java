@@ -1,20 +1,41 @@
 package com.empresa.gestionempleados.repositorios;
 
+import com.empresa.gestionempleados.dto.AsignacionPeriodo;
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.Membresia;
+import com.empresa.gestionempleados.dto.TotalDepartamento;
 import com.empresa.gestionempleados.entidades.Departamento;
 import com.empresa.gestionempleados.entidades.Empleado;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
+public interface EmpleadoRepository extends JpaRepository<Empleado, Long>, JpaSpecificationExecutor<Empleado>,
+        EmpleadoLoteRepository {
     Optional<Empleado> findByEmail(String email);
+
+    @Query("SELECT e.email FROM Empleado e WHERE e.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
     List<Empleado> findByDepartamento(Departamento departamento);
     List<Empleado> findBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax);
     List<Empleado> findByFechaContratacionAfter(LocalDate fecha);
@@ -22,6 +43,106 @@ public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     @Query("SELECT e FROM Empleado e WHERE e.departamento.nombre = :nombreDepartamento")
     List<Empleado> findByNombreDepartamento(@Param("nombreDepartamento") String nombreDepartamento);
 
+    @Query("SELECT e.id FROM Empleado e WHERE e.departamento.nombre = :nombreDepartamento ORDER BY e.id")
+    List<Long> findIdsByNombreDepartamento(@Param("nombreDepartamento") String nombreDepartamento);
+
+    List<Empleado> findByIdInOrderById(Collection<Long> ids);
+
     @Query("SELECT AVG(e.salario) FROM Empleado e WHERE e.departamento.id = :departamentoId")
     Optional<BigDecimal> findAverageSalarioByDepartamento(@Param("departamentoId") Long departamentoId);
+
+    @Query("SELECT e.id FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    List<Long> findIdsByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    @EntityGraph(attributePaths = "proyectos")
+    @Query("SELECT e FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    List<Empleado> findConProyectosByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    @Query("SELECT e FROM Empleado e WHERE (e.fechaActualizacion > :desde " +
+            "OR (e.fechaActualizacion = :desde AND e.id > :desdeId)) AND e.fechaActualizacion < :corte " +
+            "ORDER BY e.fechaActualizacion, e.id")
+    List<Empleado> findCambiosDesde(@Param("desde") LocalDateTime desde, @Param("desdeId") Long desdeId,
+                                 @Param("corte") LocalDateTime corte, Limit limite);
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.EstadoSalarial(e.id, e.salario, d.id) " +
+            "FROM Empleado e LEFT JOIN e.departamento d WHERE e.id = :id")
+    Optional<EstadoSalarial> findEstadoSalarialById(@Param("id") Long id);
+
+    // Las variantes bloqueadas leen el estado del que se derivan los deltas de nómina: sin el
+    // bloqueo, una escritura concurrente cambia salario o departamento y los deltas se desvían.
+    // Sin JOIN para que FOR UPDATE no caiga sobre el lado opcional de un OUTER JOIN
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.empresa.gestionempleados.dto.EstadoSalarial(e.id, e.salario, e.departamento.id) " +
+            "FROM Empleado e WHERE e.id = :id")
+    Optional<EstadoSalarial> findEstadoSalarialBloqueadoById(@Param("id") Long id);
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.EstadoSalarial(e.id, e.salario, d.id) " +
+            "FROM Empleado e LEFT JOIN e.departamento d WHERE e.id IN :ids")
+    List<EstadoSalarial> findEstadosSalarialesByIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.empresa.gestionempleados.dto.EstadoSalarial(e.id, e.salario, e.departamento.id) " +
+            "FROM Empleado e WHERE e.id IN :ids")
+    List<EstadoSalarial> findEstadosSalarialesBloqueadosByIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.empresa.gestionempleados.dto.EstadoSalarial(e.id, e.salario, e.departamento.id) " +
+            "FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    List<EstadoSalarial> findEstadosSalarialesBloqueadosByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    @Modifying
+    @Query("UPDATE Empleado e SET e.departamento = :destino, e.fechaActualizacion = :fecha WHERE e.id IN :ids")
+    int transferir(@Param("ids") Collection<Long> ids,
+                   @Param("destino") Departamento destino,
+                   @Param("fecha") LocalDateTime fecha);
+
+    // Departamento entero: el tamaño de la sentencia no depende de cuántos empleados tenga
+    @Modifying
+    @Query("UPDATE Empleado e SET e.departamento = :destino, e.fechaActualizacion = :fecha " +
+            "WHERE e.departamento.id = :origenId")
+    int transferirDepartamento(@Param("origenId") Long origenId,
+                               @Param("destino") Departamento destino,
+                               @Param("fecha") LocalDateTime fecha);
+
+    @Query("SELECT e.id FROM Empleado e WHERE e.id IN :ids AND e.fechaActualizacion = :fecha ORDER BY e.id")
+    List<Long> findIdsActualizadosEn(@Param("ids") Collection<Long> ids, @Param("fecha") LocalDateTime fecha);
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.TotalDepartamento(d.id, SUM(e.salario), COUNT(e)) " +
+            "FROM Empleado e JOIN e.departamento d WHERE e.id IN :ids GROUP BY d.id")
+    List<TotalDepartamento> sumarSalariosPorDepartamento(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Empleado e SET e.salario = ROUND(e.salario * :factor, 2), e.fechaActualizacion = :fecha " +
+            "WHERE e.id IN :ids")
+    int multiplicarSalario(@Param("ids") Collection<Long> ids,
+                           @Param("factor") BigDecimal factor,
+                           @Param("fecha") LocalDateTime fecha);
+
+    // Un monto negativo no deja a nadie con salario negativo: esos empleados quedan como estaban
+    @Modifying
+    @Query("UPDATE Empleado e SET e.salario = e.salario + :monto, e.fechaActualizacion = :fecha " +
+            "WHERE e.id IN :ids AND e.salario + :monto >= 0")
+    int sumarSalario(@Param("ids") Collection<Long> ids,
+                     @Param("monto") BigDecimal monto,
+                     @Param("fecha") LocalDateTime fecha);
+
+    // Recorrido completo sin cargar entidades en el contexto de persistencia
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.empresa.gestionempleados.dto.EmpleadoFila(e.id, e.nombre, e.apellido, e.email, " +
+            "e.fechaContratacion, e.salario, d.id) FROM Empleado e LEFT JOIN e.departamento d ORDER BY e.id")
+    Stream<EmpleadoFila> streamFilas();
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.Membresia(e.id, p.id) FROM Empleado e LEFT JOIN e.proyectos p")
+    List<Membresia> findMembresias();
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.Membresia(e.id, p.id) FROM Empleado e LEFT JOIN e.proyectos p " +
+            "WHERE e.id IN :ids")
+    List<Membresia> findMembresiasByEmpleadoIds(@Param("ids") Collection<Long> ids);
+
+    // Asignaciones cuyo proyecto toca [desde, hasta], agrupadas por empleado
+    @Query("SELECT new com.empresa.gestionempleados.dto.AsignacionPeriodo(e.id, p.fechaInicio, p.fechaFin) " +
+            "FROM Empleado e JOIN e.proyectos p " +
+            "WHERE (p.fechaInicio IS NULL OR p.fechaInicio <= :hasta) AND (p.fechaFin IS NULL OR p.fechaFin >= :desde) " +
+            "ORDER BY e.id")
+    List<AsignacionPeriodo> findAsignacionesEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
 }
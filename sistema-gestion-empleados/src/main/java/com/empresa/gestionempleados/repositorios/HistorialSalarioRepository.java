@@ -0,0 +1,50 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.dto.SalarioVigente;
+import com.empresa.gestionempleados.entidades.HistorialSalario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HistorialSalarioRepository extends JpaRepository<HistorialSalario, Long> {
+
+    Optional<HistorialSalario> findFirstByEmpleadoIdAndVigenteDesdeLessThanOrderByVigenteDesdeDesc(
+            Long empleadoId, LocalDateTime hasta);
+
+    List<HistorialSalario> findByEmpleadoIdOrderByVigenteDesde(Long empleadoId);
+
+    // Filas del departamento por rango de vigencia; la subconsulta busca la última
+    // fila de cada empleado sobre el índice (empleado_id, vigente_desde)
+    @Query("SELECT new com.empresa.gestionempleados.dto.SalarioVigente(h.empleadoId, h.salario, h.departamentoId, h.vigenteDesde) " +
+            "FROM HistorialSalario h WHERE h.departamentoId = :departamentoId AND h.vigenteDesde < :hasta " +
+            "AND h.salario IS NOT NULL AND h.vigenteDesde = (SELECT MAX(h2.vigenteDesde) FROM HistorialSalario h2 " +
+            "WHERE h2.empleadoId = h.empleadoId AND h2.vigenteDesde < :hasta) ORDER BY h.empleadoId")
+    List<SalarioVigente> findVigentesPorDepartamento(@Param("departamentoId") Long departamentoId,
+                                                     @Param("hasta") LocalDateTime hasta);
+
+    @Modifying
+    @Query("INSERT INTO HistorialSalario (empleadoId, salario, departamentoId, vigenteDesde) " +
+            "SELECT e.id, e.salario, d.id, :fecha FROM Empleado e LEFT JOIN e.departamento d WHERE e.id IN :ids")
+    int registrarDesdeEmpleados(@Param("ids") Collection<Long> ids, @Param("fecha") LocalDateTime fecha);
+
+    // Empleados del departamento modificados en esa fecha, sin enumerar sus ids
+    @Modifying
+    @Query("INSERT INTO HistorialSalario (empleadoId, salario, departamentoId, vigenteDesde) " +
+            "SELECT e.id, e.salario, e.departamento.id, :fecha FROM Empleado e " +
+            "WHERE e.departamento.id = :departamentoId AND e.fechaActualizacion = :fecha")
+    int registrarDesdeDepartamento(@Param("departamentoId") Long departamentoId, @Param("fecha") LocalDateTime fecha);
+
+    @Modifying
+    @Query("INSERT INTO HistorialSalario (empleadoId, salario, departamentoId, vigenteDesde) " +
+            "SELECT e.id, e.salario, d.id, CAST(e.fechaContratacion AS LocalDateTime) FROM Empleado e LEFT JOIN e.departamento d " +
+            "WHERE NOT EXISTS (SELECT 1 FROM HistorialSalario h WHERE h.empleadoId = e.id)")
+    int registrarEmpleadosSinHistorial();
+}
@@ -0,0 +1,85 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.config.ClienteLecturaReactiva;
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.ProyectoResumen;
+import com.empresa.gestionempleados.multitenencia.RegistroInquilinos;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * El pool R2DBC no pasa por el proveedor de conexiones de Hibernate. Con multitenencia,
+ * cada sentencia nombra las tablas con el esquema del inquilino en curso, que se resuelve
+ * al armar la consulta, todavía en el hilo de la petición.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.lectura-reactiva", name = "habilitada", havingValue = "true")
+public class LecturaReactivaRepository {
+
+    private static final String COLUMNAS_EMPLEADO =
+            "SELECT e.id, e.nombre, e.apellido, e.email, e.fecha_contratacion, e.salario, e.departamento_id ";
+
+    private final DatabaseClient databaseClient;
+    // Null sin multitenencia: las tablas van sin esquema
+    private final RegistroInquilinos registroInquilinos;
+
+    public LecturaReactivaRepository(ClienteLecturaReactiva cliente,
+                                     ObjectProvider<RegistroInquilinos> registroInquilinos) {
+        this.databaseClient = cliente.databaseClient();
+        this.registroInquilinos = registroInquilinos.getIfAvailable();
+    }
+
+    public Flux<EmpleadoFila> findEmpleadosByNombreDepartamento(String nombreDepartamento) {
+        return databaseClient.sql(COLUMNAS_EMPLEADO +
+                        "FROM " + tabla("empleados") + " e " +
+                        "JOIN " + tabla("departamentos") + " d ON d.id = e.departamento_id " +
+                        "WHERE d.nombre = :nombre ORDER BY e.id")
+                .bind("nombre", nombreDepartamento)
+                .map(LecturaReactivaRepository::empleado)
+                .all();
+    }
+
+    public Flux<EmpleadoFila> findEmpleadosBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax) {
+        return databaseClient.sql(COLUMNAS_EMPLEADO +
+                        "FROM " + tabla("empleados") + " e WHERE e.salario BETWEEN :min AND :max ORDER BY e.id")
+                .bind("min", salarioMin)
+                .bind("max", salarioMax)
+                .map(LecturaReactivaRepository::empleado)
+                .all();
+    }
+
+    public Flux<ProyectoResumen> findProyectosActivos(LocalDate hoy) {
+        return databaseClient.sql("SELECT p.id, p.nombre, p.fecha_inicio, p.fecha_fin " +
+                        "FROM " + tabla("proyectos") + " p " +
+                        "WHERE p.fecha_fin > :hoy ORDER BY p.id")
+                .bind("hoy", hoy)
+                .map(fila -> new ProyectoResumen(
+                        fila.get("id", Long.class),
+                        fila.get("nombre", String.class),
+                        fila.get("fecha_inicio", LocalDate.class),
+                        fila.get("fecha_fin", LocalDate.class)))
+                .all();
+    }
+
+    private String tabla(String nombre) {
+        return registroInquilinos == null ? nombre : registroInquilinos.actual().esquema() + "." + nombre;
+    }
+
+    private static EmpleadoFila empleado(Readable fila) {
+        return new EmpleadoFila(
+                fila.get("id", Long.class),
+                fila.get("nombre", String.class),
+                fila.get("apellido", String.class),
+                fila.get("email", String.class),
+                fila.get("fecha_contratacion", LocalDate.class),
+                fila.get("salario", BigDecimal.class),
+                fila.get("departamento_id", Long.class));
+    }
+}
@@ -0,0 +1,30 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.entidades.NominaDepartamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface NominaDepartamentoRepository extends JpaRepository<NominaDepartamento, Long> {
+
+    @Modifying
+    @Query("UPDATE NominaDepartamento n SET n.totalSalarios = n.totalSalarios + :delta, " +
+            "n.cantidadEmpleados = n.cantidadEmpleados + :cantidad WHERE n.departamentoId = :departamentoId")
+    int sumar(@Param("departamentoId") Long departamentoId,
+              @Param("delta") BigDecimal delta,
+              @Param("cantidad") long cantidad);
+
+    @Modifying
+    @Query("DELETE FROM NominaDepartamento n")
+    void vaciar();
+
+    @Modifying
+    @Query("INSERT INTO NominaDepartamento (departamentoId, totalSalarios, cantidadEmpleados) " +
+            "SELECT d.id, COALESCE(SUM(e.salario), 0), COUNT(e) FROM Departamento d LEFT JOIN d.empleados e GROUP BY d.id")
+    void recalcularDesdeEmpleados();
+}
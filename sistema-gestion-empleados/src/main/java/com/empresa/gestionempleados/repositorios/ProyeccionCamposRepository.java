@@ -0,0 +1,99 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.exceptions.CampoInvalidoException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Lecturas con un subconjunto de columnas ({@code ?fields=}). Se selecciona solo lo pedido
+ * como tupla, sin instanciar entidades ni cargar relaciones. Solo se admiten atributos
+ * simples de la entidad; las relaciones se consultan por sus propios endpoints.
+ */
+@Repository
+public class ProyeccionCamposRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, Set<String>> camposPorEntidad = new ConcurrentHashMap<>();
+
+    public List<Map<String, Object>> findAll(Class<?> entidad, List<String> campos) {
+        Set<String> seleccion = validar(entidad, campos);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidad);
+        consulta.multiselect(selecciones(raiz, seleccion)).orderBy(cb.asc(raiz.get("id")));
+        return entityManager.createQuery(consulta).getResultStream()
+                .map(tupla -> fila(tupla, seleccion))
+                .toList();
+    }
+
+    public Optional<Map<String, Object>> findById(Class<?> entidad, Long id, List<String> campos) {
+        Set<String> seleccion = validar(entidad, campos);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidad);
+        consulta.multiselect(selecciones(raiz, seleccion)).where(cb.equal(raiz.get("id"), id));
+        return entityManager.createQuery(consulta).getResultStream()
+                .findFirst()
+                .map(tupla -> fila(tupla, seleccion));
+    }
+
+    private Set<String> validar(Class<?> entidad, List<String> campos) {
+        Set<String> permitidos = camposPorEntidad.computeIfAbsent(entidad, this::camposSimples);
+        Set<String> seleccion = new LinkedHashSet<>();
+        for (String campo : campos) {
+            if (!campo.isBlank()) {
+                seleccion.add(campo.trim());
+            }
+        }
+        if (seleccion.isEmpty()) {
+            throw new CampoInvalidoException("Debe indicar al menos un campo en 'fields'");
+        }
+        for (String campo : seleccion) {
+            if (!permitidos.contains(campo)) {
+                throw new CampoInvalidoException("Campo desconocido '" + campo + "'; disponibles: "
+                        + String.join(", ", permitidos));
+            }
+        }
+        return seleccion;
+    }
+
+    private Set<String> camposSimples(Class<?> entidad) {
+        EntityType<?> tipo = entityManager.getMetamodel().entity(entidad);
+        return tipo.getSingularAttributes().stream()
+                .filter(a -> a.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                .map(Attribute::getName)
+                .sorted()
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static List<Selection<?>> selecciones(Root<?> raiz, Set<String> campos) {
+        return campos.stream().<Selection<?>>map(campo -> raiz.get(campo).alias(campo)).toList();
+    }
+
+    private static Map<String, Object> fila(Tuple tupla, Set<String> campos) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        for (String campo : campos) {
+            fila.put(campo, tupla.get(campo));
+        }
+        return fila;
+    }
+}
@@ -1,17 +1,47 @@
 package com.empresa.gestionempleados.repositorios;
 
+import com.empresa.gestionempleados.dto.PeriodoProyecto;
 import com.empresa.gestionempleados.entidades.Proyecto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
 
     @Query("SELECT p FROM Proyecto p WHERE p.fechaFin > :hoy")
     List<Proyecto> findProyectosActivos(@Param("hoy") LocalDate hoy);
-}
\ No newline at end of file
+
+    @Query("SELECT p.id FROM Proyecto p WHERE p.fechaFin > :hoy ORDER BY p.id")
+    List<Long> findIdsActivos(@Param("hoy") LocalDate hoy);
+
+    List<Proyecto> findByIdInOrderById(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"empleados", "empleados.departamento"})
+    Optional<Proyecto> findConEmpleadosById(Long id);
+
+    @Query("SELECT p FROM Proyecto p WHERE (p.fechaActualizacion > :desde " +
+            "OR (p.fechaActualizacion = :desde AND p.id > :desdeId)) AND p.fechaActualizacion < :corte " +
+            "ORDER BY p.fechaActualizacion, p.id")
+    List<Proyecto> findCambiosDesde(@Param("desde") LocalDateTime desde, @Param("desdeId") Long desdeId,
+                                 @Param("corte") LocalDateTime corte, Limit limite);
+
+    @Query("SELECT p.id FROM Proyecto p")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.PeriodoProyecto(p.id, p.fechaInicio, p.fechaFin) FROM Proyecto p")
+    List<PeriodoProyecto> findPeriodos();
+
+    @Query("SELECT new com.empresa.gestionempleados.dto.PeriodoProyecto(p.id, p.fechaInicio, p.fechaFin) " +
+            "FROM Proyecto p WHERE p.id IN :ids")
+    List<PeriodoProyecto> findPeriodosByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,14 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.SolicitudAjusteSalarial;
+import com.empresa.gestionempleados.entidades.AjusteSalarial;
+
+import java.util.List;
+
+public interface AjusteSalarialService {
+    AjusteSalarial crear(SolicitudAjusteSalarial solicitud);
+    AjusteSalarial buscarPorId(Long id);
+    List<AjusteSalarial> obtenerTodos();
+    AjusteSalarial reanudar(Long id);
+    void reanudarPendientes();
+}
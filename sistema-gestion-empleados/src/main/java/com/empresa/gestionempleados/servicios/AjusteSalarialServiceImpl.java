@@ -0,0 +1,242 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.SolicitudAjusteSalarial;
+import com.empresa.gestionempleados.dto.TotalDepartamento;
+import com.empresa.gestionempleados.entidades.AjusteSalarial;
+import com.empresa.gestionempleados.entidades.EstadoAjuste;
+import com.empresa.gestionempleados.entidades.TipoAjuste;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.empresa.gestionempleados.exceptions.AjusteSalarialInvalidoException;
+import com.empresa.gestionempleados.exceptions.AjusteSalarialNoEncontradoException;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.AjusteSalarialRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ejecuta los ajustes salariales masivos por lotes de ids consecutivos. Cada lote
+ * corre en su propia transacción con timeout, así los bloqueos sobre empleados
+ * duran lo que dura un lote y no todo el ajuste.
+ */
+@Service
+public class AjusteSalarialServiceImpl implements AjusteSalarialService {
+
+    private static final Logger log = LoggerFactory.getLogger(AjusteSalarialServiceImpl.class);
+
+    private final AjusteSalarialRepository ajusteSalarialRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final NominaService nominaService;
+    private final HistorialSalarioService historialSalarioService;
+    private final CacheRespuestas cacheRespuestas;
+    private final ApplicationEventPublisher eventos;
+    private final TransactionTemplate transaccionLote;
+    private final int tamanioLotePorDefecto;
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "ajustes-salariales");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final Set<Ejecucion> enEjecucion = ConcurrentHashMap.newKeySet();
+
+    // Los ids de ajuste se repiten entre inquilinos
+    private record Ejecucion(String inquilino, Long id) {
+    }
+
+    public AjusteSalarialServiceImpl(AjusteSalarialRepository ajusteSalarialRepository,
+                                     EmpleadoRepository empleadoRepository,
+                                     NominaService nominaService,
+                                     HistorialSalarioService historialSalarioService,
+                                     CacheRespuestas cacheRespuestas,
+                                     ApplicationEventPublisher eventos,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.ajustes.tamanio-lote:500}") int tamanioLotePorDefecto,
+                                     @Value("${app.ajustes.timeout-lote-segundos:30}") int timeoutLoteSegundos) {
+        this.ajusteSalarialRepository = ajusteSalarialRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.nominaService = nominaService;
+        this.historialSalarioService = historialSalarioService;
+        this.cacheRespuestas = cacheRespuestas;
+        this.eventos = eventos;
+        this.tamanioLotePorDefecto = tamanioLotePorDefecto;
+        this.transaccionLote = new TransactionTemplate(transactionManager);
+        this.transaccionLote.setTimeout(timeoutLoteSegundos);
+    }
+
+    @Override
+    public AjusteSalarial crear(SolicitudAjusteSalarial solicitud) {
+        // Con -100% o menos los salarios quedarían en cero o negativos
+        if (solicitud.tipo() == TipoAjuste.PORCENTAJE && solicitud.valor().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+            throw new AjusteSalarialInvalidoException("El porcentaje debe ser mayor que -100: " + solicitud.valor());
+        }
+        AjusteSalarial ajuste = new AjusteSalarial();
+        ajuste.setTipo(solicitud.tipo());
+        ajuste.setValor(solicitud.valor());
+        ajuste.setDepartamentoId(solicitud.departamentoId());
+        ajuste.setSalarioMin(solicitud.salarioMin());
+        ajuste.setSalarioMax(solicitud.salarioMax());
+        ajuste.setContratadoDesde(solicitud.contratadoDesde());
+        ajuste.setContratadoHasta(solicitud.contratadoHasta());
+        ajuste.setTamanioLote(solicitud.tamanioLote() != null ? solicitud.tamanioLote() : tamanioLotePorDefecto);
+        ajuste.setEstado(EstadoAjuste.PENDIENTE);
+        ajuste.setUltimoIdProcesado(0L);
+        ajuste.setTotalEstimado(empleadoRepository.countByFiltro(ajuste.filtro()));
+        ajuste.setEmpleadosAjustados(0L);
+        ajuste.setLotesProcesados(0);
+        ajuste.setFechaCreacion(LocalDateTime.now());
+        AjusteSalarial guardado = ajusteSalarialRepository.save(ajuste);
+        lanzar(guardado.getId());
+        return guardado;
+    }
+
+    @Override
+    public AjusteSalarial buscarPorId(Long id) {
+        return ajusteSalarialRepository.findById(id)
+                .orElseThrow(() -> new AjusteSalarialNoEncontradoException("Ajuste salarial no encontrado con ID: " + id));
+    }
+
+    @Override
+    public List<AjusteSalarial> obtenerTodos() {
+        return ajusteSalarialRepository.findAll();
+    }
+
+    @Override
+    public AjusteSalarial reanudar(Long id) {
+        AjusteSalarial ajuste = buscarPorId(id);
+        if (ajuste.getEstado() == EstadoAjuste.FALLIDO) {
+            ajuste.setEstado(EstadoAjuste.EN_CURSO);
+            ajuste.setError(null);
+            ajuste = ajusteSalarialRepository.save(ajuste);
+        }
+        if (ajuste.getEstado() != EstadoAjuste.COMPLETADO) {
+            lanzar(id);
+        }
+        return ajuste;
+    }
+
+    // Retoma los ajustes interrumpidos por una parada desde su último lote confirmado
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendientes() {
+        ajusteSalarialRepository.findByEstadoInOrderById(EnumSet.of(EstadoAjuste.PENDIENTE, EstadoAjuste.EN_CURSO))
+                .forEach(ajuste -> lanzar(ajuste.getId()));
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    private void lanzar(Long id) {
+        Ejecucion ejecucion = new Ejecucion(ContextoInquilino.actual(), id);
+        if (enEjecucion.add(ejecucion)) {
+            ejecutor.execute(ContextoInquilino.propagar(() -> ejecutar(ejecucion)));
+        }
+    }
+
+    private void ejecutar(Ejecucion ejecucion) {
+        Long id = ejecucion.id();
+        try {
+            while (!Thread.currentThread().isInterrupted()
+                    && Boolean.TRUE.equals(transaccionLote.execute(estado -> procesarLote(id)))) {
+                // un lote por transacción
+            }
+        } catch (RuntimeException ex) {
+            log.error("Fallo el ajuste salarial {}", id, ex);
+            marcarFallido(id, ex);
+        } finally {
+            enEjecucion.remove(ejecucion);
+        }
+    }
+
+    /**
+     * Ajusta el siguiente lote y avanza el punto de control en la misma transacción.
+     * Devuelve {@code false} cuando ya no quedan empleados por ajustar.
+     */
+    private boolean procesarLote(Long id) {
+        // Otra instancia que reanude el mismo ajuste espera aquí y ve el punto de control ya avanzado
+        AjusteSalarial ajuste = ajusteSalarialRepository.findBloqueadoById(id)
+                .orElseThrow(() -> new AjusteSalarialNoEncontradoException("Ajuste salarial no encontrado con ID: " + id));
+        if (ajuste.getEstado() == EstadoAjuste.COMPLETADO || ajuste.getEstado() == EstadoAjuste.FALLIDO) {
+            return false;
+        }
+        ajuste.setEstado(EstadoAjuste.EN_CURSO);
+
+        List<Long> ids = empleadoRepository.findIdsByFiltro(ajuste.filtro(), ajuste.getUltimoIdProcesado(),
+                ajuste.getTamanioLote());
+        if (ids.isEmpty()) {
+            ajuste.setEstado(EstadoAjuste.COMPLETADO);
+            ajuste.setFechaFinalizacion(LocalDateTime.now());
+            return false;
+        }
+
+        // Bloqueadas antes de leer: una edición concurrente no puede colarse entre "antes" y "después"
+        Map<Long, BigDecimal> antes = new HashMap<>();
+        for (EstadoSalarial estado : empleadoRepository.findEstadosSalarialesBloqueadosByIds(ids)) {
+            if (estado.departamentoId() != null) {
+                antes.merge(estado.departamentoId(), estado.salario(), BigDecimal::add);
+            }
+        }
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int ajustados;
+        if (ajuste.getTipo() == TipoAjuste.PORCENTAJE) {
+            ajustados = empleadoRepository.multiplicarSalario(ids, BigDecimal.ONE.add(ajuste.getValor().movePointLeft(2)), ahora);
+        } else {
+            ajustados = empleadoRepository.sumarSalario(ids, ajuste.getValor(), ahora);
+        }
+        // Los que un descuento fijo dejaría en negativo no cambiaron: sin historial ni eventos
+        List<Long> cambiados = ajustados == ids.size() ? ids : empleadoRepository.findIdsActualizadosEn(ids, ahora);
+        historialSalarioService.registrarLote(cambiados, ahora);
+        totalesPorDepartamento(ids).forEach((departamentoId, total) ->
+                nominaService.aplicar(departamentoId, total.subtract(antes.getOrDefault(departamentoId, BigDecimal.ZERO)), 0));
+        cacheRespuestas.invalidarEmpleados(antes.keySet());
+        cambiados.forEach(empleadoId ->
+                eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, empleadoId)));
+
+        ajuste.setUltimoIdProcesado(ids.get(ids.size() - 1));
+        ajuste.setEmpleadosAjustados(ajuste.getEmpleadosAjustados() + ajustados);
+        ajuste.setLotesProcesados(ajuste.getLotesProcesados() + 1);
+        return true;
+    }
+
+    private Map<Long, BigDecimal> totalesPorDepartamento(List<Long> ids) {
+        Map<Long, BigDecimal> totales = new HashMap<>();
+        for (TotalDepartamento total : empleadoRepository.sumarSalariosPorDepartamento(ids)) {
+            totales.put(total.departamentoId(), total.total());
+        }
+        return totales;
+    }
+
+    private void marcarFallido(Long id, RuntimeException ex) {
+        ajusteSalarialRepository.findById(id).ifPresent(ajuste -> {
+            ajuste.setEstado(EstadoAjuste.FALLIDO);
+            String mensaje = String.valueOf(ex.getMessage());
+            ajuste.setError(mensaje.length() > 1000 ? mensaje.substring(0, 1000) : mensaje);
+            ajusteSalarialRepository.save(ajuste);
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.analitica.DimensionAnalitica;
+import com.empresa.gestionempleados.dto.CargaEmpleado;
+import com.empresa.gestionempleados.dto.DistribucionSalarial;
+import com.empresa.gestionempleados.dto.GrupoAnalitica;
+import com.empresa.gestionempleados.dto.ResumenSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnaliticaService {
+    ResumenSnapshot refrescar();
+    ResumenSnapshot resumen();
+    List<GrupoAnalitica> agrupar(DimensionAnalitica dimension, BigDecimal bandaSalarial);
+    List<CargaEmpleado> cargaProyectos(LocalDate desde, LocalDate hasta, int minimo);
+    DistribucionSalarial percentilesSalariales(List<BigDecimal> percentiles);
+    void reconstruirPercentiles();
+}
@@ -0,0 +1,139 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.analitica.BarridoCargas;
+import com.empresa.gestionempleados.analitica.BocetosSalariales;
+import com.empresa.gestionempleados.analitica.DimensionAnalitica;
+import com.empresa.gestionempleados.analitica.SnapshotEmpleados;
+import com.empresa.gestionempleados.dto.CargaEmpleado;
+import com.empresa.gestionempleados.dto.DistribucionSalarial;
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.GrupoAnalitica;
+import com.empresa.gestionempleados.dto.ResumenSnapshot;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.empresa.gestionempleados.exceptions.RangoFechasInvalidoException;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Las consultas analíticas leen un snapshot en memoria que se reconstruye
+ * periódicamente, así no compiten con las escrituras sobre las tablas.
+ * <p>
+ * Los percentiles de salario, en cambio, salen de {@link BocetosSalariales} que se
+ * mantienen al día con los eventos de cambio de empleados.
+ */
+@Service
+@Lazy(false)
+public class AnaliticaServiceImpl implements AnaliticaService {
+
+    // Ids por consulta al releer empleados pendientes
+    private static final int TAMANIO_BLOQUE = 1000;
+
+    private final EmpleadoRepository empleadoRepository;
+    // Un snapshot por inquilino; la clave vacía es el inquilino por defecto
+    private final Map<String, SnapshotEmpleados> snapshots = new ConcurrentHashMap<>();
+    // Igual, un juego de bocetos por inquilino
+    private final Map<String, BocetosSalariales> bocetos = new ConcurrentHashMap<>();
+    private final double errorRelativoPercentiles;
+
+    public AnaliticaServiceImpl(EmpleadoRepository empleadoRepository,
+                                @Value("${app.analitica.percentiles.error-relativo:0.01}") double errorRelativoPercentiles) {
+        this.empleadoRepository = empleadoRepository;
+        this.errorRelativoPercentiles = errorRelativoPercentiles;
+    }
+
+    // Solo este método abre transacción: el stream necesita la conexión abierta mientras se recorre
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${app.analitica.retraso-inicial-ms:0}",
+            fixedDelayString = "${app.analitica.refresco-ms:300000}")
+    public ResumenSnapshot refrescar() {
+        SnapshotEmpleados.Constructor constructor = new SnapshotEmpleados.Constructor();
+        try (Stream<EmpleadoFila> filas = empleadoRepository.streamFilas()) {
+            filas.forEach(constructor::agregar);
+        }
+        snapshots.put(claveInquilino(), constructor.construir());
+        return resumen();
+    }
+
+    @Override
+    public ResumenSnapshot resumen() {
+        SnapshotEmpleados actual = snapshot();
+        return new ResumenSnapshot(actual.filas(), actual.tamanioDiccionario(), actual.generadoEn());
+    }
+
+    @Override
+    public List<GrupoAnalitica> agrupar(DimensionAnalitica dimension, BigDecimal bandaSalarial) {
+        return snapshot().agrupar(dimension, bandaSalarial.movePointRight(2).longValue());
+    }
+
+    // A diferencia de las agrupaciones, lee las asignaciones al momento: solo las que tocan la ventana
+    @Override
+    public List<CargaEmpleado> cargaProyectos(LocalDate desde, LocalDate hasta, int minimo) {
+        if (desde.isAfter(hasta)) {
+            throw new RangoFechasInvalidoException("La fecha 'desde' (" + desde + ") es posterior a 'hasta' (" + hasta + ")");
+        }
+        return BarridoCargas.calcular(empleadoRepository.findAsignacionesEntre(desde, hasta), desde, hasta, minimo);
+    }
+
+    // Transaccional porque el primer uso de un inquilino construye los bocetos recorriendo un stream
+    @Override
+    @Transactional
+    public DistribucionSalarial percentilesSalariales(List<BigDecimal> percentiles) {
+        BocetosSalariales actuales = bocetos.computeIfAbsent(claveInquilino(), clave -> construirBocetos());
+        List<Long> pendientes = actuales.tomarPendientes();
+        for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_BLOQUE) {
+            List<Long> bloque = pendientes.subList(desde, Math.min(desde + TAMANIO_BLOQUE, pendientes.size()));
+            actuales.actualizar(bloque, empleadoRepository.findEstadosSalarialesByIds(bloque));
+        }
+        return actuales.distribucion(percentiles);
+    }
+
+    // Al arrancar, y para cambios que no pasan por los servicios, como cargas directas en la base
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirPercentiles() {
+        bocetos.put(claveInquilino(), construirBocetos());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmar(CambioEntidad cambio) {
+        BocetosSalariales actuales = bocetos.get(claveInquilino());
+        if (actuales != null && cambio.tipo() == TipoEntidad.EMPLEADO) {
+            actuales.marcarPendiente(cambio.id());
+        }
+    }
+
+    private BocetosSalariales construirBocetos() {
+        BocetosSalariales nuevos = new BocetosSalariales(errorRelativoPercentiles);
+        try (Stream<EmpleadoFila> filas = empleadoRepository.streamFilas()) {
+            filas.forEach(fila -> nuevos.cargar(fila.id(), fila.departamentoId(), fila.salario()));
+        }
+        return nuevos;
+    }
+
+    private SnapshotEmpleados snapshot() {
+        return snapshots.getOrDefault(claveInquilino(), SnapshotEmpleados.vacio());
+    }
+
+    private static String claveInquilino() {
+        return Objects.requireNonNullElse(ContextoInquilino.actual(), "");
+    }
+}
@@ -0,0 +1,92 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.exceptions.LecturaSaturadaException;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Une las lecturas idénticas que llegan mientras otra igual está en curso: la primera
+ * ejecuta la consulta y las demás esperan y reciben el mismo resultado o la misma
+ * excepción. El resultado se comparte entre hilos, así que debe tratarse como de solo lectura
+ * y no puede contener entidades: quedarían atadas a la sesión del primero y los demás
+ * tocarían sus proxies perezosos desde otro hilo. Se comparten ids, proyecciones o DTOs desligados.
+ * Las lecturas de distintos inquilinos nunca se unen.
+ */
+@Component
+public class CoalescedorLecturas {
+
+    private record Clave(String inquilino, String metodo, List<Object> argumentos) {
+    }
+
+    private final ConcurrentHashMap<Clave, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+    private final MeterRegistry registro;
+    private final long timeoutMs;
+
+    public CoalescedorLecturas(MeterRegistry registro,
+                               @Value("${app.coalescencia.timeout-ms:5000}") long timeoutMs) {
+        this.registro = registro;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String metodo, Supplier<T> lectura, Object... argumentos) {
+        Clave clave = new Clave(ContextoInquilino.actual(), metodo, Arrays.asList(argumentos));
+        CompletableFuture<Object> propio = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            contador(metodo, "colapsada").increment();
+            return (T) esperar(metodo, existente);
+        }
+
+        contador(metodo, "ejecutada").increment();
+        try {
+            T resultado = lectura.get();
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error ex) {
+            propio.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    private Object esperar(String metodo, CompletableFuture<Object> existente) {
+        try {
+            return existente.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            contador(metodo, "timeout").increment();
+            throw new LecturaSaturadaException("La lectura " + metodo + " no terminó en " + timeoutMs + " ms");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LecturaSaturadaException("Lectura " + metodo + " interrumpida");
+        }
+    }
+
+    private Counter contador(String metodo, String resultado) {
+        return Counter.builder("coalescencia.lecturas")
+                .tag("metodo", metodo)
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+}
@@ -1,13 +1,24 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.DepartamentoDetalle;
+import com.empresa.gestionempleados.dto.ResultadoTransferencia;
+import com.empresa.gestionempleados.dto.SolicitudTransferencia;
 import com.empresa.gestionempleados.entidades.Departamento;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface DepartamentoService {
     Departamento guardar(Departamento departamento);
     Departamento buscarPorId(Long id);
+    Map<String, Object> buscarPorId(Long id, List<String> campos);
+    DepartamentoDetalle buscarDetallePorId(Long id);
     List<Departamento> obtenerTodos();
+    List<Map<String, Object>> obtenerTodos(List<String> campos);
+    CambiosDesde<Departamento> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite);
     Departamento actualizar(Long id, Departamento departamento);
     void eliminar(Long id);
+    ResultadoTransferencia transferir(Long destinoId, SolicitudTransferencia solicitud);
 }
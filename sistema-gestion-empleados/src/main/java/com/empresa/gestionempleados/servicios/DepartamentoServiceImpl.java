@@ -1,26 +1,78 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.DepartamentoDetalle;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.ResultadoTransferencia;
+import com.empresa.gestionempleados.dto.SolicitudTransferencia;
 import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
 import com.empresa.gestionempleados.exceptions.DepartamentoNoEncontradoException;
+import com.empresa.gestionempleados.exceptions.EmpleadoNoEncontradoException;
+import com.empresa.gestionempleados.exceptions.TransferenciaConcurrenteException;
+import com.empresa.gestionempleados.exceptions.TransferenciaInvalidaException;
+import com.empresa.gestionempleados.repositorios.BajaRepository;
 import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyeccionCamposRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 public class DepartamentoServiceImpl implements DepartamentoService {
 
     private final DepartamentoRepository departamentoRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final BajaRepository bajaRepository;
+    private final ProyeccionCamposRepository proyeccionCamposRepository;
+    private final NominaService nominaService;
+    private final HistorialSalarioService historialSalarioService;
+    private final CacheRespuestas cacheRespuestas;
+    private final PaginadorCambios paginador;
+    private final ApplicationEventPublisher eventos;
 
-    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository) {
+    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository,
+                                   EmpleadoRepository empleadoRepository,
+                                   BajaRepository bajaRepository,
+                                   ProyeccionCamposRepository proyeccionCamposRepository,
+                                   NominaService nominaService,
+                                   HistorialSalarioService historialSalarioService,
+                                   CacheRespuestas cacheRespuestas,
+                                   PaginadorCambios paginador,
+                                   ApplicationEventPublisher eventos) {
         this.departamentoRepository = departamentoRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.bajaRepository = bajaRepository;
+        this.proyeccionCamposRepository = proyeccionCamposRepository;
+        this.nominaService = nominaService;
+        this.historialSalarioService = historialSalarioService;
+        this.cacheRespuestas = cacheRespuestas;
+        this.paginador = paginador;
+        this.eventos = eventos;
     }
 
     @Override
     public Departamento guardar(Departamento departamento) {
-        return departamentoRepository.save(departamento);
+        Departamento guardado = departamentoRepository.save(departamento);
+        nominaService.registrarDepartamento(guardado.getId());
+        cacheRespuestas.invalidar(TipoEntidad.DEPARTAMENTO);
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.DEPARTAMENTO, Operacion.CREACION, guardado.getId()));
+        return guardado;
     }
 
     @Override
@@ -29,18 +81,51 @@ public class DepartamentoServiceImpl implements DepartamentoService {
                 .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
     }
 
+    @Override
+    public Map<String, Object> buscarPorId(Long id, List<String> campos) {
+        return proyeccionCamposRepository.findById(Departamento.class, id, campos)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
+    }
+
+    @Override
+    public DepartamentoDetalle buscarDetallePorId(Long id) {
+        Departamento departamento = departamentoRepository.findConEmpleadosById(id)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
+        // Inicializa los proyectos de todos los empleados ya cargados en una sola consulta
+        empleadoRepository.findConProyectosByDepartamentoId(id);
+        return DepartamentoDetalle.desde(departamento);
+    }
+
     @Override
     public List<Departamento> obtenerTodos() {
         return departamentoRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> obtenerTodos(List<String> campos) {
+        return proyeccionCamposRepository.findAll(Departamento.class, campos);
+    }
+
+    @Override
+    public CambiosDesde<Departamento> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite) {
+        int tamanio = PaginadorCambios.limite(limite);
+        LocalDateTime corte = paginador.corte();
+        List<Departamento> filas = departamentoRepository.findCambiosDesde(desde, desdeId != null ? desdeId : 0L, corte,
+                Limit.of(tamanio + 1));
+        return paginador.paginar(filas, tamanio, desde, corte, Departamento::getFechaActualizacion, Departamento::getId,
+                (inicio, fin) -> bajaRepository.findEntidadIdsEliminadas(TipoEntidad.DEPARTAMENTO, inicio, fin));
+    }
+
     @Override
     public Departamento actualizar(Long id, Departamento departamento) {
         if (!departamentoRepository.existsById(id)) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
         }
         departamento.setId(id);
-        return departamentoRepository.save(departamento);
+        Departamento actualizado = departamentoRepository.save(departamento);
+        cacheRespuestas.invalidar(TipoEntidad.DEPARTAMENTO);
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.DEPARTAMENTO, Operacion.ACTUALIZACION, id));
+        return actualizado;
     }
 
     @Override
@@ -48,6 +133,96 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         if (!departamentoRepository.existsById(id)) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
         }
+        // Los empleados del departamento se eliminan en cascada
+        List<Long> empleados = empleadoRepository.findIdsByDepartamentoId(id);
         departamentoRepository.deleteById(id);
+        nominaService.eliminarDepartamento(id);
+        historialSalarioService.registrarBajas(empleados);
+        cacheRespuestas.invalidar(TipoEntidad.DEPARTAMENTO);
+        cacheRespuestas.invalidarEmpleados(List.of(id));
+        empleados.forEach(empleadoId ->
+                eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ELIMINACION, empleadoId)));
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.DEPARTAMENTO, Operacion.ELIMINACION, id));
+    }
+
+    // Un solo UPDATE sobre departamento_id; la nómina de origen y destino se ajusta con los totales movidos.
+    // Las filas leídas quedan bloqueadas hasta el commit, así que los totales no cambian por debajo
+    @Override
+    public ResultadoTransferencia transferir(Long destinoId, SolicitudTransferencia solicitud) {
+        Long origenId = solicitud.departamentoOrigenId();
+        List<Long> empleadoIds = solicitud.empleadoIds();
+        boolean porIds = empleadoIds != null && !empleadoIds.isEmpty();
+        if ((origenId != null) == porIds) {
+            throw new TransferenciaInvalidaException("Indique un departamento de origen o una lista de empleados, no ambos");
+        }
+        if (destinoId.equals(origenId)) {
+            throw new TransferenciaInvalidaException("El departamento de origen y el de destino son el mismo: " + destinoId);
+        }
+        if (!departamentoRepository.existsById(destinoId)) {
+            throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + destinoId);
+        }
+        List<EstadoSalarial> estados = porIds ? estadosDeEmpleados(empleadoIds) : estadosDeDepartamento(origenId);
+
+        // Los que ya están en el destino no se mueven
+        List<EstadoSalarial> movidos = estados.stream()
+                .filter(estado -> !destinoId.equals(estado.departamentoId()))
+                .toList();
+        if (movidos.isEmpty()) {
+            return new ResultadoTransferencia(destinoId, 0);
+        }
+        List<Long> ids = movidos.stream().map(EstadoSalarial::empleadoId).toList();
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Departamento destino = departamentoRepository.getReferenceById(destinoId);
+        if (porIds) {
+            empleadoRepository.transferir(ids, destino, ahora);
+        } else if (empleadoRepository.transferirDepartamento(origenId, destino, ahora) != movidos.size()) {
+            // Un alta en el origen que el bloqueo no detuvo: se deshace todo antes que desviar la nómina
+            throw new TransferenciaConcurrenteException("El departamento " + origenId + " cambió durante la transferencia");
+        }
+
+        Map<Long, BigDecimal> totales = new HashMap<>();
+        Map<Long, Long> cantidades = new HashMap<>();
+        for (EstadoSalarial estado : movidos) {
+            if (estado.departamentoId() != null) {
+                totales.merge(estado.departamentoId(), estado.salario(), BigDecimal::add);
+                cantidades.merge(estado.departamentoId(), 1L, Long::sum);
+            }
+        }
+        totales.forEach((departamentoId, total) ->
+                nominaService.aplicar(departamentoId, total.negate(), -cantidades.get(departamentoId)));
+        nominaService.aplicar(destinoId, movidos.stream().map(EstadoSalarial::salario).reduce(BigDecimal.ZERO, BigDecimal::add),
+                movidos.size());
+        if (porIds) {
+            historialSalarioService.registrarLote(ids, ahora);
+        } else {
+            historialSalarioService.registrarLoteDepartamento(destinoId, ahora);
+        }
+
+        Set<Long> afectados = new HashSet<>(totales.keySet());
+        afectados.add(destinoId);
+        cacheRespuestas.invalidarEmpleados(afectados);
+        ids.forEach(empleadoId ->
+                eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, empleadoId)));
+        return new ResultadoTransferencia(destinoId, ids.size());
+    }
+
+    // Bloquear el origen detiene las altas concurrentes en él (su clave foránea espera al bloqueo),
+    // que el UPDATE movería sin haberlas contado
+    private List<EstadoSalarial> estadosDeDepartamento(Long origenId) {
+        if (departamentoRepository.findBloqueadoById(origenId).isEmpty()) {
+            throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + origenId);
+        }
+        return empleadoRepository.findEstadosSalarialesBloqueadosByDepartamentoId(origenId);
+    }
+
+    private List<EstadoSalarial> estadosDeEmpleados(List<Long> empleadoIds) {
+        Set<Long> pedidos = new HashSet<>(empleadoIds);
+        pedidos.remove(null);
+        List<EstadoSalarial> estados = empleadoRepository.findEstadosSalarialesBloqueadosByIds(pedidos);
+        if (estados.size() < pedidos.size()) {
+            estados.stream().map(EstadoSalarial::empleadoId).forEach(pedidos::remove);
+            throw new EmpleadoNoEncontradoException("Empleados no encontrados con ID: " + pedidos.stream().sorted().toList());
+        }
+        return estados;
     }
 }
@@ -1,19 +1,30 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.FiltroEmpleados;
 import com.empresa.gestionempleados.entidades.Empleado;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface EmpleadoService {
     Empleado guardar(Empleado empleado);
+    List<Empleado> guardarLote(List<Empleado> empleados);
     Empleado buscarPorId(Long id);
+    Map<String, Object> buscarPorId(Long id, List<String> campos);
     List<Empleado> buscarPorDepartamento(String nombreDepartamento);
+    Page<Empleado> filtrar(FiltroEmpleados filtro, Pageable pageable);
     List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
     BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId);
     List<Empleado> buscarPorFechaContratacionPosteriorA(LocalDate fecha);
     List<Empleado> obtenerTodos();
+    List<Map<String, Object>> obtenerTodos(List<String> campos);
+    CambiosDesde<Empleado> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite);
     Empleado actualizar(Long id, Empleado empleado);
     void eliminar(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.FiltroEmpleados;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.exceptions.EmailDuplicadoException;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Altas de empleados con commit agrupado. Cada {@link #guardar} deja el empleado en una
+ * cola acotada y espera; un único escritor junta lo que llega durante unos milisegundos
+ * (o hasta completar el lote) y lo guarda en una sola transacción con
+ * {@link EmpleadoService#guardarLote}. Cada llamada recibe su propio resultado: su
+ * empleado con id o su propia excepción, por ejemplo un email duplicado.
+ * <p>
+ * Si la cola está llena el alta se hace directamente, sin agrupar, y lo mismo si la espera
+ * vence antes de que el escritor la tome. Si ya la tomó y no responde a tiempo, la petición
+ * falla. Las altas de distintos inquilinos nunca comparten transacción. El resto de
+ * operaciones se delega sin cambios.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "app.escritura-agrupada", name = "habilitada", havingValue = "true")
+public class EmpleadoServiceAgrupado implements EmpleadoService {
+
+    private record Alta(String inquilino, Empleado empleado, CompletableFuture<Empleado> resultado) {
+    }
+
+    private final EmpleadoService delegado;
+    private final EmpleadoRepository empleadoRepository;
+    private final MeterRegistry registro;
+    private final int tamanioLote;
+    private final long ventanaNanos;
+    private final long esperaMs;
+    private final BlockingQueue<Alta> cola;
+    private final ExecutorService escritor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("altas-agrupadas").factory());
+
+    public EmpleadoServiceAgrupado(EmpleadoServiceImpl delegado,
+                                   EmpleadoRepository empleadoRepository,
+                                   MeterRegistry registro,
+                                   @Value("${app.escritura-agrupada.tamanio-lote:200}") int tamanioLote,
+                                   @Value("${app.escritura-agrupada.ventana-ms:5}") long ventanaMs,
+                                   @Value("${app.escritura-agrupada.capacidad:10000}") int capacidad,
+                                   @Value("${app.escritura-agrupada.espera-ms:5000}") long esperaMs) {
+        this.delegado = delegado;
+        this.empleadoRepository = empleadoRepository;
+        this.registro = registro;
+        this.tamanioLote = tamanioLote;
+        this.ventanaNanos = TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+        this.esperaMs = esperaMs;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        escritor.submit(this::escribir);
+    }
+
+    @PreDestroy
+    public void detener() {
+        escritor.shutdownNow();
+        List<Alta> pendientes = new ArrayList<>();
+        cola.drainTo(pendientes);
+        pendientes.forEach(alta -> alta.resultado().completeExceptionally(
+                new IllegalStateException("Servicio detenido antes de guardar el empleado")));
+    }
+
+    @Override
+    public Empleado guardar(Empleado empleado) {
+        Alta alta = new Alta(ContextoInquilino.actual(), empleado, new CompletableFuture<>());
+        if (!cola.offer(alta)) {
+            registro.counter("empleados.altas.directas").increment();
+            return delegado.guardar(empleado);
+        }
+        try {
+            return alta.resultado().get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Aún en la cola: nadie la guardará, así que se hace aquí. Ya tomada: su suerte es incierta
+            if (cola.remove(alta)) {
+                registro.counter("empleados.altas.directas").increment();
+                return delegado.guardar(empleado);
+            }
+            throw new IllegalStateException("El alta de empleado no se confirmó en " + esperaMs + " ms", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Alta de empleado interrumpida", ex);
+        }
+    }
+
+    private void escribir() {
+        List<Alta> lote = new ArrayList<>(tamanioLote);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(cola.take());
+                long limite = System.nanoTime() + ventanaNanos;
+                while (lote.size() < tamanioLote) {
+                    Alta siguiente = cola.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (siguiente == null) {
+                        break;
+                    }
+                    lote.add(siguiente);
+                }
+                confirmarPorInquilino(lote);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lote.forEach(alta -> alta.resultado().completeExceptionally(
+                        new IllegalStateException("Servicio detenido antes de guardar el empleado")));
+            } catch (Throwable ex) {
+                // También un Error: si el único escritor muriera, ninguna alta posterior terminaría.
+                // Las altas ya resueltas no cambian; las demás reciben el error y el escritor sigue
+                lote.forEach(alta -> alta.resultado().completeExceptionally(ex));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void confirmarPorInquilino(List<Alta> lote) {
+        Map<String, List<Alta>> porInquilino = new LinkedHashMap<>();
+        for (Alta alta : lote) {
+            porInquilino.computeIfAbsent(alta.inquilino(), inquilino -> new ArrayList<>()).add(alta);
+        }
+        porInquilino.forEach((inquilino, altas) -> ContextoInquilino.ejecutarComo(inquilino, () -> {
+            confirmar(altas);
+            return null;
+        }));
+    }
+
+    private void confirmar(List<Alta> altas) {
+        List<Alta> validas = descartarDuplicados(altas);
+        if (validas.isEmpty()) {
+            return;
+        }
+        try {
+            List<Empleado> guardados = delegado.guardarLote(validas.stream().map(Alta::empleado).toList());
+            registro.summary("empleados.altas.lote").record(validas.size());
+            for (int i = 0; i < validas.size(); i++) {
+                validas.get(i).resultado().complete(guardados.get(i));
+            }
+        } catch (RuntimeException ex) {
+            // Un error imprevisto anula el lote entero: cada alta se reintenta sola para recibir su propio resultado
+            registro.counter("empleados.altas.lotes.fallidos").increment();
+            validas.forEach(this::confirmarSola);
+        }
+    }
+
+    // Mismo control que guardar: contra la base y también entre las altas del propio lote
+    private List<Alta> descartarDuplicados(List<Alta> altas) {
+        Set<String> existentes = new HashSet<>(empleadoRepository.findEmailsExistentes(altas.stream()
+                .map(alta -> alta.empleado().getEmail())
+                .filter(Objects::nonNull)
+                .toList()));
+        Set<String> vistos = new HashSet<>();
+        List<Alta> validas = new ArrayList<>(altas.size());
+        for (Alta alta : altas) {
+            String email = alta.empleado().getEmail();
+            if (existentes.contains(email) || !vistos.add(email)) {
+                alta.resultado().completeExceptionally(
+                        new EmailDuplicadoException("El email ya está registrado: " + email));
+            } else {
+                validas.add(alta);
+            }
+        }
+        return validas;
+    }
+
+    private void confirmarSola(Alta alta) {
+        try {
+            // El intento agrupado pudo asignar un id que se deshizo con el rollback
+            alta.empleado().setId(null);
+            alta.resultado().complete(delegado.guardar(alta.empleado()));
+        } catch (RuntimeException ex) {
+            alta.resultado().completeExceptionally(ex);
+        }
+    }
+
+    @Override
+    public List<Empleado> guardarLote(List<Empleado> empleados) {
+        return delegado.guardarLote(empleados);
+    }
+
+    @Override
+    public Empleado buscarPorId(Long id) {
+        return delegado.buscarPorId(id);
+    }
+
+    @Override
+    public Map<String, Object> buscarPorId(Long id, List<String> campos) {
+        return delegado.buscarPorId(id, campos);
+    }
+
+    @Override
+    public List<Empleado> buscarPorDepartamento(String nombreDepartamento) {
+        return delegado.buscarPorDepartamento(nombreDepartamento);
+    }
+
+    @Override
+    public Page<Empleado> filtrar(FiltroEmpleados filtro, Pageable pageable) {
+        return delegado.filtrar(filtro, pageable);
+    }
+
+    @Override
+    public List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        return delegado.buscarPorRangoSalario(salarioMin, salarioMax);
+    }
+
+    @Override
+    public BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId) {
+        return delegado.obtenerSalarioPromedioPorDepartamento(departamentoId);
+    }
+
+    @Override
+    public List<Empleado> buscarPorFechaContratacionPosteriorA(LocalDate fecha) {
+        return delegado.buscarPorFechaContratacionPosteriorA(fecha);
+    }
+
+    @Override
+    public List<Empleado> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+
+    @Override
+    public List<Map<String, Object>> obtenerTodos(List<String> campos) {
+        return delegado.obtenerTodos(campos);
+    }
+
+    @Override
+    public CambiosDesde<Empleado> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite) {
+        return delegado.buscarCambiosDesde(desde, desdeId, limite);
+    }
+
+    @Override
+    public Empleado actualizar(Long id, Empleado empleado) {
+        return delegado.actualizar(id, empleado);
+    }
+
+    @Override
+    public void eliminar(Long id) {
+        delegado.eliminar(id);
+    }
+}
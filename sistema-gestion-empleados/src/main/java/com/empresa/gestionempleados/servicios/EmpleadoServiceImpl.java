@@ -1,27 +1,80 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.FiltroEmpleados;
 import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
 import com.empresa.gestionempleados.exceptions.EmailDuplicadoException;
 import com.empresa.gestionempleados.exceptions.EmpleadoNoEncontradoException;
+import com.empresa.gestionempleados.repositorios.BajaRepository;
 import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoEspecificaciones;
 import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyeccionCamposRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Transactional
 public class EmpleadoServiceImpl implements EmpleadoService {
+    // Propiedades por las que se puede ordenar el filtro; las demás se ignoran
+    private static final Set<String> ORDENABLES =
+            Set.of("id", "nombre", "apellido", "email", "fechaContratacion", "salario");
+
     private final EmpleadoRepository empleadoRepository;
     private final DepartamentoRepository departamentoRepository;
+    private final BajaRepository bajaRepository;
+    private final ProyeccionCamposRepository proyeccionCamposRepository;
+    private final NominaService nominaService;
+    private final HistorialSalarioService historialSalarioService;
+    private final CoalescedorLecturas coalescedor;
+    private final CacheRespuestas cacheRespuestas;
+    private final PaginadorCambios paginador;
+    private final ApplicationEventPublisher eventos;
 
     public EmpleadoServiceImpl(EmpleadoRepository empleadoRepository,
-                               DepartamentoRepository departamentoRepository) {
+                               DepartamentoRepository departamentoRepository,
+                               BajaRepository bajaRepository,
+                               ProyeccionCamposRepository proyeccionCamposRepository,
+                               NominaService nominaService,
+                               HistorialSalarioService historialSalarioService,
+                               CoalescedorLecturas coalescedor,
+                               CacheRespuestas cacheRespuestas,
+                               PaginadorCambios paginador,
+                               ApplicationEventPublisher eventos) {
         this.empleadoRepository = empleadoRepository;
         this.departamentoRepository = departamentoRepository;
+        this.bajaRepository = bajaRepository;
+        this.proyeccionCamposRepository = proyeccionCamposRepository;
+        this.nominaService = nominaService;
+        this.historialSalarioService = historialSalarioService;
+        this.coalescedor = coalescedor;
+        this.cacheRespuestas = cacheRespuestas;
+        this.paginador = paginador;
+        this.eventos = eventos;
     }
 
     @Override
@@ -29,7 +82,31 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         if (empleadoRepository.findByEmail(empleado.getEmail()).isPresent()) {
             throw new EmailDuplicadoException("El email ya está registrado: " + empleado.getEmail());
         }
-        return empleadoRepository.save(empleado);
+        Empleado guardado = empleadoRepository.save(empleado);
+        nominaService.aplicar(departamentoId(guardado), guardado.getSalario(), 1);
+        historialSalarioService.registrar(guardado.getId(), guardado.getSalario(), departamentoId(guardado));
+        cacheRespuestas.invalidarEmpleados(Collections.singletonList(departamentoId(guardado)));
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.CREACION, guardado.getId()));
+        return guardado;
+    }
+
+    // Una sola transacción para todo el lote; la nómina se ajusta una vez por departamento
+    @Override
+    public List<Empleado> guardarLote(List<Empleado> empleados) {
+        List<Empleado> guardados = empleadoRepository.saveAll(empleados);
+        Map<Long, BigDecimal> totales = new HashMap<>();
+        Map<Long, Long> cantidades = new HashMap<>();
+        for (Empleado guardado : guardados) {
+            totales.merge(departamentoId(guardado), guardado.getSalario(), BigDecimal::add);
+            cantidades.merge(departamentoId(guardado), 1L, Long::sum);
+        }
+        totales.forEach((departamentoId, total) ->
+                nominaService.aplicar(departamentoId, total, cantidades.get(departamentoId)));
+        List<Long> ids = guardados.stream().map(Empleado::getId).toList();
+        historialSalarioService.registrarLote(ids, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        cacheRespuestas.invalidarEmpleados(totales.keySet());
+        ids.forEach(id -> eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.CREACION, id)));
+        return guardados;
     }
 
     @Override
@@ -39,8 +116,39 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    public Map<String, Object> buscarPorId(Long id, List<String> campos) {
+        return proyeccionCamposRepository.findById(Empleado.class, id, campos)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+    }
+
+    // SUPPORTS: quien espera una lectura ya en curso no abre transacción ni toma conexión.
+    // Solo se comparten los ids; cada llamante carga las entidades en su propia sesión
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public List<Empleado> buscarPorDepartamento(String nombreDepartamento) {
-        return empleadoRepository.findByNombreDepartamento(nombreDepartamento);
+        // La respuesta cacheada caduca con cualquier alta, baja o cambio en esos departamentos
+        if (cacheRespuestas.capturando()) {
+            cacheRespuestas.dependeDeDepartamentos(departamentoRepository.findIdsByNombre(nombreDepartamento));
+        }
+        List<Long> ids = coalescedor.ejecutar("empleados.porDepartamento",
+                () -> empleadoRepository.findIdsByNombreDepartamento(nombreDepartamento), nombreDepartamento);
+        return ids.isEmpty() ? new ArrayList<>() : empleadoRepository.findByIdInOrderById(ids);
+    }
+
+    // Un nombre de departamento se resuelve antes a ids para filtrar por la columna indexada
+    @Override
+    public Page<Empleado> filtrar(FiltroEmpleados filtro, Pageable pageable) {
+        List<Long> departamentoIds = filtro.departamentoId() != null ? List.of(filtro.departamentoId()) : null;
+        if (filtro.departamento() != null) {
+            List<Long> porNombre = departamentoRepository.findIdsByNombre(filtro.departamento());
+            departamentoIds = departamentoIds == null ? porNombre
+                    : departamentoIds.stream().filter(porNombre::contains).toList();
+        }
+        PageRequest pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), orden(pageable.getSort()));
+        if (departamentoIds != null && departamentoIds.isEmpty()) {
+            return Page.empty(pagina);
+        }
+        return empleadoRepository.findAll(EmpleadoEspecificaciones.filtro(filtro, departamentoIds), pagina);
     }
 
     @Override
@@ -49,9 +157,11 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     }
 
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId) {
-        return empleadoRepository.findAverageSalarioByDepartamento(departamentoId)
-                .orElse(BigDecimal.ZERO);
+        return coalescedor.ejecutar("empleados.salarioPromedio",
+                () -> empleadoRepository.findAverageSalarioByDepartamento(departamentoId).orElse(BigDecimal.ZERO),
+                departamentoId);
     }
 
     @Override
@@ -64,20 +174,67 @@ public class EmpleadoServiceImpl implements EmpleadoService {
         return empleadoRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> obtenerTodos(List<String> campos) {
+        return proyeccionCamposRepository.findAll(Empleado.class, campos);
+    }
+
+    @Override
+    public CambiosDesde<Empleado> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite) {
+        int tamanio = PaginadorCambios.limite(limite);
+        LocalDateTime corte = paginador.corte();
+        List<Empleado> filas = empleadoRepository.findCambiosDesde(desde, desdeId != null ? desdeId : 0L, corte,
+                Limit.of(tamanio + 1));
+        return paginador.paginar(filas, tamanio, desde, corte, Empleado::getFechaActualizacion, Empleado::getId,
+                (inicio, fin) -> bajaRepository.findEntidadIdsEliminadas(TipoEntidad.EMPLEADO, inicio, fin));
+    }
+
     @Override
     public Empleado actualizar(Long id, Empleado empleado) {
-        if (!empleadoRepository.existsById(id)) {
-            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
-        }
+        EstadoSalarial anterior = empleadoRepository.findEstadoSalarialBloqueadoById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
         empleado.setId(id);
-        return empleadoRepository.save(empleado);
+        Empleado actualizado = empleadoRepository.save(empleado);
+        nominaService.aplicar(anterior.departamentoId(), anterior.salario().negate(), -1);
+        nominaService.aplicar(departamentoId(actualizado), actualizado.getSalario(), 1);
+        if (cambioSalarial(anterior, actualizado)) {
+            historialSalarioService.registrar(id, actualizado.getSalario(), departamentoId(actualizado));
+        }
+        cacheRespuestas.invalidarEmpleados(Arrays.asList(anterior.departamentoId(), departamentoId(actualizado)));
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, id));
+        return actualizado;
     }
 
     @Override
     public void eliminar(Long id) {
-        if (!empleadoRepository.existsById(id)) {
-            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
-        }
+        EstadoSalarial anterior = empleadoRepository.findEstadoSalarialBloqueadoById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
         empleadoRepository.deleteById(id);
+        nominaService.aplicar(anterior.departamentoId(), anterior.salario().negate(), -1);
+        historialSalarioService.registrarBajas(List.of(id));
+        cacheRespuestas.invalidarEmpleados(Collections.singletonList(anterior.departamentoId()));
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ELIMINACION, id));
+    }
+
+    // Solo propiedades simples; el id desempata para que las páginas sean estables
+    private static Sort orden(Sort pedido) {
+        List<Sort.Order> ordenes = new ArrayList<>(pedido.stream()
+                .filter(o -> ORDENABLES.contains(o.getProperty()))
+                .toList());
+        if (ordenes.stream().noneMatch(o -> o.getProperty().equals("id"))) {
+            ordenes.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(ordenes);
+    }
+
+    private static Long departamentoId(Empleado empleado) {
+        return empleado.getDepartamento() != null ? empleado.getDepartamento().getId() : null;
+    }
+
+    private static boolean cambioSalarial(EstadoSalarial anterior, Empleado actualizado) {
+        boolean mismoSalario = anterior.salario() != null && actualizado.getSalario() != null
+                ? anterior.salario().compareTo(actualizado.getSalario()) == 0
+                : Objects.equals(anterior.salario(), actualizado.getSalario());
+        return !mismoSalario || !Objects.equals(anterior.departamentoId(), departamentoId(actualizado));
     }
 }
@@ -0,0 +1,19 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.NominaHistorica;
+import com.empresa.gestionempleados.dto.SalarioVigente;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface HistorialSalarioService {
+    void registrar(Long empleadoId, BigDecimal salario, Long departamentoId);
+    void registrarLote(Collection<Long> empleadoIds, LocalDateTime fecha);
+    void registrarLoteDepartamento(Long departamentoId, LocalDateTime fecha);
+    void registrarBajas(Collection<Long> empleadoIds);
+    SalarioVigente buscarSalarioAl(Long empleadoId, LocalDate fecha);
+    NominaHistorica buscarNominaAl(Long departamentoId, LocalDate fecha);
+    void completarHistorialInicial();
+}
@@ -0,0 +1,85 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.NominaHistorica;
+import com.empresa.gestionempleados.dto.SalarioVigente;
+import com.empresa.gestionempleados.entidades.HistorialSalario;
+import com.empresa.gestionempleados.exceptions.EmpleadoNoEncontradoException;
+import com.empresa.gestionempleados.repositorios.HistorialSalarioRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+@Service
+@Transactional
+public class HistorialSalarioServiceImpl implements HistorialSalarioService {
+
+    private final HistorialSalarioRepository historialSalarioRepository;
+
+    public HistorialSalarioServiceImpl(HistorialSalarioRepository historialSalarioRepository) {
+        this.historialSalarioRepository = historialSalarioRepository;
+    }
+
+    @Override
+    public void registrar(Long empleadoId, BigDecimal salario, Long departamentoId) {
+        historialSalarioRepository.save(new HistorialSalario(null, empleadoId, salario, departamentoId, ahora()));
+    }
+
+    @Override
+    public void registrarLote(Collection<Long> empleadoIds, LocalDateTime fecha) {
+        if (!empleadoIds.isEmpty()) {
+            historialSalarioRepository.registrarDesdeEmpleados(empleadoIds, fecha);
+        }
+    }
+
+    @Override
+    public void registrarLoteDepartamento(Long departamentoId, LocalDateTime fecha) {
+        historialSalarioRepository.registrarDesdeDepartamento(departamentoId, fecha);
+    }
+
+    @Override
+    public void registrarBajas(Collection<Long> empleadoIds) {
+        LocalDateTime fecha = ahora();
+        historialSalarioRepository.saveAll(empleadoIds.stream()
+                .map(id -> new HistorialSalario(null, id, null, null, fecha))
+                .toList());
+    }
+
+    @Override
+    public SalarioVigente buscarSalarioAl(Long empleadoId, LocalDate fecha) {
+        return historialSalarioRepository
+                .findFirstByEmpleadoIdAndVigenteDesdeLessThanOrderByVigenteDesdeDesc(empleadoId, finDelDia(fecha))
+                .filter(historial -> historial.getSalario() != null)
+                .map(historial -> new SalarioVigente(historial.getEmpleadoId(), historial.getSalario(),
+                        historial.getDepartamentoId(), historial.getVigenteDesde()))
+                .orElseThrow(() -> new EmpleadoNoEncontradoException(
+                        "Sin salario vigente al " + fecha + " para el empleado con ID: " + empleadoId));
+    }
+
+    @Override
+    public NominaHistorica buscarNominaAl(Long departamentoId, LocalDate fecha) {
+        return NominaHistorica.desde(departamentoId, fecha,
+                historialSalarioRepository.findVigentesPorDepartamento(departamentoId, finDelDia(fecha)));
+    }
+
+    // Los empleados anteriores al historial toman su salario actual desde la fecha de contratación
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarHistorialInicial() {
+        historialSalarioRepository.registrarEmpleadosSinHistorial();
+    }
+
+    private static LocalDateTime finDelDia(LocalDate fecha) {
+        return fecha.plusDays(1).atStartOfDay();
+    }
+
+    private static LocalDateTime ahora() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,10 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.ResultadoImportacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacionEmpleadosService {
+    ResultadoImportacion importar(InputStream csv) throws IOException;
+}
@@ -0,0 +1,272 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.ErrorImportacion;
+import com.empresa.gestionempleados.dto.ReferenciaDepartamento;
+import com.empresa.gestionempleados.dto.ResultadoImportacion;
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Importa empleados desde un CSV en tres etapas: el hilo de la petición lee el archivo
+ * por lotes, cada lote se valida en paralelo y los lotes válidos pasan por una cola
+ * acotada a un único escritor. Si el escritor se atrasa, la cola llena frena la lectura.
+ */
+@Service
+public class ImportacionEmpleadosServiceImpl implements ImportacionEmpleadosService {
+
+    private static final List<String> COLUMNAS = List.of("nombre", "apellido", "email", "fechaContratacion", "salario");
+    private static final String COLUMNA_DEPARTAMENTO = "departamento";
+    private static final List<String> COLUMNAS_CONOCIDAS = List.of("nombre", "apellido", "email", "fechaContratacion",
+            "salario", COLUMNA_DEPARTAMENTO);
+    private static final List<FilaValida> FIN = List.of();
+
+    private record FilaCsv(long linea, List<String> campos) {
+    }
+
+    private record FilaConvertida(long linea, Empleado empleado, List<String> errores) {
+    }
+
+    private record FilaValida(long linea, Empleado empleado) {
+    }
+
+    private final EmpleadoService empleadoService;
+    private final EmpleadoRepository empleadoRepository;
+    private final DepartamentoRepository departamentoRepository;
+    private final Validator validator;
+    private final int tamanioLote;
+    private final int lotesEnCola;
+    private final ExecutorService escritores = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImportacionEmpleadosServiceImpl(EmpleadoService empleadoService,
+                                           EmpleadoRepository empleadoRepository,
+                                           DepartamentoRepository departamentoRepository,
+                                           Validator validator,
+                                           @Value("${app.importacion.tamanio-lote:500}") int tamanioLote,
+                                           @Value("${app.importacion.lotes-en-cola:4}") int lotesEnCola) {
+        this.empleadoService = empleadoService;
+        this.empleadoRepository = empleadoRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.validator = validator;
+        this.tamanioLote = tamanioLote;
+        this.lotesEnCola = lotesEnCola;
+    }
+
+    @PreDestroy
+    public void detener() {
+        escritores.shutdownNow();
+    }
+
+    @Override
+    public ResultadoImportacion importar(InputStream csv) throws IOException {
+        List<ErrorImportacion> errores = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong importadas = new AtomicLong();
+        long filas = 0;
+
+        try (LectorCsv lector = new LectorCsv(csv)) {
+            List<String> cabecera = lector.siguiente();
+            Map<String, Integer> columnas = cabecera != null ? columnas(cabecera) : Map.of();
+            List<String> faltantes = COLUMNAS.stream().filter(columna -> !columnas.containsKey(columna)).toList();
+            if (!faltantes.isEmpty()) {
+                return new ResultadoImportacion(0, 0,
+                        List.of(new ErrorImportacion(1, "Faltan columnas en la cabecera: " + String.join(", ", faltantes))));
+            }
+
+            Map<String, Long> departamentos = departamentoRepository.findReferencias().stream()
+                    .collect(Collectors.toMap(d -> clave(d.nombre()), ReferenciaDepartamento::id, (a, b) -> a));
+            Set<String> emailsVistos = new HashSet<>();
+            BlockingQueue<List<FilaValida>> cola = new ArrayBlockingQueue<>(lotesEnCola);
+            Future<?> escritor = escritores.submit(ContextoInquilino.propagar(() -> escribir(cola, errores, importadas)));
+            try {
+                List<FilaCsv> pendientes = new ArrayList<>(tamanioLote);
+                List<String> campos;
+                while ((campos = lector.siguiente()) != null) {
+                    filas++;
+                    pendientes.add(new FilaCsv(lector.linea(), campos));
+                    if (pendientes.size() == tamanioLote) {
+                        encolar(cola, validar(pendientes, columnas, departamentos, emailsVistos, errores), escritor);
+                        pendientes = new ArrayList<>(tamanioLote);
+                    }
+                }
+                if (!pendientes.isEmpty()) {
+                    encolar(cola, validar(pendientes, columnas, departamentos, emailsVistos, errores), escritor);
+                }
+                encolar(cola, FIN, escritor);
+                escritor.get();
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importación interrumpida", ex);
+            } finally {
+                escritor.cancel(true);
+            }
+        }
+
+        List<ErrorImportacion> ordenados = new ArrayList<>(errores);
+        ordenados.sort(Comparator.comparingLong(ErrorImportacion::fila));
+        return new ResultadoImportacion(filas, importadas.get(), ordenados);
+    }
+
+    private List<FilaValida> validar(List<FilaCsv> lote, Map<String, Integer> columnas, Map<String, Long> departamentos,
+                                     Set<String> emailsVistos, List<ErrorImportacion> errores) {
+        List<FilaConvertida> convertidas = lote.parallelStream()
+                .map(fila -> convertir(fila, columnas, departamentos))
+                .toList();
+
+        // Los controles de unicidad dependen del orden del archivo, por eso van después y en secuencia
+        Set<String> existentes = new HashSet<>(empleadoRepository.findEmailsExistentes(convertidas.stream()
+                .filter(fila -> fila.errores().isEmpty())
+                .map(fila -> fila.empleado().getEmail())
+                .toList()));
+        List<FilaValida> validas = new ArrayList<>(convertidas.size());
+        for (FilaConvertida fila : convertidas) {
+            String email = fila.empleado().getEmail();
+            if (!fila.errores().isEmpty()) {
+                errores.add(new ErrorImportacion(fila.linea(), String.join("; ", fila.errores())));
+            } else if (existentes.contains(email)) {
+                errores.add(new ErrorImportacion(fila.linea(), "El email ya está registrado: " + email));
+            } else if (!emailsVistos.add(email)) {
+                errores.add(new ErrorImportacion(fila.linea(), "El email está repetido en el archivo: " + email));
+            } else {
+                validas.add(new FilaValida(fila.linea(), fila.empleado()));
+            }
+        }
+        return validas;
+    }
+
+    private FilaConvertida convertir(FilaCsv fila, Map<String, Integer> columnas, Map<String, Long> departamentos) {
+        List<String> errores = new ArrayList<>();
+        Empleado empleado = new Empleado();
+        empleado.setNombre(campo(fila, columnas, "nombre"));
+        empleado.setApellido(campo(fila, columnas, "apellido"));
+        empleado.setEmail(campo(fila, columnas, "email"));
+
+        String fecha = campo(fila, columnas, "fechaContratacion");
+        if (fecha != null) {
+            try {
+                empleado.setFechaContratacion(LocalDate.parse(fecha));
+            } catch (DateTimeParseException ex) {
+                errores.add("fechaContratacion: formato inválido, se espera AAAA-MM-DD");
+            }
+        }
+        String salario = campo(fila, columnas, "salario");
+        if (salario != null) {
+            try {
+                empleado.setSalario(new BigDecimal(salario));
+            } catch (NumberFormatException ex) {
+                errores.add("salario: no es un número");
+            }
+        }
+        String departamento = campo(fila, columnas, COLUMNA_DEPARTAMENTO);
+        if (departamento != null) {
+            Long departamentoId = departamentos.get(clave(departamento));
+            if (departamentoId == null) {
+                errores.add("departamento: no existe '" + departamento + "'");
+            } else {
+                Departamento referencia = new Departamento();
+                referencia.setId(departamentoId);
+                empleado.setDepartamento(referencia);
+            }
+        }
+
+        validator.validate(empleado).forEach(violacion ->
+                errores.add(violacion.getPropertyPath() + ": " + violacion.getMessage()));
+        Collections.sort(errores);
+        return new FilaConvertida(fila.linea(), empleado, errores);
+    }
+
+    private void escribir(BlockingQueue<List<FilaValida>> cola, List<ErrorImportacion> errores, AtomicLong importadas) {
+        try {
+            List<FilaValida> lote;
+            while ((lote = cola.take()) != FIN) {
+                try {
+                    empleadoService.guardarLote(lote.stream().map(FilaValida::empleado).toList());
+                    importadas.addAndGet(lote.size());
+                } catch (RuntimeException ex) {
+                    guardarDeAUno(lote, errores, importadas);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Si el lote falla (por ejemplo por un email insertado mientras tanto) se aísla la fila culpable
+    private void guardarDeAUno(List<FilaValida> lote, List<ErrorImportacion> errores, AtomicLong importadas) {
+        for (FilaValida fila : lote) {
+            fila.empleado().setId(null);
+            try {
+                empleadoService.guardarLote(List.of(fila.empleado()));
+                importadas.incrementAndGet();
+            } catch (RuntimeException ex) {
+                errores.add(new ErrorImportacion(fila.linea(), "No se pudo guardar: " + ex.getMessage()));
+            }
+        }
+    }
+
+    private void encolar(BlockingQueue<List<FilaValida>> cola, List<FilaValida> lote, Future<?> escritor)
+            throws InterruptedException, ExecutionException {
+        while (!cola.offer(lote, 1, TimeUnit.SECONDS)) {
+            if (escritor.isDone()) {
+                escritor.get();
+                throw new IllegalStateException("El escritor de la importación terminó antes de tiempo");
+            }
+        }
+    }
+
+    private static Map<String, Integer> columnas(List<String> cabecera) {
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            for (String columna : COLUMNAS_CONOCIDAS) {
+                if (columna.equalsIgnoreCase(cabecera.get(i))) {
+                    columnas.putIfAbsent(columna, i);
+                }
+            }
+        }
+        return columnas;
+    }
+
+    private static String campo(FilaCsv fila, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= fila.campos().size()) {
+            return null;
+        }
+        String valor = fila.campos().get(indice);
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String clave(String nombreDepartamento) {
+        return nombreDepartamento.trim().toLowerCase(Locale.ROOT);
+    }
+}
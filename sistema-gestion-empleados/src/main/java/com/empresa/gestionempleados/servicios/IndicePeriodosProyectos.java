@@ -0,0 +1,78 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.analitica.ArbolIntervalos;
+import com.empresa.gestionempleados.dto.PeriodoProyecto;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene un {@link ArbolIntervalos} por inquilino con las fechas de los proyectos.
+ * Se construye en la primera consulta; después cada proyecto creado, modificado o
+ * eliminado se marca como pendiente y se relee antes de la siguiente consulta.
+ */
+@Component
+public class IndicePeriodosProyectos {
+
+    private record Estado(ArbolIntervalos arbol, Set<Long> pendientes) {
+    }
+
+    private final ProyectoRepository proyectoRepository;
+    // Un árbol por inquilino; la clave vacía es el inquilino por defecto
+    private final Map<String, Estado> estados = new ConcurrentHashMap<>();
+
+    public IndicePeriodosProyectos(ProyectoRepository proyectoRepository) {
+        this.proyectoRepository = proyectoRepository;
+    }
+
+    public ArbolIntervalos arbol() {
+        Estado estado = estados.computeIfAbsent(claveInquilino(), clave -> construir());
+        List<Long> pendientes = List.copyOf(estado.pendientes());
+        if (!pendientes.isEmpty()) {
+            estado.pendientes().removeAll(pendientes);
+            List<PeriodoProyecto> periodos = proyectoRepository.findPeriodosByIds(pendientes);
+            periodos.forEach(periodo -> agregar(estado.arbol(), periodo));
+            // Los que ya no están en la base fueron eliminados
+            Set<Long> vigentes = periodos.stream().map(PeriodoProyecto::id).collect(Collectors.toSet());
+            pendientes.stream().filter(id -> !vigentes.contains(id)).forEach(estado.arbol()::quitar);
+        }
+        return estado.arbol();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmar(CambioEntidad cambio) {
+        Estado estado = estados.get(claveInquilino());
+        if (estado != null && cambio.tipo() == TipoEntidad.PROYECTO) {
+            estado.pendientes().add(cambio.id());
+        }
+    }
+
+    // Para cambios que no pasan por los servicios, como cargas directas en la base
+    public void reconstruir() {
+        estados.put(claveInquilino(), construir());
+    }
+
+    private Estado construir() {
+        ArbolIntervalos arbol = new ArbolIntervalos();
+        proyectoRepository.findPeriodos().forEach(periodo -> agregar(arbol, periodo));
+        return new Estado(arbol, ConcurrentHashMap.newKeySet());
+    }
+
+    private static void agregar(ArbolIntervalos arbol, PeriodoProyecto periodo) {
+        arbol.insertar(periodo.id(), periodo.fechaInicio(), periodo.fechaFin());
+    }
+
+    private static String claveInquilino() {
+        return Objects.requireNonNullElse(ContextoInquilino.actual(), "");
+    }
+}
@@ -0,0 +1,79 @@
+package com.empresa.gestionempleados.servicios;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un CSV línea por línea sin cargarlo completo. Admite campos entre comillas
+ * con comas y comillas dobles escapadas, pero no saltos de línea dentro de un campo.
+ */
+final class LectorCsv implements Closeable {
+
+    private final BufferedReader lector;
+    private long linea;
+
+    LectorCsv(InputStream entrada) {
+        this.lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve los campos de la siguiente línea no vacía, o {@code null} al llegar al final.
+     */
+    List<String> siguiente() throws IOException {
+        String texto;
+        do {
+            texto = lector.readLine();
+            if (texto == null) {
+                return null;
+            }
+            linea++;
+            if (linea == 1 && texto.startsWith("\uFEFF")) {
+                texto = texto.substring(1);
+            }
+        } while (texto.isBlank());
+        return separar(texto);
+    }
+
+    long linea() {
+        return linea;
+    }
+
+    static List<String> separar(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.ProyectoResumen;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+public interface LecturaReactivaService {
+    Flux<EmpleadoFila> buscarEmpleadosPorDepartamento(String nombreDepartamento);
+    Flux<EmpleadoFila> buscarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    Flux<ProyectoResumen> buscarProyectosActivos();
+}
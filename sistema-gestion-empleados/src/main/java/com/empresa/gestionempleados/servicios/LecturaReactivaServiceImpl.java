@@ -0,0 +1,37 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.ProyectoResumen;
+import com.empresa.gestionempleados.repositorios.LecturaReactivaRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+@ConditionalOnProperty(prefix = "app.lectura-reactiva", name = "habilitada", havingValue = "true")
+public class LecturaReactivaServiceImpl implements LecturaReactivaService {
+
+    private final LecturaReactivaRepository lecturaReactivaRepository;
+
+    public LecturaReactivaServiceImpl(LecturaReactivaRepository lecturaReactivaRepository) {
+        this.lecturaReactivaRepository = lecturaReactivaRepository;
+    }
+
+    @Override
+    public Flux<EmpleadoFila> buscarEmpleadosPorDepartamento(String nombreDepartamento) {
+        return lecturaReactivaRepository.findEmpleadosByNombreDepartamento(nombreDepartamento);
+    }
+
+    @Override
+    public Flux<EmpleadoFila> buscarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        return lecturaReactivaRepository.findEmpleadosBySalarioBetween(salarioMin, salarioMax);
+    }
+
+    @Override
+    public Flux<ProyectoResumen> buscarProyectosActivos() {
+        return lecturaReactivaRepository.findProyectosActivos(LocalDate.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.ProyectoCompartido;
+import com.empresa.gestionempleados.dto.ResultadoMembresia;
+
+import java.util.List;
+
+public interface MembresiaService {
+    void reconstruir();
+    ResultadoMembresia interseccion(List<Long> proyectoIds);
+    ResultadoMembresia union(List<Long> proyectoIds);
+    ResultadoMembresia diferencia(List<Long> proyectoIds, List<Long> excluidos);
+    ResultadoMembresia sinProyecto();
+    List<ProyectoCompartido> compartenPersonal(Long proyectoId);
+}
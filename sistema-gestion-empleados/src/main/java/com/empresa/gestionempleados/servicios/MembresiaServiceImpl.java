@@ -0,0 +1,137 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.analitica.IndiceMembresias;
+import com.empresa.gestionempleados.dto.Membresia;
+import com.empresa.gestionempleados.dto.ProyectoCompartido;
+import com.empresa.gestionempleados.dto.ResultadoMembresia;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.empresa.gestionempleados.exceptions.ProyectoNoEncontradoException;
+import com.empresa.gestionempleados.multitenencia.ContextoInquilino;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responde las consultas de pertenencia a proyectos desde un {@link IndiceMembresias}
+ * por inquilino. El índice se construye en la primera consulta y después se mantiene con
+ * los eventos de cambio confirmados.
+ */
+@Service
+public class MembresiaServiceImpl implements MembresiaService {
+
+    // Ids por consulta al releer empleados pendientes
+    private static final int TAMANIO_BLOQUE = 1000;
+
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    // Un índice por inquilino; la clave vacía es el inquilino por defecto
+    private final Map<String, IndiceMembresias> indices = new ConcurrentHashMap<>();
+
+    public MembresiaServiceImpl(EmpleadoRepository empleadoRepository, ProyectoRepository proyectoRepository) {
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+    }
+
+    // Para cambios que no pasan por los servicios, como cargas directas en la base
+    @Override
+    public void reconstruir() {
+        indices.put(claveInquilino(), construir());
+    }
+
+    @Override
+    public ResultadoMembresia interseccion(List<Long> proyectoIds) {
+        IndiceMembresias indice = indice();
+        validar(indice, proyectoIds);
+        return ResultadoMembresia.de(indice.interseccion(proyectoIds));
+    }
+
+    @Override
+    public ResultadoMembresia union(List<Long> proyectoIds) {
+        IndiceMembresias indice = indice();
+        validar(indice, proyectoIds);
+        return ResultadoMembresia.de(indice.union(proyectoIds));
+    }
+
+    @Override
+    public ResultadoMembresia diferencia(List<Long> proyectoIds, List<Long> excluidos) {
+        IndiceMembresias indice = indice();
+        validar(indice, proyectoIds);
+        validar(indice, excluidos);
+        return ResultadoMembresia.de(indice.diferencia(proyectoIds, excluidos));
+    }
+
+    @Override
+    public ResultadoMembresia sinProyecto() {
+        return ResultadoMembresia.de(indice().sinProyecto());
+    }
+
+    @Override
+    public List<ProyectoCompartido> compartenPersonal(Long proyectoId) {
+        IndiceMembresias indice = indice();
+        validar(indice, List.of(proyectoId));
+        return indice.compartidos(proyectoId);
+    }
+
+    // Los empleados solo se marcan: se releen juntos antes de la próxima consulta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alConfirmar(CambioEntidad cambio) {
+        IndiceMembresias indice = indices.get(claveInquilino());
+        if (indice == null) {
+            return;
+        }
+        if (cambio.tipo() == TipoEntidad.EMPLEADO) {
+            indice.marcarPendiente(cambio.id());
+        } else if (cambio.tipo() == TipoEntidad.PROYECTO && cambio.operacion() == Operacion.CREACION) {
+            indice.agregarProyecto(cambio.id());
+        } else if (cambio.tipo() == TipoEntidad.PROYECTO && cambio.operacion() == Operacion.ELIMINACION) {
+            indice.quitarProyecto(cambio.id());
+        }
+    }
+
+    private IndiceMembresias indice() {
+        IndiceMembresias indice = indices.computeIfAbsent(claveInquilino(), clave -> construir());
+        List<Long> pendientes = indice.tomarPendientes();
+        for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_BLOQUE) {
+            List<Long> bloque = pendientes.subList(desde, Math.min(desde + TAMANIO_BLOQUE, pendientes.size()));
+            Map<Long, List<Long>> proyectosPorEmpleado = new HashMap<>();
+            for (Membresia membresia : empleadoRepository.findMembresiasByEmpleadoIds(bloque)) {
+                List<Long> proyectos = proyectosPorEmpleado.computeIfAbsent(membresia.empleadoId(),
+                        id -> new ArrayList<>());
+                if (membresia.proyectoId() != null) {
+                    proyectos.add(membresia.proyectoId());
+                }
+            }
+            indice.actualizar(bloque, proyectosPorEmpleado);
+        }
+        return indice;
+    }
+
+    private IndiceMembresias construir() {
+        IndiceMembresias indice = new IndiceMembresias();
+        proyectoRepository.findAllIds().forEach(indice::agregarProyecto);
+        empleadoRepository.findMembresias().forEach(indice::cargar);
+        return indice;
+    }
+
+    private static void validar(IndiceMembresias indice, List<Long> proyectoIds) {
+        for (Long proyectoId : proyectoIds) {
+            if (!indice.contieneProyecto(proyectoId)) {
+                throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId);
+            }
+        }
+    }
+
+    private static String claveInquilino() {
+        return Objects.requireNonNullElse(ContextoInquilino.actual(), "");
+    }
+}
@@ -0,0 +1,13 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.entidades.NominaDepartamento;
+
+import java.math.BigDecimal;
+
+public interface NominaService {
+    NominaDepartamento buscarPorDepartamento(Long departamentoId);
+    void registrarDepartamento(Long departamentoId);
+    void eliminarDepartamento(Long departamentoId);
+    void aplicar(Long departamentoId, BigDecimal deltaSalarios, long deltaEmpleados);
+    void recalcular();
+}
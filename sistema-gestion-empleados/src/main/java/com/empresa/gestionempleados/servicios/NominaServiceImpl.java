@@ -0,0 +1,57 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.entidades.NominaDepartamento;
+import com.empresa.gestionempleados.exceptions.DepartamentoNoEncontradoException;
+import com.empresa.gestionempleados.repositorios.NominaDepartamentoRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+@Transactional
+public class NominaServiceImpl implements NominaService {
+
+    private final NominaDepartamentoRepository nominaDepartamentoRepository;
+
+    public NominaServiceImpl(NominaDepartamentoRepository nominaDepartamentoRepository) {
+        this.nominaDepartamentoRepository = nominaDepartamentoRepository;
+    }
+
+    @Override
+    public NominaDepartamento buscarPorDepartamento(Long departamentoId) {
+        return nominaDepartamentoRepository.findById(departamentoId)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + departamentoId));
+    }
+
+    @Override
+    public void registrarDepartamento(Long departamentoId) {
+        nominaDepartamentoRepository.save(new NominaDepartamento(departamentoId, BigDecimal.ZERO, 0L));
+    }
+
+    @Override
+    public void eliminarDepartamento(Long departamentoId) {
+        nominaDepartamentoRepository.deleteById(departamentoId);
+    }
+
+    @Override
+    public void aplicar(Long departamentoId, BigDecimal deltaSalarios, long deltaEmpleados) {
+        BigDecimal delta = deltaSalarios != null ? deltaSalarios : BigDecimal.ZERO;
+        if (departamentoId == null || (delta.signum() == 0 && deltaEmpleados == 0)) {
+            return;
+        }
+        if (nominaDepartamentoRepository.sumar(departamentoId, delta, deltaEmpleados) == 0) {
+            nominaDepartamentoRepository.save(new NominaDepartamento(departamentoId, delta, deltaEmpleados));
+        }
+    }
+
+    // Se reconstruye al arrancar por si hubo escrituras fuera de la aplicación
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalcular() {
+        nominaDepartamentoRepository.vaciar();
+        nominaDepartamentoRepository.recalcularDesdeEmpleados();
+    }
+}
@@ -0,0 +1,61 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Arma las páginas de sincronización incremental a partir de una consulta por
+ * cursor (fecha_actualizacion, id) que trae una fila de más para saber si sigue.
+ * <p>
+ * fecha_actualizacion se fija al hacer flush, antes del commit: una transacción en curso
+ * puede confirmar después filas con una fecha anterior a la de la lectura. Por eso solo
+ * se entregan filas anteriores a un corte que va {@code app.cambios.margen-confirmacion-ms}
+ * por detrás del reloj, y el cursor nunca avanza más allá de ese corte.
+ */
+@Component
+class PaginadorCambios {
+
+    static final int LIMITE_MAXIMO = 1000;
+
+    private final Duration margenConfirmacion;
+
+    PaginadorCambios(@Value("${app.cambios.margen-confirmacion-ms:30000}") long margenConfirmacionMs) {
+        this.margenConfirmacion = Duration.ofMillis(margenConfirmacionMs);
+    }
+
+    static int limite(int solicitado) {
+        return Math.max(1, Math.min(solicitado, LIMITE_MAXIMO));
+    }
+
+    /** Fecha hasta la que (sin incluirla) se puede leer sin perder transacciones aún abiertas. */
+    LocalDateTime corte() {
+        return LocalDateTime.now().minus(margenConfirmacion);
+    }
+
+    /** {@code filas} debe venir acotada a fechas anteriores a {@code corte}. */
+    <T> CambiosDesde<T> paginar(List<T> filas, int limite, LocalDateTime desde, LocalDateTime corte,
+                                Function<T, LocalDateTime> fecha, Function<T, Long> id,
+                                BiFunction<LocalDateTime, LocalDateTime, List<Long>> bajas) {
+        boolean hayMas = filas.size() > limite;
+        List<T> pagina = List.copyOf(hayMas ? filas.subList(0, limite) : filas);
+
+        // Sin más filas el cursor queda en el corte con id 0: lo que tenga justo esa fecha sale en la próxima
+        LocalDateTime hasta = corte;
+        Long hastaId = 0L;
+        if (hayMas) {
+            T ultima = pagina.get(pagina.size() - 1);
+            hasta = fecha.apply(ultima);
+            hastaId = id.apply(ultima);
+        }
+        // Las bajas se informan por ventana de tiempo alineada con el cursor de la página
+        List<Long> eliminados = bajas.apply(desde, hasta);
+        return new CambiosDesde<>(pagina, eliminados, hasta, hastaId, hayMas);
+    }
+}
@@ -1,14 +1,26 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.ProyectoDetalle;
 import com.empresa.gestionempleados.entidades.Proyecto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface ProyectoService {
     Proyecto guardar(Proyecto proyecto);
     Proyecto buscarPorId(Long id);
+    Map<String, Object> buscarPorId(Long id, List<String> campos);
+    ProyectoDetalle buscarDetallePorId(Long id);
     List<Proyecto> buscarProyectosActivos();
+    List<Proyecto> buscarActivosEntre(LocalDate desde, LocalDate hasta);
+    List<Proyecto> buscarActivosEn(LocalDate fecha);
+    List<Proyecto> buscarSolapados(Long id);
     List<Proyecto> obtenerTodos();
+    List<Map<String, Object>> obtenerTodos(List<String> campos);
+    CambiosDesde<Proyecto> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite);
     Proyecto actualizar(Long id, Proyecto proyecto);
     void eliminar(Long id);
 }
@@ -1,27 +1,69 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.analitica.ArbolIntervalos;
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.CambiosDesde;
+import com.empresa.gestionempleados.dto.ProyectoDetalle;
 import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
 import com.empresa.gestionempleados.exceptions.ProyectoNoEncontradoException;
+import com.empresa.gestionempleados.exceptions.RangoFechasInvalidoException;
+import com.empresa.gestionempleados.repositorios.BajaRepository;
+import com.empresa.gestionempleados.repositorios.ProyeccionCamposRepository;
 import com.empresa.gestionempleados.repositorios.ProyectoRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProyectoServiceImpl implements ProyectoService {
 
     private final ProyectoRepository proyectoRepository;
+    private final BajaRepository bajaRepository;
+    private final ProyeccionCamposRepository proyeccionCamposRepository;
+    private final CoalescedorLecturas coalescedor;
+    private final IndicePeriodosProyectos indicePeriodos;
+    private final CacheRespuestas cacheRespuestas;
+    private final PaginadorCambios paginador;
+    private final ApplicationEventPublisher eventos;
 
-    public ProyectoServiceImpl(ProyectoRepository proyectoRepository) {
+    public ProyectoServiceImpl(ProyectoRepository proyectoRepository,
+                               BajaRepository bajaRepository,
+                               ProyeccionCamposRepository proyeccionCamposRepository,
+                               CoalescedorLecturas coalescedor,
+                               IndicePeriodosProyectos indicePeriodos,
+                               CacheRespuestas cacheRespuestas,
+                               PaginadorCambios paginador,
+                               ApplicationEventPublisher eventos) {
         this.proyectoRepository = proyectoRepository;
+        this.bajaRepository = bajaRepository;
+        this.proyeccionCamposRepository = proyeccionCamposRepository;
+        this.coalescedor = coalescedor;
+        this.indicePeriodos = indicePeriodos;
+        this.cacheRespuestas = cacheRespuestas;
+        this.paginador = paginador;
+        this.eventos = eventos;
     }
 
     @Override
     public Proyecto guardar(Proyecto proyecto) {
-        return proyectoRepository.save(proyecto);
+        Proyecto guardado = proyectoRepository.save(proyecto);
+        cacheRespuestas.invalidar(TipoEntidad.PROYECTO);
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.PROYECTO, Operacion.CREACION, guardado.getId()));
+        return guardado;
     }
 
     @Override
@@ -31,8 +73,48 @@ public class ProyectoServiceImpl implements ProyectoService {
     }
 
     @Override
+    public Map<String, Object> buscarPorId(Long id, List<String> campos) {
+        return proyeccionCamposRepository.findById(Proyecto.class, id, campos)
+                .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
+    }
+
+    @Override
+    public ProyectoDetalle buscarDetallePorId(Long id) {
+        return proyectoRepository.findConEmpleadosById(id)
+                .map(ProyectoDetalle::desde)
+                .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
+    }
+
+    // Como en EmpleadoServiceImpl.buscarPorDepartamento: solo los ids se comparten entre hilos
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
     public List<Proyecto> buscarProyectosActivos() {
-        return proyectoRepository.findProyectosActivos(LocalDate.now());
+        LocalDate hoy = LocalDate.now();
+        List<Long> ids = coalescedor.ejecutar("proyectos.activos", () -> proyectoRepository.findIdsActivos(hoy), hoy);
+        return ids.isEmpty() ? new ArrayList<>() : proyectoRepository.findByIdInOrderById(ids);
+    }
+
+    // Las fechas son inclusivas: un proyecto sigue activo el día de su fechaFin
+    @Override
+    public List<Proyecto> buscarActivosEntre(LocalDate desde, LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            throw new RangoFechasInvalidoException("La fecha 'desde' (" + desde + ") es posterior a 'hasta' (" + hasta + ")");
+        }
+        return cargarEnOrden(indicePeriodos.arbol().solapados(desde, hasta));
+    }
+
+    @Override
+    public List<Proyecto> buscarActivosEn(LocalDate fecha) {
+        return cargarEnOrden(indicePeriodos.arbol().solapados(fecha, fecha));
+    }
+
+    @Override
+    public List<Proyecto> buscarSolapados(Long id) {
+        ArbolIntervalos arbol = indicePeriodos.arbol();
+        if (!arbol.contiene(id)) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
+        }
+        return cargarEnOrden(arbol.solapadosCon(id));
     }
 
     @Override
@@ -40,13 +122,31 @@ public class ProyectoServiceImpl implements ProyectoService {
         return proyectoRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> obtenerTodos(List<String> campos) {
+        return proyeccionCamposRepository.findAll(Proyecto.class, campos);
+    }
+
+    @Override
+    public CambiosDesde<Proyecto> buscarCambiosDesde(LocalDateTime desde, Long desdeId, int limite) {
+        int tamanio = PaginadorCambios.limite(limite);
+        LocalDateTime corte = paginador.corte();
+        List<Proyecto> filas = proyectoRepository.findCambiosDesde(desde, desdeId != null ? desdeId : 0L, corte,
+                Limit.of(tamanio + 1));
+        return paginador.paginar(filas, tamanio, desde, corte, Proyecto::getFechaActualizacion, Proyecto::getId,
+                (inicio, fin) -> bajaRepository.findEntidadIdsEliminadas(TipoEntidad.PROYECTO, inicio, fin));
+    }
+
     @Override
     public Proyecto actualizar(Long id, Proyecto proyecto) {
         if (!proyectoRepository.existsById(id)) {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
         }
         proyecto.setId(id);
-        return proyectoRepository.save(proyecto);
+        Proyecto actualizado = proyectoRepository.save(proyecto);
+        cacheRespuestas.invalidar(TipoEntidad.PROYECTO);
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.PROYECTO, Operacion.ACTUALIZACION, id));
+        return actualizado;
     }
 
     @Override
@@ -55,5 +155,17 @@ public class ProyectoServiceImpl implements ProyectoService {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
         }
         proyectoRepository.deleteById(id);
+        cacheRespuestas.invalidar(TipoEntidad.PROYECTO);
+        eventos.publishEvent(new CambioEntidad(TipoEntidad.PROYECTO, Operacion.ELIMINACION, id));
+    }
+
+    // El índice ya devuelve los ids ordenados por fecha de inicio; se cargan por clave primaria
+    private List<Proyecto> cargarEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Proyecto> porId = proyectoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Proyecto::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
     }
 }
@@ -0,0 +1,124 @@
+package com.empresa.gestionempleados.admision;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlAdmisionFilterTest {
+
+    private SimpleMeterRegistry registro;
+    private ControlAdmisionFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        filtro = new ControlAdmisionFilter(registro, true, 2);
+    }
+
+    @Test
+    void cuandoClaseSaturada_entoncesRechazaCon503YRetryAfter() throws Exception {
+        LimiteAdaptativo limite = filtro.limite(ClaseEndpoint.LECTURA_POR_ID);
+        while (limite.adquirir()) {
+            // ocupa todos los permisos disponibles
+        }
+
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        MockFilterChain cadena = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/departamentos/1"), respuesta, cadena);
+
+        assertEquals(503, respuesta.getStatus());
+        assertEquals("2", respuesta.getHeader("Retry-After"));
+        assertNull(cadena.getRequest());
+        assertEquals(1.0, registro.get("admision.rechazos").tag("clase", "lectura_por_id").counter().count());
+    }
+
+    @Test
+    void cuandoOtraClaseSaturada_entoncesLecturaPorIdSigueAdmitida() throws Exception {
+        LimiteAdaptativo listados = filtro.limite(ClaseEndpoint.LISTADO);
+        while (listados.adquirir()) {
+            // satura solo los listados
+        }
+
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/departamentos/1"), respuesta, new MockFilterChain());
+
+        assertEquals(200, respuesta.getStatus());
+        assertEquals(0, filtro.limite(ClaseEndpoint.LECTURA_POR_ID).enVuelo());
+    }
+
+    @Test
+    void cuandoStreamDeCambios_entoncesNoPasaPorElLimite() throws Exception {
+        while (filtro.limite(ClaseEndpoint.LISTADO).adquirir()) {
+            // satura los listados
+        }
+
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/cambios/stream"), respuesta, new MockFilterChain());
+
+        assertEquals(200, respuesta.getStatus());
+    }
+
+    @Test
+    void cuandoLatenciaSuperaObjetivo_entoncesReduceLimiteHastaElMinimo() {
+        AtomicLong reloj = new AtomicLong();
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 20, 1_000, reloj::get);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limite.adquirir());
+            // Peticiones sucesivas: cada una empieza después de la reducción anterior
+            reloj.addAndGet(5_000);
+            limite.liberar(5_000);
+        }
+        assertEquals(2, limite.limite());
+    }
+
+    @Test
+    void cuandoRafagaDeRespuestasLentas_entoncesReduceUnaSolaVez() {
+        AtomicLong reloj = new AtomicLong();
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 2, 40, 1_000, reloj::get);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limite.adquirir());
+        }
+        // Las 20 estaban en vuelo juntas y terminan lentas casi a la vez
+        reloj.addAndGet(5_000);
+        for (int i = 0; i < 20; i++) {
+            reloj.addAndGet(10);
+            limite.liberar(5_000 + 10L * i);
+        }
+        assertEquals(18, limite.limite());
+
+        // Una petición que empezó después de esa reducción sí vuelve a reducir
+        assertTrue(limite.adquirir());
+        reloj.addAndGet(5_000);
+        limite.liberar(5_000);
+        assertEquals(16, limite.limite());
+    }
+
+    @Test
+    void cuandoLimiteEnUsoYLatenciaBaja_entoncesCreceHastaElMaximo() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 2, 6, 1_000);
+        for (int i = 0; i < 10; i++) {
+            int adquiridos = 0;
+            while (limite.adquirir()) {
+                adquiridos++;
+            }
+            for (int j = 0; j < adquiridos; j++) {
+                limite.liberar(100);
+            }
+        }
+        assertEquals(6, limite.limite());
+    }
+
+    @Test
+    void cuandoClasificarPeticiones_entoncesDistingueLecturaPorIdListadoYEscritura() {
+        assertEquals(ClaseEndpoint.LECTURA_POR_ID, ClaseEndpoint.de(new MockHttpServletRequest("GET", "/api/empleados/7")));
+        assertEquals(ClaseEndpoint.LISTADO, ClaseEndpoint.de(new MockHttpServletRequest("GET", "/api/empleados/7/salario")));
+        assertEquals(ClaseEndpoint.ESCRITURA, ClaseEndpoint.de(new MockHttpServletRequest("PUT", "/api/empleados/7")));
+    }
+}
@@ -0,0 +1,82 @@
+package com.empresa.gestionempleados.analitica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArbolIntervalosTest {
+
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    private record Periodo(long id, LocalDate inicio, LocalDate fin) {
+        boolean solapa(LocalDate desde, LocalDate hasta) {
+            return (inicio == null || !inicio.isAfter(hasta)) && (fin == null || !fin.isBefore(desde));
+        }
+    }
+
+    // Recorrido secuencial de referencia, en el mismo orden que el árbol
+    private static List<Long> solapadosPorRecorrido(Map<Long, Periodo> periodos, LocalDate desde, LocalDate hasta) {
+        return periodos.values().stream()
+                .filter(periodo -> periodo.solapa(desde, hasta))
+                .sorted(Comparator.comparing((Periodo periodo) -> periodo.inicio() != null ? periodo.inicio() : LocalDate.MIN)
+                        .thenComparingLong(Periodo::id))
+                .map(Periodo::id)
+                .toList();
+    }
+
+    @Test
+    void cuandoBuscarSolapados_entoncesRespetaLimitesInclusivosYFechasNulas() {
+        ArbolIntervalos arbol = new ArbolIntervalos();
+        arbol.insertar(1, BASE, BASE.plusDays(9));
+        arbol.insertar(2, BASE.plusDays(10), BASE.plusDays(19));
+        arbol.insertar(3, BASE.plusDays(5), null);
+        arbol.insertar(4, null, BASE.minusDays(1));
+
+        assertEquals(List.of(4L), arbol.solapados(BASE.minusDays(1), BASE.minusDays(1)));
+        assertEquals(List.of(1L), arbol.solapados(BASE.plusDays(4), BASE.plusDays(4)));
+        assertEquals(List.of(1L, 3L, 2L), arbol.solapados(BASE.plusDays(9), BASE.plusDays(10)));
+        assertEquals(List.of(3L), arbol.solapados(BASE.plusYears(5), BASE.plusYears(6)));
+        assertEquals(List.of(3L), arbol.solapadosCon(2));
+        assertEquals(List.of(1L, 2L), arbol.solapadosCon(3));
+        assertEquals(List.of(), arbol.solapadosCon(99));
+    }
+
+    @Test
+    void cuandoInsertarReemplazarYQuitarAlAzar_entoncesCoincideConRecorridoSecuencial() {
+        Random azar = new Random(42);
+        ArbolIntervalos arbol = new ArbolIntervalos();
+        Map<Long, Periodo> periodos = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = azar.nextInt(2_000);
+            if (azar.nextInt(5) == 0) {
+                arbol.quitar(id);
+                periodos.remove(id);
+            } else {
+                LocalDate inicio = azar.nextInt(20) == 0 ? null : BASE.plusDays(azar.nextInt(1_000));
+                LocalDate fin = azar.nextInt(10) == 0 ? null
+                        : (inicio != null ? inicio : BASE).plusDays(azar.nextInt(120));
+                arbol.insertar(id, inicio, fin);
+                periodos.put(id, new Periodo(id, inicio, fin));
+            }
+        }
+
+        assertEquals(periodos.size(), arbol.tamanio());
+        List<LocalDate[]> rangos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate desde = BASE.plusDays(azar.nextInt(1_200) - 100);
+            rangos.add(new LocalDate[]{desde, desde.plusDays(azar.nextInt(60))});
+        }
+        for (LocalDate[] rango : rangos) {
+            assertEquals(solapadosPorRecorrido(periodos, rango[0], rango[1]), arbol.solapados(rango[0], rango[1]));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.AsignacionPeriodo;
+import com.empresa.gestionempleados.dto.CargaEmpleado;
+import com.empresa.gestionempleados.dto.TramoCarga;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarridoCargasTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void cuandoBarrerAsignaciones_entoncesDevuelveTramosYPicoRecortadosALaVentana() {
+        List<AsignacionPeriodo> asignaciones = List.of(
+                new AsignacionPeriodo(1L, BASE, BASE.plusDays(9)),
+                new AsignacionPeriodo(1L, BASE.plusDays(5), BASE.plusDays(14)),
+                new AsignacionPeriodo(1L, BASE.plusDays(10), null),
+                new AsignacionPeriodo(2L, null, BASE.plusDays(2)));
+
+        List<CargaEmpleado> cargas = BarridoCargas.calcular(asignaciones, BASE, BASE.plusDays(19), 1);
+
+        assertEquals(2, cargas.size());
+        CargaEmpleado primero = cargas.get(0);
+        assertEquals(1L, primero.empleadoId());
+        assertEquals(2, primero.picoProyectos());
+        assertEquals(BASE.plusDays(5), primero.inicioPico());
+        // El día 10 termina un proyecto y empieza otro: la carga sigue en 2 sin cortar el tramo
+        assertEquals(List.of(
+                new TramoCarga(BASE, BASE.plusDays(4), 1),
+                new TramoCarga(BASE.plusDays(5), BASE.plusDays(14), 2),
+                new TramoCarga(BASE.plusDays(15), BASE.plusDays(19), 1)), primero.tramos());
+        assertEquals(List.of(new TramoCarga(BASE, BASE.plusDays(2), 1)), cargas.get(1).tramos());
+
+        assertEquals(List.of(1L), BarridoCargas.calcular(asignaciones, BASE, BASE.plusDays(19), 2).stream()
+                .map(CargaEmpleado::empleadoId).toList());
+        assertTrue(BarridoCargas.calcular(List.of(), BASE, BASE, 1).isEmpty());
+    }
+
+    @Test
+    void cuandoMuchosEmpleadosEnParticiones_entoncesCoincideConConteoDiaADia() {
+        Random azar = new Random(7);
+        List<AsignacionPeriodo> asignaciones = new ArrayList<>();
+        for (long empleado = 1; empleado <= 2_000; empleado++) {
+            int proyectos = azar.nextInt(6);
+            for (int p = 0; p < proyectos; p++) {
+                LocalDate inicio = BASE.plusDays(azar.nextInt(200) - 20);
+                asignaciones.add(new AsignacionPeriodo(empleado, inicio, inicio.plusDays(azar.nextInt(60))));
+            }
+        }
+        LocalDate desde = BASE;
+        LocalDate hasta = BASE.plusDays(150);
+
+        List<CargaEmpleado> cargas = BarridoCargas.calcular(asignaciones, desde, hasta, 1);
+
+        for (CargaEmpleado carga : cargas.stream().sorted(Comparator.comparing(CargaEmpleado::empleadoId)).toList()) {
+            List<AsignacionPeriodo> propias = asignaciones.stream()
+                    .filter(a -> a.empleadoId().equals(carga.empleadoId())).toList();
+            int pico = 0;
+            for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+                LocalDate d = dia;
+                int esperado = (int) propias.stream()
+                        .filter(a -> !a.fechaInicio().isAfter(d) && !a.fechaFin().isBefore(d)).count();
+                pico = Math.max(pico, esperado);
+                int enTramo = carga.tramos().stream()
+                        .filter(t -> !t.desde().isAfter(d) && !t.hasta().isBefore(d))
+                        .mapToInt(TramoCarga::proyectos).sum();
+                assertEquals(esperado, enTramo, "empleado " + carga.empleadoId() + " el " + d);
+            }
+            assertEquals(pico, carga.picoProyectos());
+        }
+        for (int i = 1; i < cargas.size(); i++) {
+            assertTrue(cargas.get(i - 1).picoProyectos() >= cargas.get(i).picoProyectos());
+        }
+    }
+}
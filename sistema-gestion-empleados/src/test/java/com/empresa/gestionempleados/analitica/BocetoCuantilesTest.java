@@ -0,0 +1,103 @@
+package com.empresa.gestionempleados.analitica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BocetoCuantilesTest {
+
+    private static final double ERROR = 0.01;
+
+    // Cuantil exacto con la misma convención de posición que el boceto
+    private static double cuantilExacto(double[] ordenados, double q) {
+        return ordenados[(int) (q * (ordenados.length - 1))];
+    }
+
+    private static void assertCercano(double esperado, double obtenido) {
+        assertEquals(esperado, obtenido, esperado * ERROR + 1e-9, "Cuantil fuera del error relativo");
+    }
+
+    @Test
+    void cuandoAgregarSalarios_entoncesCadaCuantilQuedaDentroDelErrorRelativo() {
+        Random aleatorio = new Random(7);
+        BocetoCuantiles boceto = new BocetoCuantiles(ERROR);
+        double[] salarios = new double[20_000];
+        for (int i = 0; i < salarios.length; i++) {
+            // Cola larga, como los salarios reales
+            salarios[i] = Math.round(Math.exp(10 + aleatorio.nextGaussian() * 0.6) * 100) / 100.0;
+            boceto.agregar(salarios[i]);
+        }
+        Arrays.sort(salarios);
+
+        assertEquals(salarios.length, boceto.cantidad());
+        for (double q : new double[]{0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1}) {
+            assertCercano(cuantilExacto(salarios, q), boceto.cuantil(q));
+        }
+    }
+
+    @Test
+    void cuandoQuitarValores_entoncesQuedaIgualQueSiNuncaSeHubieranAgregado() {
+        Random aleatorio = new Random(11);
+        BocetoCuantiles conBajas = new BocetoCuantiles(ERROR);
+        BocetoCuantiles sinBajas = new BocetoCuantiles(ERROR);
+        List<Double> quedan = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            double salario = 1000 + aleatorio.nextInt(200_000);
+            conBajas.agregar(salario);
+            if (i % 3 == 0) {
+                conBajas.quitar(salario);
+            } else {
+                sinBajas.agregar(salario);
+                quedan.add(salario);
+            }
+        }
+
+        assertEquals(sinBajas.cantidad(), conBajas.cantidad());
+        for (double q : new double[]{0, 0.5, 0.9, 1}) {
+            assertEquals(sinBajas.cuantil(q), conBajas.cuantil(q));
+        }
+        assertThrows(IllegalStateException.class, () -> conBajas.quitar(1e9));
+    }
+
+    @Test
+    void cuandoCombinarBocetos_entoncesEquivaleAUnSoloBocetoConTodosLosValores() {
+        BocetoCuantiles bajos = new BocetoCuantiles(ERROR);
+        BocetoCuantiles altos = new BocetoCuantiles(ERROR);
+        BocetoCuantiles todos = new BocetoCuantiles(ERROR);
+        for (int i = 1; i <= 1000; i++) {
+            bajos.agregar(i);
+            altos.agregar(i * 1000.0);
+            todos.agregar(i);
+            todos.agregar(i * 1000.0);
+        }
+        bajos.agregar(0);
+        todos.agregar(0);
+
+        BocetoCuantiles empresa = new BocetoCuantiles(ERROR);
+        empresa.combinar(altos);
+        empresa.combinar(bajos);
+
+        assertEquals(2001, empresa.cantidad());
+        assertEquals(0, empresa.cuantil(0));
+        for (double q : new double[]{0.1, 0.5, 0.75, 1}) {
+            assertEquals(todos.cuantil(q), empresa.cuantil(q));
+        }
+        assertThrows(IllegalArgumentException.class, () -> empresa.combinar(new BocetoCuantiles(0.05)));
+    }
+
+    @Test
+    void cuandoValoresOParametrosInvalidos_entoncesFalla() {
+        BocetoCuantiles boceto = new BocetoCuantiles(ERROR);
+        assertThrows(IllegalStateException.class, () -> boceto.cuantil(0.5));
+        assertThrows(IllegalArgumentException.class, () -> boceto.agregar(-1));
+        assertThrows(IllegalArgumentException.class, () -> boceto.agregar(Double.NaN));
+        boceto.agregar(10);
+        assertThrows(IllegalArgumentException.class, () -> boceto.cuantil(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new BocetoCuantiles(0));
+    }
+}
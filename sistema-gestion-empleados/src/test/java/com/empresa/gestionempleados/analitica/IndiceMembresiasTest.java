@@ -0,0 +1,68 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.Membresia;
+import com.empresa.gestionempleados.dto.ProyectoCompartido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceMembresiasTest {
+
+    private IndiceMembresias indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceMembresias();
+        List.of(10L, 20L, 30L, 40L).forEach(indice::agregarProyecto);
+        indice.cargar(new Membresia(1L, 10L));
+        indice.cargar(new Membresia(1L, 20L));
+        indice.cargar(new Membresia(2L, 10L));
+        indice.cargar(new Membresia(3L, 20L));
+        indice.cargar(new Membresia(3L, 30L));
+        indice.cargar(new Membresia(4L, null));
+        indice.cargar(new Membresia(5_000_000_000L, 10L));
+    }
+
+    @Test
+    void cuandoCombinarProyectos_entoncesOperaSobreLosMiembros() {
+        assertArrayEquals(new long[]{1L}, indice.interseccion(List.of(10L, 20L)));
+        assertArrayEquals(new long[]{1L, 2L, 3L, 5_000_000_000L}, indice.union(List.of(10L, 20L)));
+        assertArrayEquals(new long[]{2L, 5_000_000_000L}, indice.diferencia(List.of(10L), List.of(20L)));
+        assertArrayEquals(new long[0], indice.interseccion(List.of(10L, 40L)));
+        assertArrayEquals(new long[]{4L}, indice.sinProyecto());
+    }
+
+    @Test
+    void cuandoPedirProyectosQueCompartenPersonal_entoncesOrdenaPorCantidad() {
+        indice.cargar(new Membresia(3L, 10L));
+
+        assertEquals(List.of(new ProyectoCompartido(20L, 2), new ProyectoCompartido(30L, 1)),
+                indice.compartidos(10L));
+        assertEquals(List.of(), indice.compartidos(40L));
+    }
+
+    @Test
+    void cuandoActualizarPendientes_entoncesReemplazaMembresiasYQuitaLosBorrados() {
+        indice.marcarPendiente(1L);
+        indice.marcarPendiente(2L);
+        indice.marcarPendiente(4L);
+        List<Long> pendientes = indice.tomarPendientes();
+        assertEquals(3, pendientes.size());
+        assertTrue(indice.tomarPendientes().isEmpty());
+
+        // 1 pasa a 30, 2 fue eliminado y 4 entra a 40
+        indice.actualizar(pendientes, Map.of(1L, List.of(30L), 4L, List.of(40L)));
+
+        assertArrayEquals(new long[]{5_000_000_000L}, indice.union(List.of(10L)));
+        assertArrayEquals(new long[]{1L, 3L}, indice.union(List.of(30L)));
+        assertArrayEquals(new long[]{4L}, indice.union(List.of(40L)));
+        assertArrayEquals(new long[0], indice.sinProyecto());
+        indice.quitarProyecto(40L);
+        assertFalse(indice.contieneProyecto(40L));
+        assertArrayEquals(new long[]{4L}, indice.sinProyecto());
+    }
+}
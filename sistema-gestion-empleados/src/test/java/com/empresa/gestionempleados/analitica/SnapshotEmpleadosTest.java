@@ -0,0 +1,86 @@
+package com.empresa.gestionempleados.analitica;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.dto.GrupoAnalitica;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotEmpleadosTest {
+
+    private static SnapshotEmpleados snapshotDe(int filas) {
+        SnapshotEmpleados.Constructor constructor = new SnapshotEmpleados.Constructor();
+        for (int i = 0; i < filas; i++) {
+            constructor.agregar(new EmpleadoFila((long) i + 1, "Nombre" + (i % 10), "Apellido" + (i % 7),
+                    "e" + i + "@empresa.com", LocalDate.of(2020 + i % 3, 1, 1),
+                    new BigDecimal(1000 + i % 5 * 1000 + ".50"), i % 4 == 0 ? null : (long) i % 4));
+        }
+        return constructor.construir();
+    }
+
+    @Test
+    void cuandoAgruparPorDepartamento_entoncesTotalesCoincidenConRecorridoSecuencial() {
+        int filas = 50_000;
+        SnapshotEmpleados snapshot = snapshotDe(filas);
+
+        List<GrupoAnalitica> grupos = snapshot.agrupar(DimensionAnalitica.DEPARTAMENTO, 0);
+
+        assertEquals(4, grupos.size());
+        assertEquals(BigDecimal.valueOf(SnapshotEmpleados.SIN_DEPARTAMENTO), grupos.get(0).clave());
+        assertEquals(filas, grupos.stream().mapToLong(GrupoAnalitica::cantidad).sum());
+        BigDecimal esperado = BigDecimal.ZERO;
+        for (int i = 0; i < filas; i++) {
+            esperado = esperado.add(new BigDecimal(1000 + i % 5 * 1000 + ".50"));
+        }
+        assertEquals(esperado, grupos.stream().map(GrupoAnalitica::totalSalarios).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertEquals(new BigDecimal("1000.50"), grupos.get(1).salarioMinimo());
+        assertEquals(new BigDecimal("5000.50"), grupos.get(1).salarioMaximo());
+    }
+
+    @Test
+    void cuandoAgruparPorAnioYBanda_entoncesUsaClavesEsperadas() {
+        SnapshotEmpleados snapshot = snapshotDe(30);
+
+        List<GrupoAnalitica> porAnio = snapshot.agrupar(DimensionAnalitica.ANIO_CONTRATACION, 0);
+        assertEquals(List.of(2020L, 2021L, 2022L), porAnio.stream().map(g -> g.clave().longValueExact()).toList());
+
+        List<GrupoAnalitica> porBanda = snapshot.agrupar(DimensionAnalitica.BANDA_SALARIAL, 200_000);
+        assertEquals(List.of(new BigDecimal("0.00"), new BigDecimal("2000.00"), new BigDecimal("4000.00")),
+                porBanda.stream().map(GrupoAnalitica::clave).toList());
+        assertEquals(6, porBanda.get(0).cantidad());
+    }
+
+    @Test
+    void cuandoBandaEsFraccionaria_entoncesNoFusionaGruposVecinos() {
+        SnapshotEmpleados.Constructor constructor = new SnapshotEmpleados.Constructor();
+        constructor.agregar(new EmpleadoFila(1L, "Ana", "Ruiz", "a@empresa.com", LocalDate.of(2020, 1, 1),
+                new BigDecimal("10.20"), 1L));
+        constructor.agregar(new EmpleadoFila(2L, "Luis", "Gil", "l@empresa.com", LocalDate.of(2020, 1, 1),
+                new BigDecimal("10.70"), 1L));
+
+        List<GrupoAnalitica> porBanda = constructor.construir().agrupar(DimensionAnalitica.BANDA_SALARIAL, 50);
+
+        assertEquals(List.of(new BigDecimal("10.00"), new BigDecimal("10.50")),
+                porBanda.stream().map(GrupoAnalitica::clave).toList());
+        assertEquals(List.of(1L, 1L), porBanda.stream().map(GrupoAnalitica::cantidad).toList());
+    }
+
+    @Test
+    void cuandoNombresSeRepiten_entoncesDiccionarioGuardaCadaTextoUnaVez() {
+        SnapshotEmpleados snapshot = snapshotDe(100);
+
+        assertEquals(100, snapshot.filas());
+        assertEquals(17, snapshot.tamanioDiccionario());
+        assertEquals("Nombre3 Apellido3", snapshot.nombreCompleto(3));
+    }
+
+    @Test
+    void cuandoBandaNoEsPositiva_entoncesLanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotEmpleados.vacio().agrupar(DimensionAnalitica.BANDA_SALARIAL, 0));
+    }
+}
@@ -0,0 +1,101 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheFragmentosJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SimpleMeterRegistry registro;
+    private CacheFragmentosJson cache;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        cache = new CacheFragmentosJson(objectMapper, registro, true, 2);
+    }
+
+    private Empleado empleado(long id, String salario, LocalDateTime version) {
+        Empleado e = new Empleado();
+        e.setId(id);
+        e.setNombre("Nombre" + id);
+        e.setApellido("Apellido");
+        e.setEmail("e" + id + "@test.com");
+        e.setFechaContratacion(LocalDate.of(2024, 2, 29));
+        e.setSalario(new BigDecimal(salario));
+        e.setFechaActualizacion(version);
+        return e;
+    }
+
+    private static String texto(JsonFragmentado json) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        json.trozos().forEach(salida::writeBytes);
+        assertEquals(json.longitud(), salida.size());
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private double aciertos() {
+        return registro.counter("cache.fragmentos", "resultado", "acierto").count();
+    }
+
+    @Test
+    void cuandoSeMontaUnaPagina_entoncesCoincideConJackson() throws Exception {
+        LocalDateTime version = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<Empleado> empleados = List.of(empleado(1, "1000.50", version), empleado(2, "0", version));
+        PageImpl<Empleado> pagina = new PageImpl<>(empleados, PageRequest.of(1, 2), 7);
+
+        String esperado = objectMapper.writeValueAsString(new PagedModel<>(pagina.map(EmpleadoFila::desde)));
+
+        assertEquals(esperado, texto(cache.empleados(pagina)));
+        assertEquals(esperado, texto(cache.empleados(pagina)));
+        assertEquals(2.0, aciertos());
+        assertEquals("{\"content\":[],\"page\":{\"size\":5,\"number\":0,\"totalElements\":0,\"totalPages\":0}}",
+                texto(cache.empleados(new PageImpl<>(List.of(), PageRequest.of(0, 5), 0))));
+    }
+
+    @Test
+    void cuandoCambiaLaVersionOLlegaUnCambio_entoncesSeRegeneraElFragmento() {
+        LocalDateTime v1 = LocalDateTime.of(2025, 1, 1, 10, 0);
+        cache.empleado(empleado(1, "1000", v1));
+
+        assertTrue(texto(cache.empleado(empleado(1, "2000", v1.plusSeconds(1)))).contains("\"salario\":2000"));
+        assertEquals(0.0, aciertos());
+        cache.empleado(empleado(1, "2000", v1.plusSeconds(1)));
+        assertEquals(1.0, aciertos());
+
+        cache.alConfirmar(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, 1L));
+        assertEquals(0, cache.tamanio());
+    }
+
+    @Test
+    void cuandoSeSuperaElMaximo_entoncesSaleElMenosUsado() {
+        LocalDateTime version = LocalDateTime.of(2025, 1, 1, 10, 0);
+        cache.empleado(empleado(1, "1", version));
+        cache.empleado(empleado(2, "2", version));
+        cache.empleado(empleado(1, "1", version));
+        cache.empleado(empleado(3, "3", version));
+
+        assertEquals(2, cache.tamanio());
+        cache.empleado(empleado(1, "1", version));
+        assertEquals(2.0, aciertos());
+    }
+}
@@ -0,0 +1,143 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.servicios.DepartamentoService;
+import com.empresa.gestionempleados.servicios.EmpleadoService;
+import com.empresa.gestionempleados.servicios.ProyectoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.empresa.gestionempleados.controladores.SentenciasSql.sentencias;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.cache-respuestas.habilitada=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheRespuestasIntegrationTest {
+
+    private static final String CABECERA = CacheRespuestasFilter.CABECERA;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheRespuestas cacheRespuestas;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @BeforeEach
+    void setUp() {
+        cacheRespuestas.vaciar();
+    }
+
+    private Departamento crearDepartamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        return departamentoService.guardar(departamento);
+    }
+
+    private Empleado crearEmpleado(String email, Departamento departamento) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Nombre");
+        empleado.setApellido("Apellido");
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+        empleado.setSalario(new BigDecimal("30000"));
+        empleado.setDepartamento(departamento);
+        return empleadoService.guardar(empleado);
+    }
+
+    @Test
+    void cuandoSeRepiteElListado_entoncesSeSirveSinTocarLaBaseHastaQueAlgoCambia() throws Exception {
+        crearDepartamento("Cache Compras");
+
+        String primera = mockMvc.perform(get("/api/departamentos").param("fields", "id,nombre"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/departamentos").param("fields", "id,nombre"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CABECERA, "HIT"))
+                .andExpect(sentencias(0))
+                .andExpect(content().json(primera, JsonCompareMode.STRICT));
+
+        crearDepartamento("Cache Legales");
+
+        mockMvc.perform(get("/api/departamentos").param("fields", "id,nombre"))
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andExpect(jsonPath("$[*].nombre", hasItems("Cache Compras", "Cache Legales")));
+    }
+
+    @Test
+    void cuandoCambiaParametroOProyecto_entoncesCadaListadoTieneSuEntrada() throws Exception {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Cache Alfa");
+        proyectoService.guardar(proyecto);
+
+        mockMvc.perform(get("/api/proyectos").param("fields", "id,nombre"))
+                .andExpect(header().string(CABECERA, "MISS"));
+        mockMvc.perform(get("/api/proyectos").param("fields", "id,nombre"))
+                .andExpect(header().string(CABECERA, "HIT"));
+        mockMvc.perform(get("/api/proyectos").param("fields", "nombre"))
+                .andExpect(header().string(CABECERA, "MISS"));
+
+        proyecto.setNombre("Cache Beta");
+        proyectoService.actualizar(proyecto.getId(), proyecto);
+
+        mockMvc.perform(get("/api/proyectos").param("fields", "id,nombre"))
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andExpect(jsonPath("$[*].nombre", hasItem("Cache Beta")));
+    }
+
+    @Test
+    void cuandoCambiaUnEmpleado_entoncesSoloCaducanLosListadosDeSusDepartamentos() throws Exception {
+        Departamento ventas = crearDepartamento("Cache Ventas");
+        Departamento sistemas = crearDepartamento("Cache Sistemas");
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Ventas"))
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Sistemas"))
+                .andExpect(header().string(CABECERA, "MISS"));
+
+        Empleado analista = crearEmpleado("analista@cache.com", sistemas);
+
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Ventas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CABECERA, "HIT"))
+                .andExpect(sentencias(0))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        // Pasa de Sistemas a Ventas y se da de baja: caducan los dos departamentos
+        analista.setDepartamento(ventas);
+        empleadoService.actualizar(analista.getId(), analista);
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Sistemas"))
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        empleadoService.eliminar(analista.getId());
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Ventas"))
+                .andExpect(header().string(CABECERA, "MISS"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Cache Sistemas"))
+                .andExpect(header().string(CABECERA, "HIT"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.empresa.gestionempleados.cache;
+
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Compara la CPU por respuesta de una página de /api/empleados/filtro serializada con
+ * Jackson contra la montada con fragmentos. Solo mide la escritura del cuerpo: la consulta
+ * es la misma en los dos caminos. Se ejecuta a pedido:
+ * mvn test -Dtest=FragmentosJsonCargaTest -Dcarga=true
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fragmentos;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class FragmentosJsonCargaTest {
+
+    private static final int EMPLEADOS = 2000;
+    private static final int[] TAMANIOS = {20, 200, 1000};
+    private static final int CALENTAMIENTO = 2000;
+    private static final int RESPUESTAS = 5000;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private CacheFragmentosJson fragmentos;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado e = new Empleado();
+            e.setNombre("Empleado" + i);
+            e.setApellido("Carga");
+            e.setEmail("fragmento" + i + "@test.com");
+            e.setFechaContratacion(LocalDate.of(2015, 1, 1).plusDays(i));
+            e.setSalario(BigDecimal.valueOf(2_000_000 + i * 137L, 2));
+            empleados.add(e);
+        }
+        empleadoRepository.saveAll(empleados);
+    }
+
+    @Test
+    void compararJacksonContraFragmentos() throws Exception {
+        System.out.printf("%-8s %14s %14s %10s%n", "filas", "jackson us", "fragmentos us", "ahorro");
+        for (int tamanio : TAMANIOS) {
+            Page<Empleado> pagina = empleadoRepository.findAll(PageRequest.of(0, tamanio, Sort.by("id")));
+            assertArrayEquals(jackson(pagina), fragmentado(pagina));
+
+            double conJackson = cpuPorRespuesta(() -> jackson(pagina));
+            double conFragmentos = cpuPorRespuesta(() -> fragmentado(pagina));
+            System.out.printf("%-8d %14.1f %14.1f %9.0f%%%n", tamanio, conJackson, conFragmentos,
+                    100 * (1 - conFragmentos / conJackson));
+        }
+    }
+
+    // Lo que hacía el controlador: PagedModel de EmpleadoFila por el conversor de Jackson
+    private byte[] jackson(Page<Empleado> pagina) throws Exception {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(pagina.map(EmpleadoFila::desde)));
+    }
+
+    private byte[] fragmentado(Page<Empleado> pagina) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        fragmentos.empleados(pagina).trozos().forEach(salida::writeBytes);
+        return salida.toByteArray();
+    }
+
+    private double cpuPorRespuesta(Respuesta respuesta) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            respuesta.escribir();
+        }
+        long inicio = hilos.getCurrentThreadCpuTime();
+        for (int i = 0; i < RESPUESTAS; i++) {
+            respuesta.escribir();
+        }
+        return (hilos.getCurrentThreadCpuTime() - inicio) / 1_000.0 / RESPUESTAS;
+    }
+
+    @FunctionalInterface
+    private interface Respuesta {
+        byte[] escribir() throws Exception;
+    }
+}
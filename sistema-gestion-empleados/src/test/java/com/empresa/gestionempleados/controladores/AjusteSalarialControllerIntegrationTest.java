@@ -0,0 +1,188 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.dto.SolicitudAjusteSalarial;
+import com.empresa.gestionempleados.entidades.AjusteSalarial;
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.EstadoAjuste;
+import com.empresa.gestionempleados.entidades.TipoAjuste;
+import com.empresa.gestionempleados.repositorios.AjusteSalarialRepository;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.servicios.DepartamentoService;
+import com.empresa.gestionempleados.servicios.EmpleadoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AjusteSalarialControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private AjusteSalarialRepository ajusteSalarialRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+        ajusteSalarialRepository.deleteAll();
+    }
+
+    private Departamento crearDepartamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        return departamentoService.guardar(departamento);
+    }
+
+    private Empleado crearEmpleado(String email, int salario, Departamento departamento) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Nombre");
+        empleado.setApellido("Apellido");
+        empleado.setEmail(email);
+        empleado.setSalario(BigDecimal.valueOf(salario));
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setDepartamento(departamento);
+        return empleadoService.guardar(empleado);
+    }
+
+    private AjusteSalarial lanzar(SolicitudAjusteSalarial solicitud) throws Exception {
+        String respuesta = mockMvc.perform(post("/api/ajustes-salariales")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitud)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(respuesta, AjusteSalarial.class);
+    }
+
+    private AjusteSalarial esperarFin(Long id) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        AjusteSalarial ajuste = ajusteSalarialRepository.findById(id).orElseThrow();
+        while (ajuste.getEstado() != EstadoAjuste.COMPLETADO && ajuste.getEstado() != EstadoAjuste.FALLIDO
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            ajuste = ajusteSalarialRepository.findById(id).orElseThrow();
+        }
+        return ajuste;
+    }
+
+    @Test
+    void cuandoAjustePorcentual_entoncesActualizaPorLotesYMantieneNomina() throws Exception {
+        Departamento ventas = crearDepartamento("Ventas");
+        Departamento compras = crearDepartamento("Compras");
+        Empleado e1 = crearEmpleado("a@empresa.com", 1000, ventas);
+        Empleado e2 = crearEmpleado("b@empresa.com", 2000, ventas);
+        Empleado e3 = crearEmpleado("c@empresa.com", 3000, ventas);
+        Empleado otro = crearEmpleado("d@empresa.com", 5000, compras);
+
+        AjusteSalarial creado = lanzar(new SolicitudAjusteSalarial(TipoAjuste.PORCENTAJE, BigDecimal.TEN,
+                ventas.getId(), null, null, null, null, 2));
+        assertEquals(3L, creado.getTotalEstimado());
+
+        AjusteSalarial ajuste = esperarFin(creado.getId());
+        assertEquals(EstadoAjuste.COMPLETADO, ajuste.getEstado());
+        assertEquals(3L, ajuste.getEmpleadosAjustados());
+        assertEquals(2, ajuste.getLotesProcesados());
+        assertEquals(e3.getId(), ajuste.getUltimoIdProcesado());
+
+        assertEquals(0, new BigDecimal("1100").compareTo(empleadoRepository.findById(e1.getId()).orElseThrow().getSalario()));
+        assertEquals(0, new BigDecimal("2200").compareTo(empleadoRepository.findById(e2.getId()).orElseThrow().getSalario()));
+        assertEquals(0, new BigDecimal("3300").compareTo(empleadoRepository.findById(e3.getId()).orElseThrow().getSalario()));
+        assertEquals(0, new BigDecimal("5000").compareTo(empleadoRepository.findById(otro.getId()).orElseThrow().getSalario()));
+
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", ventas.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSalarios").value(6600.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(3));
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", compras.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(5000.0));
+    }
+
+    @Test
+    void cuandoReanudarAjusteCompletado_entoncesNoVuelveAAplicarlo() throws Exception {
+        Departamento ventas = crearDepartamento("Ventas");
+        Empleado empleado = crearEmpleado("a@empresa.com", 1000, ventas);
+
+        AjusteSalarial creado = lanzar(new SolicitudAjusteSalarial(TipoAjuste.MONTO_FIJO, new BigDecimal("250"),
+                null, null, null, null, null, null));
+        assertEquals(EstadoAjuste.COMPLETADO, esperarFin(creado.getId()).getEstado());
+
+        mockMvc.perform(post("/api/ajustes-salariales/{id}/reanudar", creado.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.estado").value("COMPLETADO"));
+
+        assertEquals(0, new BigDecimal("1250").compareTo(empleadoRepository.findById(empleado.getId()).orElseThrow().getSalario()));
+    }
+
+    @Test
+    void cuandoAjusteNoExiste_entoncesDevuelveNotFound() throws Exception {
+        mockMvc.perform(get("/api/ajustes-salariales/{id}", 999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cuandoDescuentoFijoDejariaSalarioNegativo_entoncesEseEmpleadoNoCambia() throws Exception {
+        Departamento ventas = crearDepartamento("Ventas");
+        Empleado bajo = crearEmpleado("bajo@empresa.com", 1000, ventas);
+        Empleado alto = crearEmpleado("alto@empresa.com", 2000, ventas);
+
+        AjusteSalarial ajuste = esperarFin(lanzar(new SolicitudAjusteSalarial(TipoAjuste.MONTO_FIJO,
+                new BigDecimal("-1500"), ventas.getId(), null, null, null, null, null)).getId());
+
+        assertEquals(EstadoAjuste.COMPLETADO, ajuste.getEstado());
+        assertEquals(1L, ajuste.getEmpleadosAjustados());
+        assertEquals(0, new BigDecimal("1000").compareTo(empleadoRepository.findById(bajo.getId()).orElseThrow().getSalario()));
+        assertEquals(0, new BigDecimal("500").compareTo(empleadoRepository.findById(alto.getId()).orElseThrow().getSalario()));
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", ventas.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(1500.0));
+        mockMvc.perform(get("/api/analitica/percentiles"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cuandoPorcentajeNoMayorQueMenosCienOValorFueraDeRango_entoncesDevuelveBadRequest() throws Exception {
+        for (SolicitudAjusteSalarial solicitud : List.of(
+                new SolicitudAjusteSalarial(TipoAjuste.PORCENTAJE, new BigDecimal("-100"), null, null, null, null, null, null),
+                new SolicitudAjusteSalarial(TipoAjuste.PORCENTAJE, new BigDecimal("-250"), null, null, null, null, null, null),
+                new SolicitudAjusteSalarial(TipoAjuste.MONTO_FIJO, new BigDecimal("1000000000"), null, null, null, null, null, null))) {
+            mockMvc.perform(post("/api/ajustes-salariales")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(solicitud)))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(0, ajusteSalarialRepository.count());
+    }
+}
@@ -0,0 +1,191 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import com.empresa.gestionempleados.servicios.EmpleadoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.empresa.gestionempleados.controladores.SentenciasSql.sentencias;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnaliticaControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+    }
+
+    private void crearEmpleado(String email, String salario, int anio, Departamento departamento) {
+        Empleado e = new Empleado();
+        e.setNombre("Nombre");
+        e.setApellido("Apellido");
+        e.setEmail(email);
+        e.setSalario(new BigDecimal(salario));
+        e.setFechaContratacion(LocalDate.of(anio, 3, 1));
+        e.setDepartamento(departamento);
+        empleadoRepository.save(e);
+    }
+
+    @Test
+    void cuandoRefrescarSnapshot_entoncesAgrupacionesReflejanEmpleados() throws Exception {
+        Departamento d = new Departamento();
+        d.setNombre("IT");
+        d = departamentoRepository.save(d);
+        crearEmpleado("a@test.com", "1000.00", 2020, d);
+        crearEmpleado("b@test.com", "3000.00", 2021, d);
+        crearEmpleado("c@test.com", "12000.00", 2021, null);
+
+        mockMvc.perform(post("/api/analitica/snapshot/refrescar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas").value(3));
+
+        mockMvc.perform(get("/api/analitica/agrupaciones").param("por", "DEPARTAMENTO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].clave").value(-1))
+                .andExpect(jsonPath("$[1].clave").value(d.getId()))
+                .andExpect(jsonPath("$[1].totalSalarios").value(4000.0))
+                .andExpect(jsonPath("$[1].salarioPromedio").value(2000.0));
+
+        mockMvc.perform(get("/api/analitica/agrupaciones").param("por", "ANIO_CONTRATACION"))
+                .andExpect(jsonPath("$[*].clave", contains(2020, 2021)))
+                .andExpect(jsonPath("$[1].cantidad").value(2));
+
+        mockMvc.perform(get("/api/analitica/agrupaciones").param("por", "BANDA_SALARIAL").param("banda", "5000"))
+                .andExpect(jsonPath("$[*].clave", contains(0.0, 10000.0)));
+        mockMvc.perform(get("/api/analitica/agrupaciones").param("por", "BANDA_SALARIAL").param("banda", "0.50"))
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].clave").value(1000.0));
+        // Por debajo de un centavo la banda se truncaría a cero
+        mockMvc.perform(get("/api/analitica/agrupaciones").param("por", "BANDA_SALARIAL").param("banda", "0.001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Proyecto crearProyecto(String nombre, LocalDate inicio, LocalDate fin) {
+        Proyecto p = new Proyecto();
+        p.setNombre(nombre);
+        p.setFechaInicio(inicio);
+        p.setFechaFin(fin);
+        return proyectoRepository.save(p);
+    }
+
+    @Test
+    void cuandoPedirCargaDeProyectos_entoncesFiltraPorPicoEnLaVentana() throws Exception {
+        Proyecto a = crearProyecto("A", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+        Proyecto b = crearProyecto("B", LocalDate.of(2025, 3, 15), null);
+        Proyecto c = crearProyecto("C", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+        Empleado ocupado = new Empleado();
+        ocupado.setNombre("Ocupado");
+        ocupado.setApellido("Apellido");
+        ocupado.setEmail("ocupado@test.com");
+        ocupado.setSalario(new BigDecimal("1000.00"));
+        ocupado.setFechaContratacion(LocalDate.of(2020, 1, 1));
+        ocupado.getProyectos().addAll(List.of(a, b, c));
+        ocupado = empleadoRepository.save(ocupado);
+        crearEmpleado("libre@test.com", "1000.00", 2020, null);
+
+        mockMvc.perform(get("/api/analitica/carga-proyectos")
+                        .param("desde", "2025-03-01")
+                        .param("hasta", "2025-04-30")
+                        .param("minimo", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].empleadoId").value(ocupado.getId()))
+                .andExpect(jsonPath("$[0].picoProyectos").value(2))
+                .andExpect(jsonPath("$[0].inicioPico").value("2025-03-15"))
+                .andExpect(jsonPath("$[0].tramos[*].proyectos", contains(1, 2, 1)))
+                .andExpect(jsonPath("$[0].tramos[2].hasta").value("2025-04-30"));
+        mockMvc.perform(get("/api/analitica/carga-proyectos")
+                        .param("desde", "2025-04-01")
+                        .param("hasta", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cuandoPedirPercentiles_entoncesSalenDeLosBocetosYSiguenLasEscrituras() throws Exception {
+        Departamento ventas = new Departamento();
+        ventas.setNombre("Ventas");
+        ventas = departamentoRepository.save(ventas);
+        Departamento legales = new Departamento();
+        legales.setNombre("Legales");
+        legales = departamentoRepository.save(legales);
+        for (int i = 1; i <= 100; i++) {
+            crearEmpleado("ventas" + i + "@test.com", i + "000.00", 2020, ventas);
+        }
+        crearEmpleado("legal@test.com", "50000.00", 2020, legales);
+        mockMvc.perform(post("/api/analitica/percentiles/reconstruir"))
+                .andExpect(status().isNoContent());
+
+        // Sin escrituras pendientes no se toca la base
+        mockMvc.perform(get("/api/analitica/percentiles").param("p", "50", "90", "99.5"))
+                .andExpect(status().isOk())
+                .andExpect(sentencias(0))
+                .andExpect(jsonPath("$.errorRelativo").value(0.01))
+                .andExpect(jsonPath("$.empresa.empleados").value(101))
+                .andExpect(jsonPath("$.empresa.percentiles.p50", closeTo(50000.0, 500.0)))
+                .andExpect(jsonPath("$.departamentos[*].departamentoId", contains(
+                        ventas.getId().intValue(), legales.getId().intValue())))
+                .andExpect(jsonPath("$.departamentos[0].empleados").value(100))
+                .andExpect(jsonPath("$.departamentos[0].percentiles.p90", closeTo(90000.0, 900.0)))
+                .andExpect(jsonPath("$.departamentos[0].percentiles.['p99.5']", closeTo(99000.0, 990.0)))
+                .andExpect(jsonPath("$.departamentos[1].percentiles.p50", closeTo(50000.0, 500.0)));
+
+        // El mejor pagado de Ventas pasa a Legales con aumento y otro se da de baja
+        Empleado estrella = empleadoRepository.findAll().stream()
+                .filter(e -> e.getEmail().equals("ventas100@test.com")).findFirst().orElseThrow();
+        estrella.setDepartamento(legales);
+        estrella.setSalario(new BigDecimal("250000.00"));
+        empleadoService.actualizar(estrella.getId(), estrella);
+        empleadoService.eliminar(empleadoRepository.findAll().stream()
+                .filter(e -> e.getEmail().equals("ventas1@test.com")).findFirst().orElseThrow().getId());
+
+        mockMvc.perform(get("/api/analitica/percentiles").param("p", "0", "100"))
+                .andExpect(status().isOk())
+                .andExpect(sentencias(1))
+                .andExpect(jsonPath("$.empresa.empleados").value(100))
+                .andExpect(jsonPath("$.empresa.percentiles.p100", closeTo(250000.0, 2500.0)))
+                .andExpect(jsonPath("$.departamentos[0].empleados").value(98))
+                .andExpect(jsonPath("$.departamentos[0].percentiles.p0", closeTo(2000.0, 20.0)))
+                .andExpect(jsonPath("$.departamentos[0].percentiles.p100", closeTo(99000.0, 990.0)))
+                .andExpect(jsonPath("$.departamentos[1].empleados").value(2));
+
+        mockMvc.perform(get("/api/analitica/percentiles").param("p", "101"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,117 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.eventos.FeedCambios;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CambioControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private FeedCambios feedCambios;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        departamentoRepository.deleteAll();
+    }
+
+    private void crearDepartamento(String nombre) throws Exception {
+        Departamento d = new Departamento();
+        d.setNombre(nombre);
+        mockMvc.perform(post("/api/departamentos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated());
+    }
+
+    private String esperarContenido(MvcResult resultado, String esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String contenido = resultado.getResponse().getContentAsString();
+        while (!contenido.contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            contenido = resultado.getResponse().getContentAsString();
+        }
+        return contenido;
+    }
+
+    @Test
+    void cuandoSeCreaDepartamento_entoncesSuscriptorRecibeEvento() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/cambios/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        crearDepartamento("Ventas");
+
+        String contenido = esperarContenido(stream, "\"operacion\":\"CREACION\"");
+        assertTrue(contenido.contains("event:DEPARTAMENTO"));
+        assertTrue(contenido.contains("\"operacion\":\"CREACION\""));
+    }
+
+    @Test
+    void cuandoReconectaDesdeSecuencia_entoncesRecibeSoloEventosPosteriores() throws Exception {
+        crearDepartamento("Compras");
+        long secuencia = feedCambios.ultimaSecuencia();
+        crearDepartamento("Legales");
+
+        MvcResult stream = mockMvc.perform(get("/api/cambios/stream")
+                        .header("Last-Event-ID", secuencia))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String contenido = esperarContenido(stream, "id:" + (secuencia + 1));
+        assertTrue(contenido.contains("id:" + (secuencia + 1)));
+        assertFalse(contenido.contains("id:" + secuencia + "\n"));
+    }
+
+    @Test
+    void cuandoSecuenciaYaNoEstaEnHistorial_entoncesPideResincronizar() throws Exception {
+        crearDepartamento("Marketing");
+
+        MvcResult stream = mockMvc.perform(get("/api/cambios/stream").param("desde", "-5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String contenido = esperarContenido(stream, "resincronizar");
+        assertTrue(contenido.contains("event:resincronizar"));
+    }
+
+    @Test
+    void cuandoSecuenciaEsPosteriorALaUltima_entoncesPideResincronizar() throws Exception {
+        crearDepartamento("Finanzas");
+
+        // Como tras un reinicio: el cliente trae un id que este servidor aún no emitió
+        MvcResult stream = mockMvc.perform(get("/api/cambios/stream")
+                        .header("Last-Event-ID", feedCambios.ultimaSecuencia() + 1000))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String contenido = esperarContenido(stream, "resincronizar");
+        assertTrue(contenido.contains("event:resincronizar"));
+        assertTrue(contenido.contains("data:" + feedCambios.ultimaSecuencia()));
+    }
+}
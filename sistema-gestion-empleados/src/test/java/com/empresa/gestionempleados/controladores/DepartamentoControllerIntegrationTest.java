@@ -1,8 +1,21 @@
 package com.empresa.gestionempleados.controladores;
 
+import com.empresa.gestionempleados.diagnostico.PresupuestoSqlFilter;
+import com.empresa.gestionempleados.dto.SolicitudTransferencia;
 import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.HistorialSalario;
+import com.empresa.gestionempleados.entidades.Proyecto;
 import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.HistorialSalarioRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import com.empresa.gestionempleados.servicios.DepartamentoService;
+import com.empresa.gestionempleados.servicios.EmpleadoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,9 +23,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,12 +49,31 @@ class DepartamentoControllerIntegrationTest {
     @Autowired
     private DepartamentoRepository departamentoRepository;
 
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private HistorialSalarioRepository historialSalarioRepository;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         departamentoRepository.deleteAll();
+        proyectoRepository.deleteAll();
     }
 
     private Departamento crearDepartamentoDePrueba() {
@@ -122,4 +163,203 @@ class DepartamentoControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string(containsString("Departamento no encontrado")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void cuandoObtenerDetalle_entoncesCantidadDeSentenciasNoDependeDelTamanio() throws Exception {
+        Departamento d = crearDepartamentoDePrueba();
+        List<Proyecto> proyectos = proyectoRepository.saveAll(List.of(
+                crearProyecto("Alpha"), crearProyecto("Beta")));
+        for (int i = 0; i < 20; i++) {
+            Empleado e = new Empleado();
+            e.setNombre("Empleado" + i);
+            e.setApellido("Apellido");
+            e.setEmail("empleado" + i + "@test.com");
+            e.setFechaContratacion(LocalDate.now());
+            e.setSalario(new BigDecimal("35000"));
+            e.setDepartamento(d);
+            e.setProyectos(new HashSet<>(proyectos));
+            empleadoRepository.save(e);
+        }
+
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+
+        mockMvc.perform(get("/api/departamentos/{id}/detalle", d.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("IT"))
+                .andExpect(jsonPath("$.empleados", hasSize(20)))
+                .andExpect(jsonPath("$.empleados[0].proyectos", hasSize(2)))
+                .andExpect(SentenciasSql.sentencias(2))
+                .andExpect(SentenciasSql.entidades(23));
+
+        long sentencias = estadisticas.getPrepareStatementCount();
+        assertTrue(sentencias <= 3, "Se ejecutaron " + sentencias + " sentencias");
+    }
+
+    @Test
+    void cuandoObtenerDetalleInexistente_entoncesDevuelve404() throws Exception {
+        mockMvc.perform(get("/api/departamentos/{id}/detalle", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString("Departamento no encontrado")));
+    }
+
+    private Proyecto crearProyecto(String nombre) {
+        Proyecto p = new Proyecto();
+        p.setNombre(nombre);
+        p.setFechaInicio(LocalDate.now());
+        p.setFechaFin(LocalDate.now().plusMonths(1));
+        return p;
+    }
+
+    @Test
+    void cuandoPedirNominaHistorica_entoncesSumaSalariosVigentesEnLaFecha() throws Exception {
+        Long departamentoId = crearDepartamentoDePrueba().getId();
+        LocalDate haceUnAnio = LocalDate.now().minusYears(1);
+        historialSalarioRepository.saveAll(List.of(
+                new HistorialSalario(null, 9001L, new BigDecimal("1000"), departamentoId, haceUnAnio.atStartOfDay()),
+                new HistorialSalario(null, 9001L, new BigDecimal("1500"), departamentoId, haceUnAnio.plusMonths(6).atStartOfDay()),
+                new HistorialSalario(null, 9002L, new BigDecimal("2000"), departamentoId, haceUnAnio.atStartOfDay()),
+                new HistorialSalario(null, 9002L, null, null, haceUnAnio.plusMonths(3).atStartOfDay()),
+                new HistorialSalario(null, 9003L, new BigDecimal("3000"), 424242L, haceUnAnio.atStartOfDay()),
+                new HistorialSalario(null, 9003L, new BigDecimal("3000"), departamentoId, haceUnAnio.plusMonths(9).atStartOfDay())));
+
+        mockMvc.perform(get("/api/departamentos/{id}/nomina/historica", departamentoId)
+                        .param("fecha", haceUnAnio.plusMonths(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSalarios").value(3000.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(2));
+
+        mockMvc.perform(get("/api/departamentos/{id}/nomina/historica", departamentoId)
+                        .param("fecha", haceUnAnio.plusMonths(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSalarios").value(4500.0))
+                .andExpect(jsonPath("$.empleados[*].empleadoId", contains(9001, 9003)));
+    }
+
+    @Test
+    void cuandoPedirCamposDeUnDepartamento_entoncesNoCargaEmpleados() throws Exception {
+        Departamento d = crearDepartamentoDePrueba();
+
+        mockMvc.perform(get("/api/departamentos/{id}", d.getId()).param("fields", "nombre"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"nombre\":\"IT\"}", JsonCompareMode.STRICT))
+                .andExpect(SentenciasSql.sentencias(1));
+        mockMvc.perform(get("/api/departamentos/{id}", 999L).param("fields", "nombre"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Departamento crearConNomina(String nombre, int empleados, String salario) {
+        Departamento d = new Departamento();
+        d.setNombre(nombre);
+        d = departamentoService.guardar(d);
+        for (int i = 0; i < empleados; i++) {
+            crearEmpleadoEn(d, nombre.toLowerCase() + i + "@transferencia.com", salario);
+        }
+        return d;
+    }
+
+    private Empleado crearEmpleadoEn(Departamento d, String email, String salario) {
+        Empleado e = new Empleado();
+        e.setNombre("Empleado");
+        e.setApellido("Apellido");
+        e.setEmail(email);
+        e.setFechaContratacion(LocalDate.now());
+        e.setSalario(new BigDecimal(salario));
+        e.setDepartamento(d);
+        return empleadoService.guardar(e);
+    }
+
+    private String transferencia(Long origenId, List<Long> empleadoIds) throws Exception {
+        return objectMapper.writeValueAsString(new SolicitudTransferencia(origenId, empleadoIds));
+    }
+
+    @Test
+    void cuandoTransferirDepartamentoEntero_entoncesUnUpdateYSentenciasQueNoDependenDelTamanio() throws Exception {
+        Departamento destino = crearConNomina("Destino", 1, "1000");
+        Departamento chico = crearConNomina("Chico", 3, "2000");
+        Departamento grande = crearConNomina("Grande", 30, "3000");
+        Long movido = empleadoRepository.findIdsByDepartamentoId(grande.getId()).get(0);
+
+        MvcResult transferenciaChica = mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(chico.getId(), null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empleadosTransferidos").value(3))
+                .andReturn();
+        MvcResult transferenciaGrande = mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(grande.getId(), null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empleadosTransferidos").value(30))
+                .andReturn();
+
+        assertEquals(transferenciaChica.getResponse().getHeader(PresupuestoSqlFilter.CABECERA).split(",")[0],
+                transferenciaGrande.getResponse().getHeader(PresupuestoSqlFilter.CABECERA).split(",")[0]);
+        assertEquals(34, empleadoRepository.findIdsByDepartamentoId(destino.getId()).size());
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", grande.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(0.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(0));
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", destino.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(97000.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(34));
+        mockMvc.perform(get("/api/empleados/{id}/salario", movido))
+                .andExpect(jsonPath("$.departamentoId").value(destino.getId()));
+    }
+
+    @Test
+    void cuandoTransferirPorIds_entoncesSoloMueveLosQueNoEstabanEnElDestino() throws Exception {
+        Departamento destino = crearConNomina("Destino", 0, "0");
+        Departamento ventas = crearConNomina("Ventas", 0, "0");
+        Empleado yaEstaba = crearEmpleadoEn(destino, "ya@transferencia.com", "1000");
+        Empleado vendedor = crearEmpleadoEn(ventas, "vendedor@transferencia.com", "2000");
+        Empleado otroVendedor = crearEmpleadoEn(ventas, "otro@transferencia.com", "2500");
+        Empleado sinDepartamento = crearEmpleadoEn(null, "sin@transferencia.com", "3000");
+
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(null, List.of(yaEstaba.getId(), vendedor.getId(), sinDepartamento.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empleadosTransferidos").value(2));
+
+        assertEquals(List.of(otroVendedor.getId()), empleadoRepository.findIdsByDepartamentoId(ventas.getId()));
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", ventas.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(2500.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(1));
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", destino.getId()))
+                .andExpect(jsonPath("$.totalSalarios").value(6000.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(3));
+    }
+
+    @Test
+    void cuandoTransferenciaMalFormada_entoncesNoMueveANadie() throws Exception {
+        Departamento destino = crearConNomina("Destino", 0, "0");
+        Departamento ventas = crearConNomina("Ventas", 1, "2000");
+        Long vendedor = empleadoRepository.findIdsByDepartamentoId(ventas.getId()).get(0);
+
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(ventas.getId(), List.of(vendedor))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(null, List.of())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", ventas.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(ventas.getId(), null)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("son el mismo")));
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", destino.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(null, List.of(vendedor, 999999L))))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString("[999999]")));
+        mockMvc.perform(post("/api/departamentos/{id}/transferir", 999999L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(transferencia(ventas.getId(), null)))
+                .andExpect(status().isNotFound());
+
+        assertEquals(List.of(vendedor), empleadoRepository.findIdsByDepartamentoId(ventas.getId()));
+    }
+}
@@ -1,50 +1,98 @@
 package com.empresa.gestionempleados.controladores;
 
 import com.empresa.gestionempleados.SistemaGestionEmpleadosApplication;
+import com.empresa.gestionempleados.dto.EmpleadoFila;
+import com.empresa.gestionempleados.entidades.Departamento;
 import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.HistorialSalario;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
 import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.HistorialSalarioRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest(classes = SistemaGestionEmpleadosApplication.class)
+@SpringBootTest(classes = SistemaGestionEmpleadosApplication.class,
+        properties = "app.cambios.margen-confirmacion-ms=" + EmpleadoControllerIntegrationTest.MARGEN_MS)
 @AutoConfigureMockMvc
 public class EmpleadoControllerIntegrationTest {
 
+    static final long MARGEN_MS = 1000;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private EmpleadoRepository empleadoRepository;
 
+    @Autowired
+    private HistorialSalarioRepository historialSalarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         empleadoRepository.deleteAll();
     }
 
-    private Empleado crearEmpleadoDePrueba(String nombre, String email) {
+    private static Empleado nuevoEmpleado(String nombre, String email) {
         Empleado e = new Empleado();
         e.setNombre(nombre);
         e.setApellido("Apellido");
         e.setEmail(email);
         e.setFechaContratacion(LocalDate.now());
         e.setSalario(new BigDecimal("35000"));
-        return empleadoRepository.save(e);
+        return e;
+    }
+
+    private Empleado crearEmpleadoDePrueba(String nombre, String email) {
+        return empleadoRepository.save(nuevoEmpleado(nombre, email));
+    }
+
+    // /cambios solo entrega filas más antiguas que el margen de confirmación
+    private static void esperarMargen() throws InterruptedException {
+        Thread.sleep(MARGEN_MS + 100);
     }
 
     @Test
@@ -67,6 +115,18 @@ public class EmpleadoControllerIntegrationTest {
                 .andExpect(jsonPath("$.salario").value(38000.0));
     }
 
+    @Test
+    void cuandoCrearEmpleadoConEmailRegistrado_entoncesDevuelve409() throws Exception {
+        crearEmpleadoDePrueba("Juan", "juan@test.com");
+        Empleado empleado = nuevoEmpleado("Otro", "juan@test.com");
+
+        mockMvc.perform(post("/api/empleados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(empleado)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("juan@test.com")));
+    }
+
     @Test
     void cuandoObtenerTodosLosEmpleados_entoncesDevuelveLista() throws Exception {
         Empleado e1 = crearEmpleadoDePrueba("Juan", "juan@test.com");
@@ -139,4 +199,284 @@ public class EmpleadoControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string(containsString("Empleado no encontrado")));
     }
+
+    @Test
+    void cuandoPedirCambiosDesdeFecha_entoncesPaginaActualizadosYBajas() throws Exception {
+        LocalDateTime desde = LocalDateTime.now().minusSeconds(1);
+        Empleado e1 = crearEmpleadoDePrueba("Uno", "uno@test.com");
+        crearEmpleadoDePrueba("Dos", "dos@test.com");
+        Empleado e3 = crearEmpleadoDePrueba("Tres", "tres@test.com");
+
+        mockMvc.perform(delete("/api/empleados/{id}", e3.getId()))
+                .andExpect(status().isNoContent());
+        esperarMargen();
+
+        mockMvc.perform(get("/api/empleados/cambios")
+                        .param("desde", desde.toString())
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actualizados", hasSize(1)))
+                .andExpect(jsonPath("$.actualizados[0].nombre").value("Uno"))
+                .andExpect(jsonPath("$.hayMas").value(true))
+                .andExpect(jsonPath("$.siguienteDesdeId").value(e1.getId()));
+
+        mockMvc.perform(get("/api/empleados/cambios")
+                        .param("desde", desde.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actualizados[*].nombre", containsInAnyOrder("Uno", "Dos")))
+                .andExpect(jsonPath("$.eliminados", contains(e3.getId().intValue())))
+                .andExpect(jsonPath("$.hayMas").value(false));
+    }
+
+    @Test
+    void cuandoTransaccionEnCursoConfirmaDespuesDeLaLectura_entoncesLaSiguientePaginaLaIncluye() throws Exception {
+        LocalDateTime desde = LocalDateTime.now().minusSeconds(1);
+        CountDownLatch escrita = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        // Fija su fecha_actualizacion al hacer flush pero confirma después de que el cliente lea
+        CompletableFuture<Void> enCurso = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                    empleadoRepository.saveAndFlush(nuevoEmpleado("Tardio", "tardio@test.com"));
+                    escrita.countDown();
+                    try {
+                        confirmar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(escrita.await(5, TimeUnit.SECONDS));
+        crearEmpleadoDePrueba("Rapido", "rapido@test.com");
+
+        String primera = mockMvc.perform(get("/api/empleados/cambios").param("desde", desde.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hayMas").value(false))
+                .andReturn().getResponse().getContentAsString();
+        confirmar.countDown();
+        enCurso.get(5, TimeUnit.SECONDS);
+        esperarMargen();
+
+        JsonNode cursor = objectMapper.readTree(primera);
+        mockMvc.perform(get("/api/empleados/cambios")
+                        .param("desde", cursor.get("siguienteDesde").asText())
+                        .param("desdeId", cursor.get("siguienteDesdeId").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actualizados[*].nombre", containsInAnyOrder("Tardio", "Rapido")));
+    }
+
+    @Test
+    void cuandoActualizarSalario_entoncesConsultaAlDiaDevuelveSalarioVigente() throws Exception {
+        Empleado e = new Empleado();
+        e.setNombre("Sofia");
+        e.setApellido("Diaz");
+        e.setEmail("sofia@test.com");
+        e.setFechaContratacion(LocalDate.now());
+        e.setSalario(new BigDecimal("30000"));
+        String creado = mockMvc.perform(post("/api/empleados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(e)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(creado, Empleado.class).getId();
+        historialSalarioRepository.save(new HistorialSalario(null, id, new BigDecimal("25000"), null,
+                LocalDate.now().minusYears(1).atStartOfDay()));
+
+        e.setId(id);
+        e.setSalario(new BigDecimal("32000"));
+        mockMvc.perform(put("/api/empleados/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(e)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/empleados/{id}/salario", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salario").value(32000.0));
+        mockMvc.perform(get("/api/empleados/{id}/salario", id)
+                        .param("fecha", LocalDate.now().minusMonths(6).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salario").value(25000.0));
+        mockMvc.perform(get("/api/empleados/{id}/salario", id)
+                        .param("fecha", LocalDate.now().minusYears(2).toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cuandoImportarCsv_entoncesGuardaFilasValidasYReportaErroresPorFila() throws Exception {
+        Departamento departamento = new Departamento();
+        departamento.setNombre("Importaciones");
+        departamento = departamentoRepository.save(departamento);
+        crearEmpleadoDePrueba("Existente", "existente@test.com");
+
+        String csv = """
+                nombre,apellido,email,fechaContratacion,salario,departamento
+                Ana,Lopez,ana.csv@test.com,2024-01-10,1000.50,importaciones
+                Beto,"Diaz, Jr",beto.csv@test.com,2024-02-01,2000,
+                Caro,Perez,no-es-email,2024-03-01,3000,Importaciones
+                Dani,Gomez,dani.csv@test.com,2024-03-01,3000,Inexistente
+                Eva,Ruiz,ana.csv@test.com,2024-03-01,3000,
+                Fede,Sosa,existente@test.com,2024-03-01,3000,
+                Gabi,Luna,gabi.csv@test.com,ayer,-5,
+                """;
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "empleados.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/empleados/importacion").file(archivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filasLeidas").value(7))
+                .andExpect(jsonPath("$.importadas").value(2))
+                .andExpect(jsonPath("$.errores[*].fila", contains(4, 5, 6, 7, 8)))
+                .andExpect(jsonPath("$.errores[0].mensaje", containsString("email")))
+                .andExpect(jsonPath("$.errores[1].mensaje", containsString("Inexistente")))
+                .andExpect(jsonPath("$.errores[2].mensaje", containsString("repetido")))
+                .andExpect(jsonPath("$.errores[3].mensaje", containsString("ya está registrado")))
+                .andExpect(jsonPath("$.errores[4].mensaje", allOf(containsString("fechaContratacion"),
+                        containsString("salario"))));
+
+        Empleado ana = empleadoRepository.findByEmail("ana.csv@test.com").orElseThrow();
+        assertEquals(departamento.getId(), empleadoRepository.findEstadoSalarialById(ana.getId()).orElseThrow().departamentoId());
+        assertEquals("Diaz, Jr", empleadoRepository.findByEmail("beto.csv@test.com").orElseThrow().getApellido());
+    }
+
+    @Test
+    void cuandoCsvSinColumnasObligatorias_entoncesInformaLaCabecera() throws Exception {
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "empleados.csv", "text/csv",
+                "nombre,email\nAna,ana@test.com\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/empleados/importacion").file(archivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importadas").value(0))
+                .andExpect(jsonPath("$.errores[0].mensaje", containsString("apellido")));
+    }
+
+    @Test
+    void cuandoPedirCamposConcretos_entoncesSoloSeleccionaEsasColumnas() throws Exception {
+        crearEmpleadoDePrueba("Juan", "juan@test.com");
+        crearEmpleadoDePrueba("Maria", "maria@test.com");
+
+        mockMvc.perform(get("/api/empleados").param("fields", "id,nombre,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].nombre").value("Juan"))
+                .andExpect(jsonPath("$[0].email").value("juan@test.com"))
+                .andExpect(jsonPath("$[0].salario").doesNotExist())
+                .andExpect(jsonPath("$[0].departamento").doesNotExist())
+                .andExpect(SentenciasSql.sentencias(1))
+                .andExpect(SentenciasSql.entidades(0));
+    }
+
+    @Test
+    void cuandoPedirCampoDeRelacionOInexistente_entoncesDevuelve400() throws Exception {
+        Empleado e = crearEmpleadoDePrueba("Juan", "juan@test.com");
+
+        mockMvc.perform(get("/api/empleados/{id}", e.getId()).param("fields", "nombre,departamento"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Campo desconocido 'departamento'")));
+        mockMvc.perform(get("/api/empleados/{id}", e.getId()).param("fields", "nombre,apellido"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"nombre\":\"Juan\",\"apellido\":\"Apellido\"}", JsonCompareMode.STRICT));
+    }
+
+    private Empleado crearEmpleadoFiltrable(String nombre, Departamento departamento, String salario,
+                                            LocalDate contratacion, Proyecto... proyectos) {
+        Empleado e = new Empleado();
+        e.setNombre(nombre);
+        e.setApellido("Apellido");
+        e.setEmail(nombre.toLowerCase() + "@filtro.com");
+        e.setFechaContratacion(contratacion);
+        e.setSalario(new BigDecimal(salario));
+        e.setDepartamento(departamento);
+        e.getProyectos().addAll(List.of(proyectos));
+        return empleadoRepository.save(e);
+    }
+
+    @Test
+    void cuandoFiltrarCombinandoCriterios_entoncesPaginaYOrdenaLasCoincidencias() throws Exception {
+        Departamento ventas = new Departamento();
+        ventas.setNombre("Ventas Filtro");
+        ventas = departamentoRepository.save(ventas);
+        Departamento otro = new Departamento();
+        otro.setNombre("Otro Filtro");
+        otro = departamentoRepository.save(otro);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        crearEmpleadoFiltrable("Ana", ventas, "40000", base);
+        crearEmpleadoFiltrable("Bea", ventas, "45000", base.plusMonths(6));
+        crearEmpleadoFiltrable("Carla", ventas, "50000", base.plusYears(1));
+        crearEmpleadoFiltrable("Dora", ventas, "90000", base.plusMonths(3));
+        crearEmpleadoFiltrable("Eva", ventas, "42000", base.minusYears(3));
+        crearEmpleadoFiltrable("Fina", otro, "44000", base.plusMonths(2));
+
+        mockMvc.perform(get("/api/empleados/filtro")
+                        .param("departamento", "Ventas Filtro")
+                        .param("salarioMin", "40000")
+                        .param("salarioMax", "60000")
+                        .param("contratadoDesde", "2020-01-01")
+                        .param("contratadoHasta", "2021-12-31")
+                        .param("sort", "salario,desc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].nombre", contains("Carla", "Bea")))
+                .andExpect(jsonPath("$.content[0].departamentoId").value(ventas.getId()))
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.page.totalPages").value(2))
+                .andExpect(SentenciasSql.sentencias(3))
+                .andExpect(SentenciasSql.entidades(2));
+
+        mockMvc.perform(get("/api/empleados/filtro")
+                        .param("departamentoId", otro.getId().toString())
+                        .param("departamento", "Ventas Filtro"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    void cuandoFiltrarPorProyecto_entoncesDevuelveSoloSusMiembrosSinDuplicados() throws Exception {
+        Proyecto alfa = new Proyecto();
+        alfa.setNombre("Alfa Filtro");
+        alfa.setFechaInicio(LocalDate.now());
+        alfa = proyectoRepository.save(alfa);
+        Proyecto beta = new Proyecto();
+        beta.setNombre("Beta Filtro");
+        beta.setFechaInicio(LocalDate.now());
+        beta = proyectoRepository.save(beta);
+        LocalDate hoy = LocalDate.now();
+        crearEmpleadoFiltrable("Gala", null, "30000", hoy, alfa, beta);
+        crearEmpleadoFiltrable("Hugo", null, "31000", hoy, beta);
+        crearEmpleadoFiltrable("Ines", null, "32000", hoy, alfa);
+
+        mockMvc.perform(get("/api/empleados/filtro")
+                        .param("proyectoId", alfa.getId().toString())
+                        .param("sort", "noExiste,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].nombre", contains("Gala", "Ines")))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    void cuandoFiltrarConFragmentos_entoncesMismoJsonQueJacksonYSinFilasViejas() throws Exception {
+        Departamento ventas = new Departamento();
+        ventas.setNombre("Ventas Fragmentos");
+        ventas = departamentoRepository.save(ventas);
+        Empleado ana = crearEmpleadoFiltrable("Ana", ventas, "40000.50", LocalDate.of(2020, 1, 1));
+        crearEmpleadoFiltrable("Bea", null, "45000", LocalDate.of(2021, 6, 15));
+        Page<EmpleadoFila> esperada = empleadoRepository.findAll(PageRequest.of(0, 20, Sort.by("id")))
+                .map(EmpleadoFila::desde);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/empleados/filtro"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().string(objectMapper.writeValueAsString(new PagedModel<>(esperada))));
+        }
+        mockMvc.perform(get("/api/empleados/{id}/fila", ana.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(EmpleadoFila.desde(ana))));
+
+        // Escritura directa en la base, sin evento: la versión distinta basta para no reutilizar el fragmento
+        ana.setSalario(new BigDecimal("41000"));
+        empleadoRepository.save(ana);
+        mockMvc.perform(get("/api/empleados/{id}/fila", ana.getId()))
+                .andExpect(jsonPath("$.salario").value(41000));
+        mockMvc.perform(get("/api/empleados/filtro").param("salarioMax", "41000"))
+                .andExpect(jsonPath("$.content[*].salario", contains(41000.0)));
+    }
 }
@@ -0,0 +1,103 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el techo de concurrencia de la lectura reactiva contra la lectura servlet.
+ * Se ejecuta a pedido: mvn test -Dtest=LecturaReactivaCargaTest -Dcarga=true
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=16",
+        "app.lectura-reactiva.habilitada=true",
+        "app.lectura-reactiva.url=r2dbc:h2:mem:///carga;DB_CLOSE_DELAY=-1"
+})
+class LecturaReactivaCargaTest {
+
+    private static final int EMPLEADOS = 2000;
+    private static final int[] CONCURRENCIAS = {16, 64, 256};
+    private static final int PEDIDOS_POR_NIVEL = 1024;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado e = new Empleado();
+            e.setNombre("Empleado" + i);
+            e.setApellido("Carga");
+            e.setEmail("carga" + i + "@test.com");
+            e.setFechaContratacion(LocalDate.now());
+            e.setSalario(BigDecimal.valueOf(20000 + i * 10L));
+            empleados.add(e);
+        }
+        empleadoRepository.saveAll(empleados);
+    }
+
+    @Test
+    void compararLecturaServletContraReactiva() throws Exception {
+        String consulta = "?min=20000&max=40000";
+        System.out.printf("%-10s %12s %12s %12s %12s%n", "ruta", "concurrencia", "pedidos/s", "p50 ms", "p99 ms");
+        for (int concurrencia : CONCURRENCIAS) {
+            medir("servlet", "/api/empleados/salario" + consulta, concurrencia);
+            medir("reactiva", "/api/reactivo/empleados/salario" + consulta, concurrencia);
+        }
+    }
+
+    private void medir(String nombre, String ruta, int concurrencia) throws Exception {
+        HttpRequest pedido = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta)).GET().build();
+        long[] latencias = new long[PEDIDOS_POR_NIVEL];
+        long inicio = System.nanoTime();
+        try (ExecutorService clientes = Executors.newFixedThreadPool(concurrencia)) {
+            List<Future<Integer>> respuestas = new ArrayList<>();
+            for (int i = 0; i < PEDIDOS_POR_NIVEL; i++) {
+                int indice = i;
+                respuestas.add(clientes.submit(() -> {
+                    long t0 = System.nanoTime();
+                    HttpResponse<Void> respuesta = cliente.send(pedido, HttpResponse.BodyHandlers.discarding());
+                    latencias[indice] = System.nanoTime() - t0;
+                    return respuesta.statusCode();
+                }));
+            }
+            for (Future<Integer> respuesta : respuestas) {
+                assertEquals(200, respuesta.get());
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        Arrays.sort(latencias);
+        System.out.printf("%-10s %12d %12.0f %12.1f %12.1f%n", nombre, concurrencia, PEDIDOS_POR_NIVEL / segundos,
+                latencias[PEDIDOS_POR_NIVEL / 2] / 1e6, latencias[PEDIDOS_POR_NIVEL * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,125 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivo;DB_CLOSE_DELAY=-1",
+        "app.lectura-reactiva.habilitada=true",
+        "app.lectura-reactiva.url=r2dbc:h2:mem:///reactivo;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class LecturaReactivaControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+
+        Departamento it = departamentoRepository.save(crearDepartamento("IT"));
+        Departamento ventas = departamentoRepository.save(crearDepartamento("Ventas"));
+        empleadoRepository.saveAll(List.of(
+                crearEmpleado("Ana", "ana@test.com", "30000", it),
+                crearEmpleado("Luis", "luis@test.com", "45000", it),
+                crearEmpleado("Sara", "sara@test.com", "60000", ventas)));
+
+        Proyecto activo = new Proyecto();
+        activo.setNombre("Activo");
+        activo.setFechaInicio(LocalDate.now().minusDays(3));
+        activo.setFechaFin(LocalDate.now().plusDays(3));
+        Proyecto terminado = new Proyecto();
+        terminado.setNombre("Terminado");
+        terminado.setFechaInicio(LocalDate.now().minusMonths(2));
+        terminado.setFechaFin(LocalDate.now().minusDays(1));
+        proyectoRepository.saveAll(List.of(activo, terminado));
+    }
+
+    private Departamento crearDepartamento(String nombre) {
+        Departamento d = new Departamento();
+        d.setNombre(nombre);
+        return d;
+    }
+
+    private Empleado crearEmpleado(String nombre, String email, String salario, Departamento departamento) {
+        Empleado e = new Empleado();
+        e.setNombre(nombre);
+        e.setApellido("Apellido");
+        e.setEmail(email);
+        e.setFechaContratacion(LocalDate.now());
+        e.setSalario(new BigDecimal(salario));
+        e.setDepartamento(departamento);
+        return e;
+    }
+
+    @Test
+    void cuandoBuscarPorDepartamento_entoncesTransmiteSusEmpleados() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/reactivo/empleados/departamento/{nombre}", "IT"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"nombre\":\"Ana\"")))
+                .andExpect(content().string(containsString("\"nombre\":\"Luis\"")))
+                .andExpect(content().string(not(containsString("Sara"))));
+    }
+
+    @Test
+    void cuandoBuscarPorRangoSalario_entoncesTransmiteSoloLosDelRango() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/reactivo/empleados/salario")
+                        .param("min", "40000")
+                        .param("max", "70000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Luis")))
+                .andExpect(content().string(containsString("Sara")))
+                .andExpect(content().string(not(containsString("Ana"))));
+    }
+
+    @Test
+    void cuandoBuscarProyectosActivos_entoncesExcluyeTerminados() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/reactivo/proyectos/activos"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"nombre\":\"Activo\"")))
+                .andExpect(content().string(not(containsString("Terminado"))));
+    }
+}
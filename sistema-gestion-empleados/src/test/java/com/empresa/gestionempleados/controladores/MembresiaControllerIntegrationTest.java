@@ -0,0 +1,117 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.entidades.Proyecto;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import com.empresa.gestionempleados.servicios.EmpleadoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MembresiaControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    private Proyecto alfa;
+    private Proyecto beta;
+    private Empleado ana;
+    private Empleado bruno;
+    private Empleado carla;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+        alfa = crearProyecto("Alfa");
+        beta = crearProyecto("Beta");
+        ana = crearEmpleado("Ana", alfa, beta);
+        bruno = crearEmpleado("Bruno", alfa);
+        carla = crearEmpleado("Carla");
+        mockMvc.perform(post("/api/membresias/reconstruir"))
+                .andExpect(status().isNoContent());
+    }
+
+    private Proyecto crearProyecto(String nombre) {
+        Proyecto p = new Proyecto();
+        p.setNombre(nombre);
+        p.setFechaInicio(LocalDate.now());
+        return proyectoRepository.save(p);
+    }
+
+    private Empleado crearEmpleado(String nombre, Proyecto... proyectos) {
+        Empleado e = new Empleado();
+        e.setNombre(nombre);
+        e.setApellido("Apellido");
+        e.setEmail(nombre.toLowerCase() + "@membresias.com");
+        e.setFechaContratacion(LocalDate.now());
+        e.setSalario(new BigDecimal("30000"));
+        e.getProyectos().addAll(Arrays.asList(proyectos));
+        return empleadoRepository.save(e);
+    }
+
+    @Test
+    void cuandoCombinarProyectos_entoncesRespondeDesdeElIndiceSinConsultarLaBase() throws Exception {
+        mockMvc.perform(get("/api/membresias/interseccion").param("proyectos", alfa.getId() + "," + beta.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantidad").value(1))
+                .andExpect(jsonPath("$.empleadoIds[0]").value(ana.getId()))
+                .andExpect(SentenciasSql.sentencias(0));
+        mockMvc.perform(get("/api/membresias/diferencia")
+                        .param("proyectos", alfa.getId().toString())
+                        .param("excluir", beta.getId().toString()))
+                .andExpect(jsonPath("$.empleadoIds", contains(bruno.getId().intValue())));
+        mockMvc.perform(get("/api/membresias/union").param("proyectos", alfa.getId() + "," + beta.getId()))
+                .andExpect(jsonPath("$.cantidad").value(2));
+        mockMvc.perform(get("/api/membresias/sin-proyecto"))
+                .andExpect(jsonPath("$.empleadoIds", contains(carla.getId().intValue())));
+        mockMvc.perform(get("/api/membresias/proyectos/{id}/compartidos", beta.getId()))
+                .andExpect(jsonPath("$[0].proyectoId").value(alfa.getId()))
+                .andExpect(jsonPath("$[0].empleadosCompartidos").value(1));
+    }
+
+    @Test
+    void cuandoCambianAsignacionesPorLosServicios_entoncesElIndiceSeMantiene() throws Exception {
+        carla.getProyectos().add(beta);
+        empleadoService.actualizar(carla.getId(), carla);
+        mockMvc.perform(delete("/api/empleados/{id}", ana.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/membresias/union").param("proyectos", beta.getId().toString()))
+                .andExpect(jsonPath("$.empleadoIds", contains(carla.getId().intValue())));
+        mockMvc.perform(get("/api/membresias/sin-proyecto"))
+                .andExpect(jsonPath("$.cantidad").value(0));
+    }
+
+    @Test
+    void cuandoProyectoNoExiste_entoncesDevuelveNotFound() throws Exception {
+        mockMvc.perform(get("/api/membresias/interseccion").param("proyectos", alfa.getId() + ",999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(containsString("Proyecto no encontrado")));
+    }
+}
@@ -3,6 +3,7 @@ package com.empresa.gestionempleados.controladores;
 import com.empresa.gestionempleados.entidades.Proyecto;
 import com.empresa.gestionempleados.exceptions.ProyectoNoEncontradoException;
 import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import com.empresa.gestionempleados.servicios.IndicePeriodosProyectos;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
@@ -29,6 +31,9 @@ public class ProyectoControllerIntegrationTest {
     @Autowired
     private ProyectoRepository proyectoRepository;
 
+    @Autowired
+    private IndicePeriodosProyectos indicePeriodos;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -154,7 +159,10 @@ public class ProyectoControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].nombre").value(activo.getNombre()))
                 .andExpect(jsonPath("$[0].descripcion").value(activo.getDescripcion()))
-                .andExpect(jsonPath("$[0].fechaFin").value(activo.getFechaFin().toString()));
+                .andExpect(jsonPath("$[0].fechaFin").value(activo.getFechaFin().toString()))
+                // Misma forma que la entidad: la lectura unida no cambia el JSON público
+                .andExpect(jsonPath("$[0].fechaActualizacion").exists())
+                .andExpect(jsonPath("$[0].empleados").isArray());
     }
 
     @Test
@@ -165,4 +173,85 @@ public class ProyectoControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string(containsString("Proyecto no encontrado")));
     }
+
+    @Test
+    void cuandoPedirCamposDeProyectos_entoncesDevuelveSoloEsosCampos() throws Exception {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Proyecto Campos");
+        proyecto.setDescripcion("Descripcion");
+        proyecto.setFechaInicio(LocalDate.now());
+        proyecto.setFechaFin(LocalDate.of(2030, 1, 31));
+        proyectoRepository.save(proyecto);
+
+        mockMvc.perform(get("/api/proyectos").param("fields", "nombre,fechaFin"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"nombre\":\"Proyecto Campos\",\"fechaFin\":\"2030-01-31\"}]", JsonCompareMode.STRICT));
+    }
+
+    private Proyecto crearProyecto(String nombre, LocalDate inicio, LocalDate fin) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(inicio);
+        proyecto.setFechaFin(fin);
+        return proyectoRepository.save(proyecto);
+    }
+
+    @Test
+    void cuandoBuscarPorRangoYFecha_entoncesConsideraInicioYFinesAbiertos() throws Exception {
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        crearProyecto("Enero", base, base.plusDays(30));
+        crearProyecto("Febrero", base.plusDays(31), base.plusDays(58));
+        crearProyecto("Sin fin", base.plusDays(20), null);
+        crearProyecto("Futuro", base.plusYears(1), base.plusYears(2));
+        indicePeriodos.reconstruir();
+
+        mockMvc.perform(get("/api/proyectos/activos-entre")
+                        .param("desde", "2025-01-25")
+                        .param("hasta", "2025-02-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", contains("Enero", "Sin fin", "Febrero")));
+        mockMvc.perform(get("/api/proyectos/activos-en").param("fecha", "2025-01-31"))
+                .andExpect(jsonPath("$[*].nombre", contains("Enero", "Sin fin")));
+        mockMvc.perform(get("/api/proyectos/activos-en").param("fecha", "2030-01-01"))
+                .andExpect(jsonPath("$[*].nombre", contains("Sin fin")));
+        mockMvc.perform(get("/api/proyectos/activos-entre")
+                        .param("desde", "2025-02-05")
+                        .param("hasta", "2025-01-25"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cuandoCambianFechasPorLaApi_entoncesSolapadosSeMantienen() throws Exception {
+        LocalDate base = LocalDate.of(2025, 6, 1);
+        Proyecto ancla = crearProyecto("Ancla", base, base.plusDays(30));
+        Proyecto lejano = crearProyecto("Lejano", base.plusYears(1), base.plusYears(1).plusDays(10));
+        indicePeriodos.reconstruir();
+
+        mockMvc.perform(get("/api/proyectos/{id}/solapados", ancla.getId()))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        lejano.setFechaInicio(base.plusDays(10));
+        mockMvc.perform(put("/api/proyectos/{id}", lejano.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lejano)))
+                .andExpect(status().isOk());
+        Proyecto nuevo = new Proyecto();
+        nuevo.setNombre("Nuevo");
+        nuevo.setFechaInicio(base.minusDays(5));
+        nuevo.setFechaFin(base);
+        mockMvc.perform(post("/api/proyectos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(nuevo)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/proyectos/{id}/solapados", ancla.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", contains("Nuevo", "Lejano")));
+        mockMvc.perform(delete("/api/proyectos/{id}", lejano.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/proyectos/{id}/solapados", ancla.getId()))
+                .andExpect(jsonPath("$[*].nombre", contains("Nuevo")));
+        mockMvc.perform(get("/api/proyectos/{id}/solapados", lejano.getId()))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,41 @@
+package com.empresa.gestionempleados.controladores;
+
+import com.empresa.gestionempleados.diagnostico.PresupuestoSqlFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lee de la cabecera {@code Server-Timing} cuántas sentencias SQL y entidades costó la
+ * petición, para fijar esas cifras en los tests de cada endpoint.
+ */
+public final class SentenciasSql {
+
+    private static final Pattern SENTENCIAS = Pattern.compile("sql;desc=\"(\\d+)\"");
+    private static final Pattern ENTIDADES = Pattern.compile("entidades;desc=\"(\\d+)\"");
+
+    private SentenciasSql() {
+    }
+
+    public static ResultMatcher sentencias(int esperadas) {
+        return resultado -> assertEquals(esperadas, leer(resultado, SENTENCIAS),
+                "Sentencias SQL ejecutadas por la petición");
+    }
+
+    public static ResultMatcher entidades(int esperadas) {
+        return resultado -> assertEquals(esperadas, leer(resultado, ENTIDADES),
+                "Entidades cargadas por la petición");
+    }
+
+    private static int leer(MvcResult resultado, Pattern patron) {
+        String cabecera = resultado.getResponse().getHeader(PresupuestoSqlFilter.CABECERA);
+        assertNotNull(cabecera, "La respuesta no trae la cabecera " + PresupuestoSqlFilter.CABECERA);
+        Matcher m = patron.matcher(cabecera);
+        assertTrue(m.find(), "Cabecera sin la métrica esperada: " + cabecera);
+        return Integer.parseInt(m.group(1));
+    }
+}
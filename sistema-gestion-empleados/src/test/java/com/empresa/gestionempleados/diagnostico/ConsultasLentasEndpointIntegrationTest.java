@@ -0,0 +1,63 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.sql.lentas.umbral-ms=0",
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=consultaslentas"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConsultasLentasEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RegistroConsultasLentas registro;
+
+    @LocalManagementPort
+    private int puertoGestion;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @Test
+    void cuandoSeConsultaRepositorio_entoncesElRankingIdentificaElMetodoSinParametrosEnClaro() throws Exception {
+        registro.reiniciar();
+
+        mockMvc.perform(get("/api/empleados/departamento/{nombre}", "Ventas"))
+                .andExpect(status().isOk());
+
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + puertoGestion + "/actuator/consultaslentas")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, respuesta.statusCode());
+        assertTrue(respuesta.body().contains("EmpleadoRepository.findIdsByNombreDepartamento"));
+        assertTrue(respuesta.body().contains("[" + registro.enmascarar("Ventas") + "]"));
+        assertFalse(respuesta.body().contains("Ventas"));
+    }
+
+    @Test
+    void cuandoSePideEnElPuertoDeLaAplicacion_entoncesNoExiste() throws Exception {
+        mockMvc.perform(get("/actuator/consultaslentas"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/actuator/consultaslentas"))
+                .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,59 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.servicios.DepartamentoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.sql.presupuesto.sentencias=1",
+        "app.sql.presupuesto.modo=fallar"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PresupuestoSqlFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    private Departamento departamento;
+
+    @BeforeEach
+    void setUp() {
+        departamentoRepository.deleteAll();
+        departamento = new Departamento();
+        departamento.setNombre("IT");
+        departamento = departamentoService.guardar(departamento);
+    }
+
+    @Test
+    void cuandoPeticionCabeEnPresupuesto_entoncesPublicaServerTiming() throws Exception {
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", departamento.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departamentoId").value(departamento.getId()))
+                .andExpect(header().string(PresupuestoSqlFilter.CABECERA, startsWith("sql;desc=\"1\", entidades;desc=\"1\"")));
+    }
+
+    @Test
+    void cuandoSeExcedePresupuestoEnModoFallar_entoncesDevuelve500() throws Exception {
+        mockMvc.perform(get("/api/departamentos/{id}/detalle", departamento.getId()))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(containsString("Presupuesto de sentencias SQL excedido")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresupuestoSqlFilterTest {
+
+    private static final byte[] CUERPO = new byte[64 * 1024];
+
+    // Escribe un cuerpo mayor que el buffer y anota si la respuesta real ya se confirmó
+    private static boolean confirmadaAlEscribir(String modo, String ruta, MockHttpServletResponse response)
+            throws Exception {
+        PresupuestoSqlFilter filtro = new PresupuestoSqlFilter(true, 1, modo);
+        AtomicBoolean confirmada = new AtomicBoolean();
+        FilterChain cadena = (req, res) -> {
+            ContadorSql.registrarSentencia();
+            res.getOutputStream().write(CUERPO);
+            confirmada.set(response.isCommitted());
+        };
+        filtro.doFilter(new MockHttpServletRequest("GET", ruta), response, cadena);
+        return confirmada.get();
+    }
+
+    @Test
+    void cuandoLaRutaEsDeJsonFragmentado_entoncesEscribeSinRetenerYConCabecera() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(confirmadaAlEscribir("fallar", "/api/empleados/filtro", response));
+        assertTrue(response.getHeader(PresupuestoSqlFilter.CABECERA).startsWith("sql;desc=\"1\""));
+        assertEquals(CUERPO.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void cuandoElModoEsFallar_entoncesRetieneLaRespuestaHastaElFinal() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(confirmadaAlEscribir("fallar", "/api/departamentos", response));
+        assertTrue(response.getHeader(PresupuestoSqlFilter.CABECERA).startsWith("sql;desc=\"1\""));
+        assertEquals(CUERPO.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void cuandoElModoEsRegistrar_entoncesNoRetieneNingunaRespuesta() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(confirmadaAlEscribir("registrar", "/api/departamentos", response));
+        assertTrue(response.getHeader(PresupuestoSqlFilter.CABECERA).startsWith("sql;desc=\"1\""));
+        assertEquals(CUERPO.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void cuandoSeReconocenRutas_entoncesSoloExcluyeLasFragmentadas() {
+        assertTrue(PresupuestoSqlFilter.sinRetencion("/api/empleados/filtro"));
+        assertTrue(PresupuestoSqlFilter.sinRetencion("/api/empleados/7/fila"));
+        assertFalse(PresupuestoSqlFilter.sinRetencion("/api/empleados/7"));
+        assertFalse(PresupuestoSqlFilter.sinRetencion("/api/empleados"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.empresa.gestionempleados.diagnostico;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistroConsultasLentasTest {
+
+    private static void ejecutar(RegistroConsultasLentas registro, String sql, long milisegundos, Object... valores)
+            throws NoSuchMethodException {
+        Method setObject = PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        QueryInfo info = new QueryInfo(sql);
+        List<ParameterSetOperation> operaciones = new ArrayList<>();
+        for (int i = valores.length - 1; i >= 0; i--) {
+            operaciones.add(new ParameterSetOperation(setObject, new Object[]{i + 1, valores[i]}));
+        }
+        info.getParametersList().add(operaciones);
+        ExecutionInfo ejecucion = new ExecutionInfo();
+        ejecucion.setElapsedTime(milisegundos);
+        registro.afterQuery(ejecucion, List.of(info));
+    }
+
+    @Test
+    void cuandoSeSuperaLaCapacidad_entoncesConservaSoloLasMasLentas() throws Exception {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(1000, 0.0, 3);
+
+        for (long ms : new long[]{5, 40, 1, 30, 20, 2}) {
+            ejecutar(registro, "select " + ms, ms);
+        }
+
+        assertEquals(List.of(40L, 30L, 20L),
+                registro.masLentas().stream().map(ConsultaLenta::milisegundos).toList());
+    }
+
+    @Test
+    void cuandoSeRegistraConsulta_entoncesIncluyeParametrosEnmascaradosEnOrden() throws Exception {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(10, 0.0, 5);
+
+        ejecutar(registro, "select * from empleados where nombre = ? and salario > ?", 15, "Ana", 1000);
+
+        ConsultaLenta consulta = registro.masLentas().get(0);
+        assertEquals(List.of("[" + registro.enmascarar("Ana") + ", " + registro.enmascarar(1000) + "]"),
+                consulta.parametros());
+        assertFalse(consulta.parametros().get(0).contains("Ana"));
+        assertEquals("-", consulta.repositorio());
+    }
+
+    @Test
+    void cuandoSeEnmascara_entoncesValoresIgualesDanElMismoHashSoloEnElMismoRegistro() {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(10, 0.0, 5);
+
+        assertEquals(registro.enmascarar("ana@test.com"), registro.enmascarar("ana@test.com"));
+        assertNotEquals(registro.enmascarar("ana@test.com"), registro.enmascarar("bea@test.com"));
+        assertNotEquals(registro.enmascarar("ana@test.com"),
+                new RegistroConsultasLentas(10, 0.0, 5).enmascarar("ana@test.com"));
+    }
+
+    @Test
+    void cuandoSeReinicia_entoncesVaciaElRanking() throws Exception {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(10, 0.0, 1);
+        ejecutar(registro, "select 1", 50);
+
+        registro.reiniciar();
+        ejecutar(registro, "select 2", 3);
+
+        assertEquals("select 2", registro.masLentas().get(0).sql());
+    }
+}
@@ -0,0 +1,75 @@
+package com.empresa.gestionempleados.eventos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCambiosTest {
+
+    private final FeedCambios feed = new FeedCambios(4, 16, 60_000);
+
+    @AfterEach
+    void cerrar() {
+        feed.cerrar();
+    }
+
+    private void publicar(int cantidad) {
+        for (long id = 1; id <= cantidad; id++) {
+            feed.alConfirmar(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, id));
+        }
+    }
+
+    private List<Long> secuenciasPosteriores(long desde) {
+        synchronized (feed) {
+            List<EventoCambio> eventos = feed.eventosPosteriores(desde, null);
+            return eventos == null ? null : eventos.stream().map(EventoCambio::secuencia).toList();
+        }
+    }
+
+    @Test
+    void cuandoSecuenciaSigueEnHistorial_entoncesDevuelveSoloLasPosteriores() {
+        publicar(10);
+
+        assertEquals(List.of(7L, 8L, 9L, 10L), secuenciasPosteriores(6));
+        assertEquals(List.of(10L), secuenciasPosteriores(9));
+        assertEquals(List.of(), secuenciasPosteriores(10));
+    }
+
+    @Test
+    void cuandoElHistorialYaDescartoLaSiguiente_entoncesPideResincronizar() {
+        publicar(10);
+
+        // Con capacidad 4 solo quedan la 7 a la 10: quien vio hasta la 5 perdió la 6
+        assertNull(secuenciasPosteriores(5));
+        assertNull(secuenciasPosteriores(0));
+    }
+
+    @Test
+    void cuandoSecuenciaEsPosteriorALaUltima_entoncesPideResincronizar() {
+        // Un cliente que vio la 500 antes de un reinicio no debe esperar callado a que el contador la alcance
+        publicar(3);
+
+        assertNull(secuenciasPosteriores(500));
+        assertNull(secuenciasPosteriores(4));
+    }
+
+    @Test
+    void cuandoElAtrasoSuperaElBufferDelSuscriptor_entoncesReenviaSinDesalojarlo() {
+        // Historial de 64 y buffer de 4: el reenvío de 20 no cabe en el buffer en vivo
+        FeedCambios amplio = new FeedCambios(64, 4, 60_000);
+        try {
+            for (long id = 1; id <= 20; id++) {
+                amplio.alConfirmar(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ACTUALIZACION, id));
+            }
+
+            amplio.suscribir(0L);
+
+            assertEquals(1, amplio.cantidadSuscriptores());
+        } finally {
+            amplio.cerrar();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivoinquilinos;DB_CLOSE_DELAY=-1",
+        "app.lectura-reactiva.habilitada=true",
+        "app.lectura-reactiva.url=r2dbc:h2:mem:///reactivoinquilinos;DB_CLOSE_DELAY=-1",
+        "app.multitenencia.habilitada=true",
+        "app.multitenencia.inquilinos=empresa_a,empresa_b"
+})
+@AutoConfigureMockMvc
+class LecturaReactivaInquilinosIntegrationTest {
+
+    private static final String CABECERA = "X-Inquilino";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long crearDepartamento(String inquilino, String nombre) throws Exception {
+        Departamento d = new Departamento();
+        d.setNombre(nombre);
+        String respuesta = mockMvc.perform(post("/api/departamentos")
+                        .header(CABECERA, inquilino)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(respuesta).get("id").asLong();
+    }
+
+    private void crearEmpleado(String inquilino, String nombre, long departamentoId) throws Exception {
+        mockMvc.perform(post("/api/empleados")
+                        .header(CABECERA, inquilino)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nombre":"%s","apellido":"Paz","email":"%s@test.com",
+                                 "fechaContratacion":"2024-01-01","salario":1000,
+                                 "departamento":{"id":%d}}""".formatted(nombre, nombre.toLowerCase(), departamentoId)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void cuandoSeLeeDeFormaReactiva_entoncesSoloVeLosDatosDelInquilino() throws Exception {
+        crearEmpleado("empresa_a", "Ana", crearDepartamento("empresa_a", "Ventas"));
+        crearEmpleado("empresa_b", "Bruno", crearDepartamento("empresa_b", "Ventas"));
+
+        MvcResult resultado = mockMvc.perform(get("/api/reactivo/empleados/departamento/{nombre}", "Ventas")
+                        .header(CABECERA, "empresa_b"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"nombre\":\"Bruno\"")))
+                .andExpect(content().string(not(containsString("Ana"))));
+    }
+}
@@ -0,0 +1,112 @@
+package com.empresa.gestionempleados.multitenencia;
+
+import com.empresa.gestionempleados.entidades.Departamento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.multitenencia.habilitada=true",
+        "app.multitenencia.inquilinos=empresa_a,empresa_b"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MultitenenciaIntegrationTest {
+
+    private static final String CABECERA = "X-Inquilino";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArranqueInquilinos arranqueInquilinos;
+
+    private void crearDepartamento(String inquilino, String nombre) throws Exception {
+        Departamento d = new Departamento();
+        d.setNombre(nombre);
+        mockMvc.perform(post("/api/departamentos")
+                        .header(CABECERA, inquilino)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(d)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void cuandoCadaInquilinoCreaDatos_entoncesSoloVeLosSuyos() throws Exception {
+        crearDepartamento("empresa_a", "Ventas A");
+        crearDepartamento("empresa_b", "Compras B");
+        crearDepartamento("empresa_b", "Legales B");
+
+        mockMvc.perform(get("/api/departamentos").header(CABECERA, "empresa_a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", contains("Ventas A")));
+        mockMvc.perform(get("/api/departamentos").header(CABECERA, "EMPRESA_B"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", containsInAnyOrder("Compras B", "Legales B")));
+        mockMvc.perform(get("/api/departamentos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].nombre", not(hasItem("Ventas A"))));
+    }
+
+    @Test
+    void cuandoSeRefrescaAnaliticaDeUnInquilino_entoncesNoAfectaAOtro() throws Exception {
+        crearDepartamento("empresa_a", "Operaciones");
+        mockMvc.perform(post("/api/empleados")
+                        .header(CABECERA, "empresa_a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nombre":"Ana","apellido":"Paz","email":"ana@a.com",
+                                 "fechaContratacion":"2024-01-01","salario":1000}"""))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/analitica/snapshot/refrescar").header(CABECERA, "empresa_a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas").value(1));
+        mockMvc.perform(get("/api/analitica/snapshot").header(CABECERA, "empresa_b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas").value(0));
+    }
+
+    @Test
+    void cuandoArrancaLaAplicacion_entoncesNominaEHistorialSeRehacenEnCadaInquilino() throws Exception {
+        crearDepartamento("empresa_b", "Auditoría B");
+        Long departamentoId = jdbcTemplate.queryForObject(
+                "SELECT id FROM EMPRESA_B.departamentos WHERE nombre = 'Auditoría B'", Long.class);
+        // Escritura fuera de la aplicación: ni nómina ni historial se enteran
+        jdbcTemplate.update("INSERT INTO EMPRESA_B.empleados (nombre, apellido, email, fecha_contratacion, salario, " +
+                "departamento_id) VALUES ('Eva', 'Sol', 'eva@b.com', DATE '2023-05-01', 2500.00, ?)", departamentoId);
+
+        arranqueInquilinos.preparar();
+
+        mockMvc.perform(get("/api/departamentos/{id}/nomina", departamentoId).header(CABECERA, "empresa_b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSalarios").value(2500.0))
+                .andExpect(jsonPath("$.cantidadEmpleados").value(1));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPRESA_B.historial_salarios h " +
+                "JOIN EMPRESA_B.empleados e ON e.id = h.empleado_id WHERE e.email = 'eva@b.com'", Integer.class));
+    }
+
+    @Test
+    void cuandoInquilinoEsDesconocido_entoncesDevuelve400() throws Exception {
+        mockMvc.perform(get("/api/departamentos").header(CABECERA, "empresa_z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Inquilino desconocido")));
+    }
+}
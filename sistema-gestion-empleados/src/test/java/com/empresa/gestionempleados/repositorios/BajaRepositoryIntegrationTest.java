@@ -0,0 +1,36 @@
+package com.empresa.gestionempleados.repositorios;
+
+import com.empresa.gestionempleados.entidades.Baja;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BajaRepositoryIntegrationTest {
+
+    @Autowired
+    private BajaRepository bajaRepository;
+
+    @Test
+    void cuandoLaBajaCaeEnElLimiteEntrePaginas_entoncesSaleEnUnaSola() {
+        LocalDateTime t0 = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime t1 = t0.plusMinutes(1);
+        LocalDateTime t2 = t0.plusMinutes(2);
+        bajaRepository.saveAll(List.of(
+                new Baja(null, TipoEntidad.EMPLEADO, 1L, t0),
+                new Baja(null, TipoEntidad.EMPLEADO, 2L, t1),
+                new Baja(null, TipoEntidad.EMPLEADO, 3L, t2),
+                new Baja(null, TipoEntidad.PROYECTO, 4L, t1)));
+
+        // Dos páginas consecutivas: la segunda empieza donde terminó la primera
+        assertEquals(List.of(1L), bajaRepository.findEntidadIdsEliminadas(TipoEntidad.EMPLEADO, t0, t1));
+        assertEquals(List.of(2L), bajaRepository.findEntidadIdsEliminadas(TipoEntidad.EMPLEADO, t1, t2));
+        assertEquals(List.of(), bajaRepository.findEntidadIdsEliminadas(TipoEntidad.EMPLEADO, t1, t1));
+    }
+}
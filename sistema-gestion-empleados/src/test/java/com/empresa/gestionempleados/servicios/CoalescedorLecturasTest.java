@@ -0,0 +1,128 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.exceptions.EmpleadoNoEncontradoException;
+import com.empresa.gestionempleados.exceptions.LecturaSaturadaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescedorLecturasTest {
+
+    private SimpleMeterRegistry registro;
+    private CoalescedorLecturas coalescedor;
+    private ExecutorService hilos;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        coalescedor = new CoalescedorLecturas(registro, 2000);
+        hilos = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hilos.shutdownNow();
+    }
+
+    private double contador(String resultado) {
+        return registro.get("coalescencia.lecturas").tag("resultado", resultado).counter().count();
+    }
+
+    private void esperarColapsadas(int cantidad) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 2000;
+        while (registro.find("coalescencia.lecturas").tag("resultado", "colapsada").counter() == null
+                || contador("colapsada") < cantidad) {
+            assertTrue(System.currentTimeMillis() < limite, "Las lecturas no llegaron a colapsarse");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void cuandoLecturasIdenticasConcurrentes_entoncesSeEjecutaUnaSola() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            resultados.add(hilos.submit(() -> coalescedor.ejecutar("prueba", () -> {
+                ejecuciones.incrementAndGet();
+                esperar(liberar);
+                return "valor";
+            }, "IT")));
+        }
+
+        esperarColapsadas(4);
+        liberar.countDown();
+
+        for (Future<String> resultado : resultados) {
+            assertEquals("valor", resultado.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, ejecuciones.get());
+        assertEquals(1.0, contador("ejecutada"));
+        assertEquals(4.0, contador("colapsada"));
+    }
+
+    @Test
+    void cuandoLaLecturaFalla_entoncesTodosRecibenLaMismaExcepcion() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Future<Object>> resultados = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            resultados.add(hilos.submit(() -> coalescedor.ejecutar("prueba", () -> {
+                esperar(liberar);
+                throw new EmpleadoNoEncontradoException("no existe");
+            }, 1L)));
+        }
+
+        esperarColapsadas(2);
+        liberar.countDown();
+
+        for (Future<Object> resultado : resultados) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> resultado.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(EmpleadoNoEncontradoException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void cuandoLaLecturaEnCursoTardaDemasiado_entoncesQuienEsperaRecibeTimeout() throws Exception {
+        coalescedor = new CoalescedorLecturas(registro, 50);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<String> lider = hilos.submit(() -> coalescedor.ejecutar("lenta", () -> {
+            esperar(liberar);
+            return "valor";
+        }));
+        while (registro.find("coalescencia.lecturas").tag("resultado", "ejecutada").counter() == null) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(LecturaSaturadaException.class, () -> coalescedor.ejecutar("lenta", () -> "otro"));
+        liberar.countDown();
+        assertEquals("valor", lider.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cuandoArgumentosDistintos_entoncesNoSeComparteResultado() {
+        assertEquals("A", coalescedor.ejecutar("prueba", () -> "A", "uno"));
+        assertEquals("B", coalescedor.ejecutar("prueba", () -> "B", "dos"));
+        assertEquals(2.0, contador("ejecutada"));
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
+import com.empresa.gestionempleados.dto.SolicitudTransferencia;
 import com.empresa.gestionempleados.entidades.Departamento;
 import com.empresa.gestionempleados.exceptions.DepartamentoNoEncontradoException;
+import com.empresa.gestionempleados.exceptions.TransferenciaConcurrenteException;
 import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +23,21 @@ class DepartamentoServiceUnitTest {
     @Mock
     private DepartamentoRepository departamentoRepository;
 
+    @Mock
+    private EmpleadoRepository empleadoRepository;
+
+    @Mock
+    private NominaService nominaService;
+
+    @Mock
+    private HistorialSalarioService historialSalarioService;
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private DepartamentoServiceImpl departamentoService; // tu implementación concreta
 
@@ -40,6 +62,7 @@ class DepartamentoServiceUnitTest {
         assertNotNull(guardado);
         assertEquals("Recursos Humanos", guardado.getNombre());
         verify(departamentoRepository, times(1)).save(departamento);
+        verify(nominaService).registrarDepartamento(1L);
     }
 
     @Test
@@ -105,4 +128,21 @@ class DepartamentoServiceUnitTest {
         verify(departamentoRepository, times(1)).existsById(999L);
         verify(departamentoRepository, never()).deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void cuandoElOrigenCambiaDuranteLaTransferencia_entoncesLanzaConflictoSinTocarLaNomina() {
+        Departamento destino = new Departamento();
+        destino.setId(2L);
+        when(departamentoRepository.existsById(2L)).thenReturn(true);
+        when(departamentoRepository.findBloqueadoById(1L)).thenReturn(Optional.of(departamento));
+        when(departamentoRepository.getReferenceById(2L)).thenReturn(destino);
+        when(empleadoRepository.findEstadosSalarialesBloqueadosByDepartamentoId(1L))
+                .thenReturn(List.of(new EstadoSalarial(10L, new BigDecimal("1000.00"), 1L)));
+        // Se movieron dos: uno entró en el origen después de leer los bloqueados
+        when(empleadoRepository.transferirDepartamento(eq(1L), eq(destino), any())).thenReturn(2);
+
+        assertThrows(TransferenciaConcurrenteException.class,
+                () -> departamentoService.transferir(2L, new SolicitudTransferencia(1L, null)));
+        verifyNoInteractions(nominaService);
+    }
+}
@@ -0,0 +1,200 @@
+package com.empresa.gestionempleados.servicios;
+
+import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.exceptions.EmailDuplicadoException;
+import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmpleadoServiceAgrupadoTest {
+
+    private EmpleadoServiceImpl delegado;
+    private EmpleadoRepository empleadoRepository;
+    private SimpleMeterRegistry registro;
+    private EmpleadoServiceAgrupado servicio;
+    private ExecutorService hilos;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        delegado = mock(EmpleadoServiceImpl.class);
+        empleadoRepository = mock(EmpleadoRepository.class);
+        registro = new SimpleMeterRegistry();
+        servicio = new EmpleadoServiceAgrupado(delegado, empleadoRepository, registro, 100, 200, 1000, 5000);
+        hilos = Executors.newFixedThreadPool(16);
+        when(empleadoRepository.findEmailsExistentes(anyCollection())).thenReturn(List.of());
+        when(delegado.guardarLote(anyList())).thenAnswer(invocacion -> {
+            List<Empleado> lote = invocacion.getArgument(0);
+            lote.forEach(empleado -> empleado.setId(ids.incrementAndGet()));
+            return lote;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hilos.shutdownNow();
+        servicio.detener();
+    }
+
+    private Empleado empleado(String email) {
+        Empleado e = new Empleado();
+        e.setNombre("Nombre");
+        e.setApellido("Apellido");
+        e.setEmail(email);
+        return e;
+    }
+
+    private List<Future<Empleado>> guardarEnParalelo(List<String> emails) {
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Empleado>> resultados = new ArrayList<>();
+        for (String email : emails) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return servicio.guardar(empleado(email));
+            }));
+        }
+        salida.countDown();
+        return resultados;
+    }
+
+    @Test
+    void cuandoLleganAltasConcurrentes_entoncesSeConfirmanEnPocosLotes() throws Exception {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            emails.add("empleado" + i + "@test.com");
+        }
+
+        List<Future<Empleado>> resultados = guardarEnParalelo(emails);
+
+        for (Future<Empleado> resultado : resultados) {
+            assertNotNull(resultado.get().getId());
+        }
+        assertEquals(16, resultados.stream().map(this::id).distinct().count());
+        long lotes = registro.summary("empleados.altas.lote").count();
+        assertTrue(lotes < 16, "lotes: " + lotes);
+        assertEquals(16.0, registro.summary("empleados.altas.lote").totalAmount());
+        verify(delegado, never()).guardar(any());
+    }
+
+    @Test
+    void cuandoEmailYaExisteORepetidoEnElLote_entoncesSoloEsaAltaFalla() throws Exception {
+        when(empleadoRepository.findEmailsExistentes(anyCollection())).thenReturn(List.of("existe@test.com"));
+
+        List<Future<Empleado>> resultados = guardarEnParalelo(
+                List.of("existe@test.com", "repetido@test.com", "repetido@test.com", "nuevo@test.com"));
+
+        ExecutionException existente = assertThrows(ExecutionException.class, () -> resultados.get(0).get());
+        assertInstanceOf(EmailDuplicadoException.class, existente.getCause());
+        long repetidosFallidos = resultados.subList(1, 3).stream().filter(this::fallo).count();
+        assertEquals(1, repetidosFallidos);
+        assertNotNull(resultados.get(3).get().getId());
+    }
+
+    @Test
+    void cuandoFallaElLote_entoncesCadaAltaSeReintentaSolaConSuPropioResultado() throws Exception {
+        when(delegado.guardarLote(anyList())).thenAnswer(invocacion -> {
+            List<Empleado> lote = invocacion.getArgument(0);
+            lote.forEach(empleado -> empleado.setId(ids.incrementAndGet()));
+            throw new DataIntegrityViolationException("violación de restricción");
+        });
+        List<Long> idsAlReintentar = Collections.synchronizedList(new ArrayList<>());
+        when(delegado.guardar(any())).thenAnswer(invocacion -> {
+            Empleado empleado = invocacion.getArgument(0);
+            idsAlReintentar.add(empleado.getId());
+            if (empleado.getEmail().equals("conflicto@test.com")) {
+                throw new EmailDuplicadoException("El email ya está registrado: conflicto@test.com");
+            }
+            empleado.setId(ids.incrementAndGet());
+            return empleado;
+        });
+
+        List<Future<Empleado>> resultados = guardarEnParalelo(List.of("conflicto@test.com", "bien@test.com"));
+
+        ExecutionException conflicto = assertThrows(ExecutionException.class, () -> resultados.get(0).get());
+        assertInstanceOf(EmailDuplicadoException.class, conflicto.getCause());
+        assertNotNull(resultados.get(1).get().getId());
+        assertTrue(registro.counter("empleados.altas.lotes.fallidos").count() >= 1);
+        assertTrue(idsAlReintentar.stream().allMatch(Objects::isNull));
+    }
+
+    @Test
+    void cuandoElLoteLanzaUnError_entoncesFallaEseLoteYElEscritorSigue() throws Exception {
+        when(delegado.guardarLote(anyList()))
+                .thenThrow(new NoClassDefFoundError("clase ausente"))
+                .thenAnswer(invocacion -> {
+                    List<Empleado> lote = invocacion.getArgument(0);
+                    lote.forEach(empleado -> empleado.setId(ids.incrementAndGet()));
+                    return lote;
+                });
+
+        assertThrows(NoClassDefFoundError.class, () -> servicio.guardar(empleado("primero@test.com")));
+
+        assertNotNull(servicio.guardar(empleado("segundo@test.com")).getId());
+    }
+
+    @Test
+    void cuandoElEscritorNoResponde_entoncesLaEsperaVenceYLoEncoladoSeGuardaSolo() throws Exception {
+        servicio.detener();
+        servicio = new EmpleadoServiceAgrupado(delegado, empleadoRepository, registro, 1, 0, 1000, 200);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegado.guardarLote(anyList())).thenAnswer(invocacion -> {
+            liberar.await();
+            return invocacion.getArgument(0);
+        });
+        when(delegado.guardar(any())).thenAnswer(invocacion -> {
+            Empleado empleado = invocacion.getArgument(0);
+            empleado.setId(ids.incrementAndGet());
+            return empleado;
+        });
+        try {
+            // El primero queda bloqueado en el escritor; el segundo espera en la cola
+            Future<Empleado> tomada = hilos.submit(() -> servicio.guardar(empleado("tomada@test.com")));
+            verify(delegado, timeout(1000)).guardarLote(anyList());
+            Empleado encolada = servicio.guardar(empleado("encolada@test.com"));
+
+            assertNotNull(encolada.getId());
+            ExecutionException vencida = assertThrows(ExecutionException.class, tomada::get);
+            assertInstanceOf(IllegalStateException.class, vencida.getCause());
+            assertEquals(1.0, registro.counter("empleados.altas.directas").count());
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private Long id(Future<Empleado> resultado) {
+        try {
+            return resultado.get().getId();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private boolean fallo(Future<Empleado> resultado) {
+        try {
+            resultado.get();
+            return false;
+        } catch (ExecutionException ex) {
+            return ex.getCause() instanceof EmailDuplicadoException;
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.cache.CacheRespuestas;
+import com.empresa.gestionempleados.dto.EstadoSalarial;
 import com.empresa.gestionempleados.entidades.Departamento;
 import com.empresa.gestionempleados.entidades.Empleado;
+import com.empresa.gestionempleados.eventos.CambioEntidad;
+import com.empresa.gestionempleados.eventos.Operacion;
+import com.empresa.gestionempleados.eventos.TipoEntidad;
 import com.empresa.gestionempleados.exceptions.EmailDuplicadoException;
 import com.empresa.gestionempleados.exceptions.EmpleadoNoEncontradoException;
 import com.empresa.gestionempleados.repositorios.DepartamentoRepository;
 import com.empresa.gestionempleados.repositorios.EmpleadoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -25,6 +32,21 @@ class EmpleadoServiceUnitTest {
     @Mock
     private DepartamentoRepository departamentoRepository;
 
+    @Mock
+    private NominaService nominaService;
+
+    @Mock
+    private HistorialSalarioService historialSalarioService;
+
+    @Spy
+    private CoalescedorLecturas coalescedor = new CoalescedorLecturas(new SimpleMeterRegistry(), 1000);
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private EmpleadoServiceImpl empleadoService;
 
@@ -57,6 +79,8 @@ class EmpleadoServiceUnitTest {
 
         assertEquals(empleado.getEmail(), guardado.getEmail());
         verify(empleadoRepository, times(1)).save(empleado);
+        verify(nominaService).aplicar(1L, BigDecimal.valueOf(50000), 1);
+        verify(historialSalarioService).registrar(1L, BigDecimal.valueOf(50000), 1L);
     }
 
     @Test
@@ -65,6 +89,22 @@ class EmpleadoServiceUnitTest {
 
         assertThrows(EmailDuplicadoException.class, () -> empleadoService.guardar(empleado));
         verify(empleadoRepository, never()).save(any());
+        verifyNoInteractions(eventos);
+    }
+
+    @Test
+    void cuandoGuardarLote_entoncesAjustaNominaUnaVezPorDepartamento() {
+        Empleado otro = new Empleado();
+        otro.setId(2L);
+        otro.setSalario(BigDecimal.valueOf(30000));
+        otro.setDepartamento(empleado.getDepartamento());
+        when(empleadoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        empleadoService.guardarLote(List.of(empleado, otro));
+
+        verify(nominaService).aplicar(1L, BigDecimal.valueOf(80000), 2L);
+        verify(historialSalarioService).registrarLote(eq(List.of(1L, 2L)), any());
+        verify(eventos, times(2)).publishEvent(any(CambioEntidad.class));
     }
 
     @Test
@@ -85,7 +125,8 @@ class EmpleadoServiceUnitTest {
 
     @Test
     void cuandoActualizarExistente_entoncesDevuelveActualizado() {
-        when(empleadoRepository.existsById(empleado.getId())).thenReturn(true);
+        when(empleadoRepository.findEstadoSalarialBloqueadoById(empleado.getId()))
+                .thenReturn(Optional.of(new EstadoSalarial(1L, BigDecimal.valueOf(50000), 1L)));
         when(empleadoRepository.save(any(Empleado.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -100,10 +141,21 @@ class EmpleadoServiceUnitTest {
         verify(empleadoRepository, times(1)).save(cambios);
     }
 
+    @Test
+    void cuandoActualizarSinCambioSalarial_entoncesNoRegistraHistorial() {
+        when(empleadoRepository.findEstadoSalarialBloqueadoById(1L))
+                .thenReturn(Optional.of(new EstadoSalarial(1L, new BigDecimal("50000.00"), 1L)));
+        when(empleadoRepository.save(any(Empleado.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        empleadoService.actualizar(1L, empleado);
+
+        verify(historialSalarioService, never()).registrar(any(), any(), any());
+    }
 
     @Test
     void cuandoActualizarInexistente_entoncesLanzaExcepcion() {
-        when(empleadoRepository.existsById(2L)).thenReturn(false);
+        when(empleadoRepository.findEstadoSalarialBloqueadoById(2L)).thenReturn(Optional.empty());
 
         assertThrows(EmpleadoNoEncontradoException.class, () -> empleadoService.actualizar(2L, empleado));
         verify(empleadoRepository, never()).save(any());
@@ -111,16 +163,20 @@ class EmpleadoServiceUnitTest {
 
     @Test
     void cuandoEliminarExistente_entoncesSeElimina() {
-        when(empleadoRepository.existsById(empleado.getId())).thenReturn(true);
+        when(empleadoRepository.findEstadoSalarialBloqueadoById(empleado.getId()))
+                .thenReturn(Optional.of(new EstadoSalarial(1L, BigDecimal.valueOf(50000), 1L)));
 
         empleadoService.eliminar(1L);
 
         verify(empleadoRepository, times(1)).deleteById(1L);
+        verify(nominaService).aplicar(1L, BigDecimal.valueOf(50000).negate(), -1);
+        verify(historialSalarioService).registrarBajas(List.of(1L));
+        verify(eventos).publishEvent(new CambioEntidad(TipoEntidad.EMPLEADO, Operacion.ELIMINACION, 1L));
     }
 
     @Test
     void cuandoEliminarInexistente_entoncesLanzaExcepcion() {
-        when(empleadoRepository.existsById(2L)).thenReturn(false);
+        when(empleadoRepository.findEstadoSalarialBloqueadoById(2L)).thenReturn(Optional.empty());
 
         assertThrows(EmpleadoNoEncontradoException.class, () -> empleadoService.eliminar(2L));
         verify(empleadoRepository, never()).deleteById(anyLong());
@@ -0,0 +1,29 @@
+package com.empresa.gestionempleados.servicios;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorCsvTest {
+
+    @Test
+    void cuandoCampoEntreComillas_entoncesRespetaComasYComillasEscapadas() {
+        assertEquals(List.of("Ana", "López, María", "dice \"hola\"", ""),
+                LectorCsv.separar("Ana,\"López, María\",\"dice \"\"hola\"\"\","));
+    }
+
+    @Test
+    void cuandoHayLineasVacias_entoncesLasSaltaYConservaElNumeroDeLinea() throws Exception {
+        String csv = "\uFEFFnombre,apellido\n\nAna,Lopez\r\n";
+        try (LectorCsv lector = new LectorCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals(List.of("nombre", "apellido"), lector.siguiente());
+            assertEquals(List.of("Ana", "Lopez"), lector.siguiente());
+            assertEquals(3, lector.linea());
+            assertNull(lector.siguiente());
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.empresa.gestionempleados.servicios;
 
+import com.empresa.gestionempleados.cache.CacheRespuestas;
 import com.empresa.gestionempleados.entidades.Proyecto;
 import com.empresa.gestionempleados.exceptions.ProyectoNoEncontradoException;
 import com.empresa.gestionempleados.repositorios.ProyectoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -22,6 +26,15 @@ class ProyectoServiceUnitTest {
     @Mock
     private ProyectoRepository proyectoRepository;
 
+    @Spy
+    private CoalescedorLecturas coalescedor = new CoalescedorLecturas(new SimpleMeterRegistry(), 1000);
+
+    @Mock
+    private CacheRespuestas cacheRespuestas;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
     @InjectMocks
     private ProyectoServiceImpl proyectoService;
 
@@ -75,13 +88,13 @@ class ProyectoServiceUnitTest {
         proyecto2.setNombre("Proyecto Activo");
         proyecto2.setFechaFin(LocalDate.now().plusDays(5));
 
-        when(proyectoRepository.findProyectosActivos(any(LocalDate.class)))
-                .thenReturn(Arrays.asList(proyecto, proyecto2));
+        when(proyectoRepository.findIdsActivos(any(LocalDate.class))).thenReturn(List.of(1L, 2L));
+        when(proyectoRepository.findByIdInOrderById(List.of(1L, 2L))).thenReturn(Arrays.asList(proyecto, proyecto2));
 
         List<Proyecto> activos = proyectoService.buscarProyectosActivos();
 
         assertEquals(2, activos.size());
-        verify(proyectoRepository, times(1)).findProyectosActivos(any(LocalDate.class));
+        verify(proyectoRepository, times(1)).findIdsActivos(any(LocalDate.class));
     }
 
     @Test